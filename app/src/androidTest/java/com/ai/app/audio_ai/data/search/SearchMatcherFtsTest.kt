@@ -0,0 +1,98 @@
+package com.ai.app.audio_ai.data.search
+
+import androidx.room.Room
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.ai.app.audio_ai.data.AppDatabase
+import com.ai.app.audio_ai.data.local.toEntity
+import com.ai.app.audio_ai.data.model.AudioContent
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * 内存匹配和前缀缓存过滤必须与全文索引的结果一致，否则缓存命中时会多出或漏掉条目
+ */
+@RunWith(AndroidJUnit4::class)
+class SearchMatcherFtsTest {
+
+    private val context = InstrumentationRegistry.getInstrumentation().targetContext
+    private lateinit var database: AppDatabase
+
+    private val catalog = listOf(
+        audio("1", "稻香", "周杰伦", "音乐", "Playlist of summer hits"),
+        audio("2", "晴天", "周杰伦", "音乐", null),
+        audio("3", "夜曲", "周深", "音乐", "live version"),
+        audio("4", "三体", "刘慈欣", "有声书", "科幻小说 sci-fi"),
+        audio("5", "Daily News", "BBC", "播客", "world news today"),
+        audio("6", "周末播报", "小周", "播客", "weekend")
+    )
+
+    private val queries = listOf(
+        "周", "周杰", "周杰伦 稻", "杰伦", "香周", "zhou", "zhoujie", "jie", "zjl", "zs",
+        "play", "list", "news", "new", "ews", "sci", "fi", "sci-fi", "周 音乐", "zhou bo", "*()"
+    )
+
+    @Before
+    fun setUp() = runBlocking {
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase::class.java).build()
+        database.audioContentDao().upsertAll(catalog.map { it.toEntity() })
+    }
+
+    @After
+    fun tearDown() {
+        database.close()
+    }
+
+    @Test
+    fun matcherAgreesWithFtsQuery() = runBlocking {
+        queries.forEach { query ->
+            assertEquals(query, ftsIds(query), catalog.filter { SearchMatcher.matches(it, query) }.ids())
+        }
+    }
+
+    @Test
+    fun cachedPrefixSearchReturnsFtsResults() = runBlocking {
+        val cache = SearchResultCache(maxEntries = 16, ttlMillis = 60_000, clock = { 0L })
+        val prefixes = listOf("周", "z", "s")
+        prefixes.forEach { cache.put(it, catalog.filter { item -> SearchMatcher.matches(item, it) }, complete = true) }
+
+        queries.filter { query -> prefixes.any { query.startsWith(it) && query != it } }.forEach { query ->
+            assertEquals(query, ftsIds(query), cache.get(query)?.ids())
+        }
+    }
+
+    @Test
+    fun upsertReplacesIndexRowOfUpdatedContent() = runBlocking {
+        val renamed = catalog.first().copy(title = "七里香")
+        database.audioContentDao().upsertAll(listOf(renamed.toEntity()))
+
+        assertEquals(emptySet<String>(), ftsIds("稻香"))
+        assertEquals(setOf(renamed.id), ftsIds("七里"))
+        // 旧索引行被删除，作者仍能命中且只命中一行
+        val rows = database.audioSearchDao().match(SearchQueryBuilder.build("周杰伦")!!, catalog.size)
+        assertEquals(listOf("1", "2"), rows.map { it.audioId }.sorted())
+    }
+
+    private suspend fun ftsIds(query: String): Set<String> {
+        val match = SearchQueryBuilder.build(query) ?: return emptySet()
+        return database.audioSearchDao().match(match, catalog.size).mapTo(HashSet()) { it.audioId }
+    }
+
+    private fun List<AudioContent>.ids(): Set<String> = mapTo(HashSet()) { it.id }
+
+    private fun audio(id: String, title: String, author: String, category: String, description: String?) =
+        AudioContent(
+            id = id,
+            title = title,
+            author = author,
+            coverUrl = "",
+            audioUrl = "",
+            duration = 200,
+            category = category,
+            description = description
+        )
+}
@@ -0,0 +1,113 @@
+package com.ai.app.audio_ai.player.cache
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import okio.Buffer
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import kotlin.random.Random
+
+/**
+ * 边播边缓存：第一次读取回源并写入缓存，重播和往回 seek 不再产生请求
+ */
+@RunWith(AndroidJUnit4::class)
+class AudioCacheTest {
+
+    private val context = InstrumentationRegistry.getInstrumentation().targetContext
+    private val server = MockWebServer()
+    private val body = Random(7).nextBytes(256 * 1024)
+
+    private lateinit var cache: AudioCache
+
+    @Before
+    fun setUp() {
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse = rangeResponse(request)
+        }
+        server.start()
+        // SimpleCache 同一目录在进程内只能有一个实例，测试使用独立目录
+        cache = AudioCache(context, OkHttpClient(), AudioCacheConfig(directoryName = "audio_cache_test_${System.nanoTime()}"))
+    }
+
+    @After
+    fun tearDown() {
+        cache.clear()
+        server.shutdown()
+    }
+
+    @Test
+    fun replayAndSeekBack_areServedFromDisk() {
+        val url = server.url("/track.mp3").toString()
+
+        assertArrayEquals(body, readFully(url))
+        val requestsAfterFirstPlay = server.requestCount
+        assertTrue(cache.isFullyCached(url))
+
+        // 重播
+        assertArrayEquals(body, readFully(url))
+        // 往回 seek 到中间位置
+        CachedMediaDataSource(cache.dataSourceFactory, url).use { source ->
+            val buffer = ByteArray(4096)
+            val read = source.readAt(100_000, buffer, 0, buffer.size)
+            assertArrayEquals(body.copyOfRange(100_000, 100_000 + read), buffer.copyOf(read))
+        }
+
+        assertEquals(requestsAfterFirstPlay, server.requestCount)
+    }
+
+    @Test
+    fun seekAhead_fetchesOnlyMissingRange() {
+        val url = server.url("/partial.mp3").toString()
+
+        CachedMediaDataSource(cache.dataSourceFactory, url).use { source ->
+            val buffer = ByteArray(8192)
+            source.readAt(200_000, buffer, 0, buffer.size)
+        }
+
+        val request = server.takeRequest()
+        assertEquals("bytes=200000-", request.getHeader("Range"))
+        assertTrue(cache.cachedBytes(url) < body.size)
+    }
+
+    private fun readFully(url: String): ByteArray {
+        CachedMediaDataSource(cache.dataSourceFactory, url).use { source ->
+            val size = source.size.toInt()
+            val out = ByteArray(size)
+            var position = 0
+            while (position < size) {
+                val read = source.readAt(position.toLong(), out, position, size - position)
+                if (read < 0) break
+                position += read
+            }
+            return out
+        }
+    }
+
+    private fun rangeResponse(request: RecordedRequest): MockResponse {
+        val start = request.getHeader("Range")
+            ?.removePrefix("bytes=")
+            ?.substringBefore('-')
+            ?.toIntOrNull()
+            ?: 0
+        val response = MockResponse()
+            .setHeader("Content-Type", "audio/mpeg")
+            .setHeader("Accept-Ranges", "bytes")
+            .setBody(Buffer().write(body, start, body.size - start))
+        return if (start > 0) {
+            response.setResponseCode(206)
+                .setHeader("Content-Range", "bytes $start-${body.size - 1}/${body.size}")
+        } else {
+            response
+        }
+    }
+}
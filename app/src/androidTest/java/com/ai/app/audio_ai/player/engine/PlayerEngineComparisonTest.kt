@@ -0,0 +1,211 @@
+package com.ai.app.audio_ai.player.engine
+
+import android.os.SystemClock
+import android.util.Log
+import androidx.annotation.OptIn
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.datasource.okhttp.OkHttpDataSource
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.ai.app.audio_ai.data.model.AudioContent
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import okio.Buffer
+import org.junit.After
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * 对比各播放内核的起播耗时和卡顿情况
+ *
+ * 本地服务端提供一段 PCM WAV：带宽充足时只比较起播耗时，
+ * 带宽低于码率时观察一段时间内的卡顿次数和卡顿总时长。
+ * 结果输出到 logcat（tag: PlayerEngineComparison），只断言各内核都能正常起播
+ */
+@OptIn(UnstableApi::class)
+@RunWith(AndroidJUnit4::class)
+class PlayerEngineComparisonTest {
+
+    private val instrumentation = InstrumentationRegistry.getInstrumentation()
+    private val context = instrumentation.targetContext
+    private val server = MockWebServer()
+    private val wav = buildWav(AUDIO_SECONDS)
+
+    private val engines: List<Pair<String, () -> PlayerEngine>> = listOf(
+        "MediaPlayer" to { MediaPlayerEngine() },
+        "Media3 (tuned)" to { media3(BufferConfig()) },
+        // 接近 ExoPlayer 默认值，用来观察 LoadControl 调整的效果
+        "Media3 (default)" to { media3(BufferConfig(50_000, 50_000, 2_500, 5_000, 0)) }
+    )
+
+    @Before
+    fun setUp() {
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse {
+                val response = MockResponse()
+                    .setHeader("Content-Type", "audio/wav")
+                    .setBody(Buffer().write(wav))
+                return when (request.requestUrl?.encodedPath) {
+                    FAST_PATH -> response
+                    // 带宽约为码率的 3/4，播放过程中必然卡顿
+                    SLOW_PATH -> response.throttleBody((BYTES_PER_SECOND * 3 / 4 / 10).toLong(), 100, TimeUnit.MILLISECONDS)
+                    else -> MockResponse().setResponseCode(404)
+                }
+            }
+        }
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun startupLatency() {
+        val url = server.url(FAST_PATH).toString()
+        engines.forEach { (name, factory) ->
+            // 第一次运行包含解码器初始化等一次性开销，不计入
+            measure(factory, url, observeMillis = 0)
+            val results = List(STARTUP_RUNS) { measure(factory, url, observeMillis = 0) }
+            results.forEach { assertNull("$name failed: ${it.error}", it.error) }
+            val startup = results.map { it.startupMillis }.sorted()
+            report("$name startup: median ${startup[startup.size / 2]} ms, all $startup")
+        }
+    }
+
+    @Test
+    fun rebufferingOnConstrainedNetwork() {
+        val url = server.url(SLOW_PATH).toString()
+        engines.forEach { (name, factory) ->
+            val result = measure(factory, url, observeMillis = OBSERVE_MILLIS)
+            assertNull("$name failed: ${result.error}", result.error)
+            report(
+                "$name constrained: startup ${result.startupMillis} ms, " +
+                    "rebuffers ${result.rebufferCount}, stalled ${result.stallMillis} ms in $OBSERVE_MILLIS ms"
+            )
+        }
+    }
+
+    private fun measure(factory: () -> PlayerEngine, url: String, observeMillis: Long): Result {
+        val ready = CountDownLatch(1)
+        val recorder = Recorder(ready)
+        lateinit var engine: PlayerEngine
+        instrumentation.runOnMainSync {
+            engine = factory()
+            engine.setListener(recorder)
+            recorder.loadedAt = SystemClock.elapsedRealtime()
+            engine.load(audio(url))
+        }
+        assertTrue("engine not ready within timeout", ready.await(READY_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        if (observeMillis > 0) SystemClock.sleep(observeMillis)
+
+        lateinit var result: Result
+        instrumentation.runOnMainSync {
+            engine.release()
+            result = recorder.result()
+        }
+        return result
+    }
+
+    private fun media3(config: BufferConfig): PlayerEngine =
+        Media3Engine(context, OkHttpDataSource.Factory(OkHttpClient()), config)
+
+    private fun report(line: String) {
+        Log.i(TAG, line)
+    }
+
+    // 回调都在主线程，读取结果也在主线程
+    private class Recorder(private val ready: CountDownLatch) : PlayerEngine.Listener {
+        var loadedAt = 0L
+        private var readyAt = 0L
+        private var rebufferCount = 0
+        private var stallStartedAt = 0L
+        private var stallMillis = 0L
+        private var error: Throwable? = null
+
+        override fun onReady() {
+            if (readyAt == 0L) readyAt = SystemClock.elapsedRealtime()
+            ready.countDown()
+        }
+
+        override fun onBufferingChanged(buffering: Boolean) {
+            val now = SystemClock.elapsedRealtime()
+            if (buffering) {
+                rebufferCount++
+                stallStartedAt = now
+            } else if (stallStartedAt > 0) {
+                stallMillis += now - stallStartedAt
+                stallStartedAt = 0
+            }
+        }
+
+        override fun onError(error: Throwable?) {
+            this.error = error ?: IllegalStateException("unknown error")
+            ready.countDown()
+        }
+
+        fun result(): Result {
+            val now = SystemClock.elapsedRealtime()
+            val ongoingStall = if (stallStartedAt > 0) now - stallStartedAt else 0
+            return Result(readyAt - loadedAt, rebufferCount, stallMillis + ongoingStall, error)
+        }
+    }
+
+    private data class Result(
+        val startupMillis: Long,
+        val rebufferCount: Int,
+        val stallMillis: Long,
+        val error: Throwable?
+    )
+
+    private fun audio(url: String) = AudioContent(
+        id = "comparison",
+        title = "comparison",
+        author = "",
+        coverUrl = "",
+        audioUrl = url,
+        duration = AUDIO_SECONDS.toLong(),
+        category = ""
+    )
+
+    // 16 kHz 单声道 16 位 PCM，内容是 440 Hz 正弦波
+    private fun buildWav(seconds: Int): ByteArray {
+        val dataSize = BYTES_PER_SECOND * seconds
+        val buffer = ByteBuffer.allocate(WAV_HEADER_SIZE + dataSize).order(ByteOrder.LITTLE_ENDIAN)
+        buffer.put("RIFF".toByteArray()).putInt(36 + dataSize).put("WAVE".toByteArray())
+        buffer.put("fmt ".toByteArray()).putInt(16).putShort(1).putShort(1)
+            .putInt(SAMPLE_RATE).putInt(BYTES_PER_SECOND).putShort(2).putShort(16)
+        buffer.put("data".toByteArray()).putInt(dataSize)
+        repeat(SAMPLE_RATE * seconds) { i ->
+            val sample = Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE) * Short.MAX_VALUE * 0.2
+            buffer.putShort(sample.toInt().toShort())
+        }
+        return buffer.array()
+    }
+
+    companion object {
+        private const val TAG = "PlayerEngineComparison"
+        private const val FAST_PATH = "/fast.wav"
+        private const val SLOW_PATH = "/slow.wav"
+
+        private const val SAMPLE_RATE = 16_000
+        private const val BYTES_PER_SECOND = SAMPLE_RATE * 2
+        private const val WAV_HEADER_SIZE = 44
+        private const val AUDIO_SECONDS = 30
+
+        private const val STARTUP_RUNS = 5
+        private const val OBSERVE_MILLIS = 10_000L
+        private const val READY_TIMEOUT_SECONDS = 20L
+    }
+}
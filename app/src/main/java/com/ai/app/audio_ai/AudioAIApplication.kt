@@ -1,23 +1,25 @@
 package com.ai.app.audio_ai
 
 import android.app.Application
+import com.ai.app.audio_ai.startup.CrashReporter
+import com.ai.app.audio_ai.startup.StartupOrchestrator
 import dagger.hilt.android.HiltAndroidApp
+import javax.inject.Inject
 
 @HiltAndroidApp
 class AudioAIApplication : Application() {
 
-    override fun onCreate() {
-        super.onCreate()
-        // 在这里初始化全局配置
-        initGlide()
-        initCrashReporting()
-    }
+    @Inject
+    lateinit var crashReporter: CrashReporter
 
-    private fun initGlide() {
-        // 初始化图片加载库
-    }
+    @Inject
+    lateinit var startupOrchestrator: StartupOrchestrator
 
-    private fun initCrashReporting() {
-        // 初始化崩溃报告
+    override fun onCreate() {
+        super.onCreate()
+        // 崩溃记录在主线程同步安装，之后的初始化过程中崩溃也能记录下来
+        crashReporter.install()
+        // 全局初始化（数据库、网络、Glide、后台同步等）由启动任务在后台并行完成，见 StartupModule
+        startupOrchestrator.start()
     }
 }
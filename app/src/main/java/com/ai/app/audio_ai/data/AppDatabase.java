@@ -6,16 +6,63 @@ import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 
+import com.ai.app.audio_ai.data.local.AudioContentDao;
+import com.ai.app.audio_ai.data.local.AudioContentEntity;
+import com.ai.app.audio_ai.data.local.AudioSearchDao;
+import com.ai.app.audio_ai.data.local.AudioSearchEntity;
+import com.ai.app.audio_ai.data.local.BannerDao;
+import com.ai.app.audio_ai.data.local.BannerEntity;
+import com.ai.app.audio_ai.data.local.CacheMetadataDao;
+import com.ai.app.audio_ai.data.local.CacheMetadataEntity;
+import com.ai.app.audio_ai.data.local.DownloadChunkEntity;
+import com.ai.app.audio_ai.data.local.DownloadDao;
+import com.ai.app.audio_ai.data.local.DownloadEntity;
+import com.ai.app.audio_ai.data.local.FeedEntryEntity;
+import com.ai.app.audio_ai.data.local.PlaybackQueueItemEntity;
+import com.ai.app.audio_ai.data.local.PlaybackSessionDao;
+import com.ai.app.audio_ai.data.local.PlaybackSessionEntity;
+import com.ai.app.audio_ai.data.local.RemoteKeyDao;
+import com.ai.app.audio_ai.data.local.RemoteKeyEntity;
+
 /**
  * 应用数据库类
  */
-@Database(entities = {User.class}, version = 1, exportSchema = false)
+@Database(
+        entities = {
+                User.class,
+                AudioContentEntity.class,
+                FeedEntryEntity.class,
+                BannerEntity.class,
+                CacheMetadataEntity.class,
+                RemoteKeyEntity.class,
+                AudioSearchEntity.class,
+                DownloadEntity.class,
+                DownloadChunkEntity.class,
+                PlaybackSessionEntity.class,
+                PlaybackQueueItemEntity.class
+        },
+        version = 8,
+        exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
     private static final String DATABASE_NAME = "audio_ai_db";
     private static AppDatabase instance;
 
     public abstract UserDao userDao();
 
+    public abstract AudioContentDao audioContentDao();
+
+    public abstract BannerDao bannerDao();
+
+    public abstract CacheMetadataDao cacheMetadataDao();
+
+    public abstract RemoteKeyDao remoteKeyDao();
+
+    public abstract AudioSearchDao audioSearchDao();
+
+    public abstract DownloadDao downloadDao();
+
+    public abstract PlaybackSessionDao playbackSessionDao();
+
     public static synchronized AppDatabase getInstance(Context context) {
         if (instance == null) {
             instance = Room.databaseBuilder(
@@ -1,46 +0,0 @@
-package com.ai.app.audio_ai.data.api
-
-import com.ai.app.audio_ai.BuildConfig
-import okhttp3.OkHttpClient
-import okhttp3.logging.HttpLoggingInterceptor
-import retrofit2.Retrofit
-import retrofit2.converter.gson.GsonConverterFactory
-import java.util.concurrent.TimeUnit
-
-object RetrofitClient {
-
-    // 这里使用模拟API地址，实际开发中应该替换为真实的API地址
-    private const val BASE_URL = "https://api.example.com/v1/"
-
-    // 创建OkHttpClient实例
-    private val okHttpClient by lazy {
-        val loggingInterceptor = HttpLoggingInterceptor().apply {
-            level = if (BuildConfig.DEBUG) {
-                HttpLoggingInterceptor.Level.BODY
-            } else {
-                HttpLoggingInterceptor.Level.NONE
-            }
-        }
-
-        OkHttpClient.Builder()
-            .addInterceptor(loggingInterceptor)
-            .connectTimeout(15, TimeUnit.SECONDS)
-            .readTimeout(15, TimeUnit.SECONDS)
-            .writeTimeout(15, TimeUnit.SECONDS)
-            .build()
-    }
-
-    // 创建Retrofit实例
-    private val retrofit by lazy {
-        Retrofit.Builder()
-            .baseUrl(BASE_URL)
-            .client(okHttpClient)
-            .addConverterFactory(GsonConverterFactory.create())
-            .build()
-    }
-
-    // 创建API服务实例
-    val apiService: ApiService by lazy {
-        retrofit.create(ApiService::class.java)
-    }
-}
\ No newline at end of file
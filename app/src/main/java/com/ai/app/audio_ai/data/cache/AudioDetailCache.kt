@@ -0,0 +1,157 @@
+package com.ai.app.audio_ai.data.cache
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.job
+import kotlinx.coroutines.withContext
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 音频详情内存缓存
+ * 按条数和有效期淘汰；同一ID的并发请求共享一次加载，所有等待者都取消后加载也随之取消
+ * @param maxEntries 最多缓存的条数，超出后淘汰最久未访问的
+ * @param ttlMillis 条目有效期
+ * @param scope 加载任务所在的作用域，单个调用方取消不会中断其他等待者
+ * @param clock 当前时间（毫秒）
+ */
+@Singleton
+class AudioDetailCache(
+    private val maxEntries: Int,
+    private val ttlMillis: Long,
+    private val scope: CoroutineScope,
+    private val clock: () -> Long
+) {
+
+    @Inject
+    constructor(@IoDispatcher dispatcher: CoroutineDispatcher) : this(
+        DEFAULT_MAX_ENTRIES,
+        DEFAULT_TTL_MILLIS,
+        CoroutineScope(SupervisorJob() + dispatcher),
+        System::currentTimeMillis
+    )
+
+    private class Entry(val content: AudioContent, val storedAt: Long)
+
+    /**
+     * 缓存命中统计
+     * @param hits 内存命中次数
+     * @param misses 未命中并发起加载的次数
+     * @param joins 未命中但复用了进行中加载的次数
+     * @param size 当前缓存条数
+     */
+    data class Stats(
+        val hits: Long,
+        val misses: Long,
+        val joins: Long,
+        val size: Int
+    )
+
+    private val lock = Any()
+
+    private val entries = object : LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>): Boolean {
+            return size > maxEntries
+        }
+    }
+
+    /** 进行中的加载，[waiters] 在 [lock] 内读写 */
+    private class Load(val deferred: Deferred<Result<AudioContent>>) {
+        var waiters = 0
+    }
+
+    private val inFlight = HashMap<String, Load>()
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val joins = AtomicLong()
+
+    /**
+     * 读取缓存，未命中时加载；同一ID已有加载在进行中时直接等待其结果
+     * 最后一个等待者取消时加载也被取消，并等到加载真正结束才返回，调用方据此限流时不会提前放行
+     * @param loader 实际加载逻辑，失败时抛出异常
+     */
+    suspend fun getOrLoad(id: String, loader: suspend () -> AudioContent): Result<AudioContent> {
+        val load = synchronized(lock) {
+            getFresh(id)?.let {
+                hits.incrementAndGet()
+                return Result.success(it)
+            }
+            inFlight[id]?.also { joins.incrementAndGet() } ?: run {
+                misses.incrementAndGet()
+                Load(scope.async(start = CoroutineStart.LAZY) {
+                    val result = runCatching { loader() }
+                    synchronized(lock) {
+                        // 被取消的加载可能已经让位给新的加载，只清理自己
+                        if (inFlight[id]?.deferred === coroutineContext.job) inFlight.remove(id)
+                        if (isActive) result.onSuccess { entries[id] = Entry(it, clock()) }
+                    }
+                    result
+                }).also { inFlight[id] = it }
+            }
+        }.also { it.waiters++ }
+        load.deferred.start()
+        try {
+            return load.deferred.await()
+        } finally {
+            val abandoned = synchronized(lock) {
+                --load.waiters == 0 && !load.deferred.isCompleted && inFlight[id] === load &&
+                    inFlight.remove(id) != null
+            }
+            if (abandoned) {
+                load.deferred.cancel()
+                withContext(NonCancellable) { load.deferred.join() }
+            }
+        }
+    }
+
+    /**
+     * 只读内存，不触发加载
+     */
+    fun peek(id: String): AudioContent? = synchronized(lock) { getFresh(id) }
+
+    /**
+     * 用列表中已有的数据预先填充，进入详情时可以直接展示
+     */
+    fun seed(items: List<AudioContent>) {
+        val now = clock()
+        synchronized(lock) {
+            items.forEach { entries[it.id] = Entry(it, now) }
+        }
+    }
+
+    fun invalidate(id: String) {
+        synchronized(lock) { entries.remove(id) }
+    }
+
+    fun stats(): Stats = Stats(
+        hits = hits.get(),
+        misses = misses.get(),
+        joins = joins.get(),
+        size = synchronized(lock) { entries.size }
+    )
+
+    private fun getFresh(id: String): AudioContent? {
+        val entry = entries[id] ?: return null
+        if (clock() - entry.storedAt > ttlMillis) {
+            entries.remove(id)
+            return null
+        }
+        return entry.content
+    }
+
+    companion object {
+        const val DEFAULT_MAX_ENTRIES = 100
+        val DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5)
+    }
+}
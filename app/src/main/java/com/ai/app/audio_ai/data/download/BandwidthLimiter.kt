@@ -0,0 +1,40 @@
+package com.ai.app.audio_ai.data.download
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * 令牌桶限速，所有下载分片共享
+ *
+ * 桶容量为一秒的配额；令牌不足时先记账再等待，等待时长与欠下的字节数成正比，
+ * 多个分片并发时总速率不超过上限
+ * @param bytesPerSecond 速率上限，小于等于 0 时不限速
+ */
+class BandwidthLimiter(
+    private val bytesPerSecond: Long,
+    private val clock: () -> Long = System::nanoTime
+) {
+
+    private val mutex = Mutex()
+    private var available = bytesPerSecond.toDouble()
+    private var lastRefillNanos = clock()
+
+    suspend fun acquire(bytes: Int) {
+        if (bytesPerSecond <= 0) return
+        val waitNanos = mutex.withLock {
+            val now = clock()
+            available = (available + (now - lastRefillNanos) * bytesPerSecond / NANOS_PER_SECOND)
+                .coerceAtMost(bytesPerSecond.toDouble())
+            lastRefillNanos = now
+            available -= bytes
+            if (available >= 0) 0L else (-available * NANOS_PER_SECOND / bytesPerSecond).toLong()
+        }
+        if (waitNanos > 0) delay((waitNanos + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI)
+    }
+
+    private companion object {
+        const val NANOS_PER_SECOND = 1_000_000_000.0
+        const val NANOS_PER_MILLI = 1_000_000L
+    }
+}
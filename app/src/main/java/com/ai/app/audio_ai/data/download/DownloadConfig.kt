@@ -0,0 +1,25 @@
+package com.ai.app.audio_ai.data.download
+
+import java.io.File
+
+/**
+ * 离线下载参数
+ * @param directory 下载文件目录，位于 filesDir 下，不会被系统当作缓存清理
+ * @param maxConcurrentChunks 全局同时下载的分片数，所有任务共享
+ * @param maxChunksPerFile 单个文件最多拆成几个分片
+ * @param minChunkBytes 分片最小大小，小文件不拆分
+ * @param maxBytesPerSecond 全局带宽上限，0 表示不限速
+ * @param progressFlushBytes 每个任务累计写入这么多字节后把进度写入数据库
+ * @param progressFlushIntervalMillis 距离上次写入数据库超过该时间也会写入
+ * @param maxChunkRetries 单个分片失败后的重试次数
+ */
+data class DownloadConfig(
+    val directory: File,
+    val maxConcurrentChunks: Int = 4,
+    val maxChunksPerFile: Int = 4,
+    val minChunkBytes: Long = 1024L * 1024,
+    val maxBytesPerSecond: Long = 0,
+    val progressFlushBytes: Long = 512L * 1024,
+    val progressFlushIntervalMillis: Long = 1_000,
+    val maxChunkRetries: Int = 3
+)
@@ -0,0 +1,417 @@
+package com.ai.app.audio_ai.data.download
+
+import com.ai.app.audio_ai.data.local.DownloadChunkEntity
+import com.ai.app.audio_ai.data.local.DownloadDao
+import com.ai.app.audio_ai.data.local.DownloadEntity
+import com.ai.app.audio_ai.data.local.DownloadStatus
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.di.ApplicationScope
+import com.ai.app.audio_ai.di.BackgroundHttpClient
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.coroutines.withContext
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import java.io.File
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.coroutines.coroutineContext
+
+/**
+ * 离线下载
+ *
+ * 每个文件先用 Range 探测大小，再拆成若干分片并行下载；所有任务共享分片并发上限和带宽上限。
+ * 目标文件预分配为最终大小，各分片通过 FileChannel 按位置直接写入，不需要合并。
+ * 分片进度定期写入数据库，进程被杀后从各分片已写入的位置继续
+ */
+@Singleton
+class DownloadManager @Inject constructor(
+    private val downloadDao: DownloadDao,
+    @BackgroundHttpClient backgroundClient: OkHttpClient,
+    private val config: DownloadConfig,
+    @ApplicationScope private val scope: CoroutineScope,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher
+) {
+
+    // 大文件不进 HTTP 缓存，避免挤掉接口缓存
+    private val client = backgroundClient.newBuilder()
+        .cache(null)
+        .build()
+
+    private val chunkPermits = Semaphore(config.maxConcurrentChunks)
+    private val limiter = BandwidthLimiter(config.maxBytesPerSecond)
+    private val jobs = ConcurrentHashMap<String, Job>()
+
+    // audioUrl -> 已完成的本地文件，播放器在主线程同步查询
+    private val completedFiles = ConcurrentHashMap<String, File>()
+
+    fun observeAll(): Flow<List<DownloadEntity>> = downloadDao.observeAll()
+
+    /**
+     * 启动时调用：加载已完成的文件列表，继续上次未完成的任务
+     */
+    suspend fun restore() {
+        downloadDao.getByStatus(listOf(DownloadStatus.COMPLETED)).forEach { download ->
+            val file = File(download.filePath)
+            if (file.exists()) completedFiles[download.audioUrl] = file
+        }
+        downloadDao.getByStatus(listOf(DownloadStatus.QUEUED, DownloadStatus.RUNNING)).forEach { download ->
+            start(download.audioId)
+        }
+    }
+
+    fun enqueue(audio: AudioContent): Job = scope.launch(ioDispatcher) {
+        val existing = downloadDao.get(audio.id)
+        when {
+            existing == null || existing.audioUrl != audio.audioUrl -> {
+                existing?.let { discardFile(it) }
+                downloadDao.upsert(
+                    DownloadEntity(
+                        audioId = audio.id,
+                        audioUrl = audio.audioUrl,
+                        title = audio.title,
+                        filePath = File(config.directory, fileName(audio)).path
+                    )
+                )
+            }
+            existing.status == DownloadStatus.COMPLETED -> return@launch
+            else -> downloadDao.updateStatus(audio.id, DownloadStatus.QUEUED)
+        }
+        start(audio.id)
+    }
+
+    fun pause(audioId: String): Job = scope.launch(ioDispatcher) {
+        jobs[audioId]?.cancelAndJoin()
+        if (downloadDao.get(audioId)?.status != DownloadStatus.COMPLETED) {
+            downloadDao.updateStatus(audioId, DownloadStatus.PAUSED)
+        }
+    }
+
+    fun resume(audioId: String): Job = scope.launch(ioDispatcher) {
+        val download = downloadDao.get(audioId) ?: return@launch
+        if (download.status == DownloadStatus.COMPLETED) return@launch
+        downloadDao.updateStatus(audioId, DownloadStatus.QUEUED)
+        start(audioId)
+    }
+
+    fun remove(audioId: String): Job = scope.launch(ioDispatcher) {
+        jobs[audioId]?.cancelAndJoin()
+        downloadDao.get(audioId)?.let { discardFile(it) }
+        downloadDao.delete(audioId)
+    }
+
+    /** 已下载完成的本地文件 */
+    fun localFile(audioUrl: String): File? = completedFiles[audioUrl]?.takeIf { it.exists() }
+
+    /**
+     * 已下载的音频替换为本地文件地址，播放器无需区分来源
+     */
+    fun resolve(audio: AudioContent): AudioContent {
+        val file = localFile(audio.audioUrl) ?: return audio
+        return audio.copy(audioUrl = FILE_SCHEME + file.absolutePath)
+    }
+
+    private fun start(audioId: String) {
+        jobs.compute(audioId) { _, running ->
+            running?.takeIf { it.isActive }
+                ?: scope.launch(ioDispatcher, start = CoroutineStart.LAZY) { download(audioId) }.also { job ->
+                    job.invokeOnCompletion { jobs.remove(audioId, job) }
+                }
+        }?.start()
+    }
+
+    private suspend fun download(audioId: String, allowReplan: Boolean = true) {
+        var download = downloadDao.get(audioId) ?: return
+        downloadDao.updateStatus(audioId, DownloadStatus.RUNNING)
+        try {
+            val file = File(download.filePath)
+            var chunks = downloadDao.getChunks(audioId)
+            // 首次下载，或本地文件已被清理时重新探测和规划
+            if (download.totalBytes < 0 || chunks.isEmpty() || !file.exists()) {
+                val probe = probe(download.audioUrl)
+                chunks = planChunks(audioId, probe.totalBytes, probe.supportsRanges, config)
+                download = download.copy(
+                    totalBytes = probe.totalBytes,
+                    downloadedBytes = 0,
+                    supportsRanges = probe.supportsRanges,
+                    validator = probe.validator,
+                    status = DownloadStatus.RUNNING,
+                    error = null
+                )
+                downloadDao.savePlan(download, chunks)
+            } else if (!download.supportsRanges) {
+                // 不支持 Range 时无法续传，只能从头开始
+                chunks = chunks.map { it.copy(downloaded = 0) }
+            }
+            file.parentFile?.mkdirs()
+
+            val finished = RandomAccessFile(file, "rw").use { randomAccessFile ->
+                if (download.totalBytes > 0 && randomAccessFile.length() != download.totalBytes) {
+                    randomAccessFile.setLength(download.totalBytes)
+                }
+                val progress = Progress(download, chunks, randomAccessFile.channel)
+                try {
+                    coroutineScope {
+                        chunks.filterNot { it.isComplete }.forEach { chunk ->
+                            launch { downloadChunk(download, chunk, randomAccessFile.channel, progress) }
+                        }
+                    }
+                } finally {
+                    withContext(NonCancellable) { progress.flush() }
+                }
+                progress.finish()
+            }
+            completedFiles[finished.audioUrl] = file
+            downloadDao.update(finished)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: ValidatorChangedException) {
+            // 服务端文件已变化，已下载的部分作废
+            downloadDao.savePlan(download.copy(totalBytes = -1, downloadedBytes = 0, validator = null), emptyList())
+            if (allowReplan) download(audioId, allowReplan = false) else fail(audioId, e)
+        } catch (e: Exception) {
+            fail(audioId, e)
+        }
+    }
+
+    private suspend fun fail(audioId: String, error: Exception) {
+        downloadDao.updateStatus(audioId, DownloadStatus.FAILED, error.message ?: error.javaClass.simpleName)
+    }
+
+    private suspend fun downloadChunk(
+        download: DownloadEntity,
+        chunk: DownloadChunkEntity,
+        channel: FileChannel,
+        progress: Progress
+    ) {
+        var attempt = 0
+        while (true) {
+            try {
+                chunkPermits.withPermit { transfer(download, chunk, channel, progress) }
+                return
+            } catch (e: IOException) {
+                // 暂停导致的读取中断不算失败
+                coroutineContext.ensureActive()
+                if (e is ValidatorChangedException || ++attempt > config.maxChunkRetries) throw e
+                delay(RETRY_BASE_DELAY_MILLIS shl (attempt - 1))
+            }
+        }
+    }
+
+    private suspend fun transfer(
+        download: DownloadEntity,
+        chunk: DownloadChunkEntity,
+        channel: FileChannel,
+        progress: Progress
+    ) {
+        val ranged = download.supportsRanges
+        // 不支持 Range 时服务端总是从头返回，重试前清掉本分片已写入的进度
+        if (!ranged) progress.reset(chunk.chunkIndex)
+        var position = chunk.start + progress.downloaded(chunk.chunkIndex)
+        val request = Request.Builder()
+            .url(download.audioUrl)
+            .apply {
+                if (ranged) {
+                    header("Range", "bytes=$position-${if (chunk.isOpenEnded) "" else chunk.end}")
+                    download.validator?.let { header("If-Range", it) }
+                }
+            }
+            .build()
+
+        val call = client.newCall(request)
+        coroutineScope {
+            // 暂停或取消时中断阻塞中的读取；立即启动，保证尚未调度时被取消也会执行 finally
+            val watchdog = launch(start = CoroutineStart.UNDISPATCHED) {
+                try {
+                    awaitCancellation()
+                } finally {
+                    call.cancel()
+                }
+            }
+            try {
+                call.execute().use { response ->
+                    if (ranged && response.code == 200) throw ValidatorChangedException(download.audioUrl)
+                    if (!response.isSuccessful) throw IOException("HTTP ${response.code} for ${download.audioUrl}")
+                    val source = response.body?.source() ?: throw IOException("Empty body for ${download.audioUrl}")
+                    val buffer = ByteBuffer.allocate(BUFFER_SIZE)
+                    while (true) {
+                        coroutineContext.ensureActive()
+                        val remaining = if (chunk.isOpenEnded) BUFFER_SIZE.toLong() else chunk.end + 1 - position
+                        if (remaining <= 0) break
+                        buffer.clear()
+                        buffer.limit(minOf(BUFFER_SIZE.toLong(), remaining).toInt())
+                        val read = source.read(buffer)
+                        if (read == -1) break
+                        limiter.acquire(read)
+                        buffer.flip()
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position)
+                        }
+                        progress.add(chunk.chunkIndex, read)
+                    }
+                }
+            } finally {
+                watchdog.cancel()
+            }
+        }
+
+        if (chunk.isOpenEnded) {
+            progress.closeOpenEnded(chunk.chunkIndex)
+        } else if (position <= chunk.end) {
+            // 连接提前断开，重试时从已写入的位置继续
+            throw IOException("Unexpected end of stream at $position for ${download.audioUrl}")
+        }
+    }
+
+    /**
+     * 用 Range: bytes=0-0 探测，服务端返回 206 即支持分片
+     */
+    private fun probe(url: String): Probe {
+        val request = Request.Builder()
+            .url(url)
+            .header("Range", "bytes=0-0")
+            .build()
+        client.newCall(request).execute().use { response ->
+            if (!response.isSuccessful) throw IOException("HTTP ${response.code} for $url")
+            // 弱 ETag 不能用于 If-Range
+            val validator = response.header("ETag")?.takeUnless { it.startsWith("W/") }
+                ?: response.header("Last-Modified")
+            return if (response.code == 206) {
+                val total = response.header("Content-Range")?.substringAfterLast('/')?.toLongOrNull() ?: -1L
+                Probe(total, total > 0, validator)
+            } else {
+                Probe(response.body?.contentLength() ?: -1L, false, validator)
+            }
+        }
+    }
+
+    private fun discardFile(download: DownloadEntity) {
+        completedFiles.remove(download.audioUrl)
+        File(download.filePath).delete()
+    }
+
+    private fun fileName(audio: AudioContent): String {
+        val extension = audio.audioUrl.substringAfterLast('/').substringBefore('?')
+            .substringAfterLast('.', "").takeIf { it.length in 1..5 }
+        val safeId = audio.id.replace(UNSAFE_FILE_CHARS, "_")
+        return if (extension != null) "$safeId.$extension" else safeId
+    }
+
+    /**
+     * 一个任务的分片进度，各分片协程并发更新，按字节数或时间间隔批量写入数据库
+     */
+    private inner class Progress(
+        private var download: DownloadEntity,
+        chunks: List<DownloadChunkEntity>,
+        private val channel: FileChannel
+    ) {
+        private val mutex = Mutex()
+        private val chunks = chunks.associateBy { it.chunkIndex }.toMutableMap()
+        private var unflushedBytes = 0L
+        private var lastFlushMillis = System.currentTimeMillis()
+
+        suspend fun downloaded(chunkIndex: Int): Long = mutex.withLock { chunks.getValue(chunkIndex).downloaded }
+
+        suspend fun add(chunkIndex: Int, bytes: Int) = mutex.withLock {
+            val chunk = chunks.getValue(chunkIndex)
+            chunks[chunkIndex] = chunk.copy(downloaded = chunk.downloaded + bytes)
+            unflushedBytes += bytes
+            val now = System.currentTimeMillis()
+            if (unflushedBytes >= config.progressFlushBytes || now - lastFlushMillis >= config.progressFlushIntervalMillis) {
+                save(now)
+            }
+        }
+
+        // 大小未知的单分片读到流结束，此时才确定文件大小
+        suspend fun reset(chunkIndex: Int) = mutex.withLock {
+            chunks[chunkIndex] = chunks.getValue(chunkIndex).copy(downloaded = 0)
+        }
+
+        suspend fun closeOpenEnded(chunkIndex: Int) = mutex.withLock {
+            val chunk = chunks.getValue(chunkIndex)
+            chunks[chunkIndex] = chunk.copy(end = chunk.start + chunk.downloaded - 1)
+            download = download.copy(totalBytes = chunk.start + chunk.downloaded)
+            // 之前中断的尝试可能写得更长，截掉多余的尾部
+            channel.truncate(download.totalBytes)
+        }
+
+        suspend fun flush() = mutex.withLock { save(System.currentTimeMillis()) }
+
+        suspend fun finish(): DownloadEntity = mutex.withLock {
+            download.copy(
+                downloadedBytes = chunks.values.sumOf { it.downloaded },
+                status = DownloadStatus.COMPLETED,
+                error = null,
+                updatedAt = System.currentTimeMillis()
+            )
+        }
+
+        // 先把已写入的数据落盘，再记录进度，保证数据库中的进度不会超前于文件内容
+        private suspend fun save(now: Long) {
+            channel.force(false)
+            download = download.copy(downloadedBytes = chunks.values.sumOf { it.downloaded }, updatedAt = now)
+            downloadDao.saveProgress(download, chunks.values.sortedBy { it.chunkIndex })
+            unflushedBytes = 0
+            lastFlushMillis = now
+        }
+    }
+
+    private data class Probe(
+        val totalBytes: Long,
+        val supportsRanges: Boolean,
+        val validator: String?
+    )
+
+    private class ValidatorChangedException(url: String) : IOException("Content changed on server: $url")
+
+    companion object {
+        private const val BUFFER_SIZE = 64 * 1024
+        private const val RETRY_BASE_DELAY_MILLIS = 500L
+        private const val FILE_SCHEME = "file://"
+        private val UNSAFE_FILE_CHARS = Regex("[^A-Za-z0-9._-]")
+
+        /**
+         * 按文件大小拆分分片：不支持 Range 或大小未知时只有一个分片
+         */
+        internal fun planChunks(
+            audioId: String,
+            totalBytes: Long,
+            supportsRanges: Boolean,
+            config: DownloadConfig
+        ): List<DownloadChunkEntity> {
+            if (totalBytes <= 0 || !supportsRanges) {
+                val end = if (totalBytes > 0) totalBytes - 1 else DownloadChunkEntity.OPEN_END
+                return listOf(DownloadChunkEntity(audioId, 0, 0, end))
+            }
+            val count = (totalBytes / config.minChunkBytes)
+                .coerceIn(1L, config.maxChunksPerFile.toLong())
+                .toInt()
+            val chunkSize = (totalBytes + count - 1) / count
+            return (0 until count).map { index ->
+                val start = index * chunkSize
+                DownloadChunkEntity(audioId, index, start, minOf(totalBytes, start + chunkSize) - 1)
+            }
+        }
+    }
+}
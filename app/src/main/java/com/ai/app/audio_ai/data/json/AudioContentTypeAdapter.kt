@@ -0,0 +1,80 @@
+package com.ai.app.audio_ai.data.json
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * [AudioContent] 的流式解析，不经过反射；缺失的非空字段使用默认值
+ */
+class AudioContentTypeAdapter : TypeAdapter<AudioContent>() {
+
+    override fun write(out: JsonWriter, value: AudioContent?) {
+        if (value == null) {
+            out.nullValue()
+            return
+        }
+        out.beginObject()
+        out.name("id").value(value.id)
+        out.name("title").value(value.title)
+        out.name("author").value(value.author)
+        out.name("coverUrl").value(value.coverUrl)
+        out.name("audioUrl").value(value.audioUrl)
+        out.name("duration").value(value.duration)
+        out.name("category").value(value.category)
+        out.name("description").value(value.description)
+        out.name("playCount").value(value.playCount.toLong())
+        out.name("likeCount").value(value.likeCount.toLong())
+        out.endObject()
+    }
+
+    override fun read(reader: JsonReader): AudioContent? {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull()
+            return null
+        }
+        var id = ""
+        var title = ""
+        var author = ""
+        var coverUrl = ""
+        var audioUrl = ""
+        var duration = 0L
+        var category = ""
+        var description: String? = null
+        var playCount = 0
+        var likeCount = 0
+
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.nextName()) {
+                "id" -> id = reader.nextStringOrNull() ?: ""
+                "title" -> title = reader.nextStringOrNull() ?: ""
+                "author" -> author = reader.nextStringOrNull() ?: ""
+                "coverUrl" -> coverUrl = reader.nextStringOrNull() ?: ""
+                "audioUrl" -> audioUrl = reader.nextStringOrNull() ?: ""
+                "duration" -> duration = reader.nextLongOrDefault()
+                "category" -> category = reader.nextStringOrNull() ?: ""
+                "description" -> description = reader.nextStringOrNull()
+                "playCount" -> playCount = reader.nextIntOrDefault()
+                "likeCount" -> likeCount = reader.nextIntOrDefault()
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+
+        return AudioContent(
+            id = id,
+            title = title,
+            author = author,
+            coverUrl = coverUrl,
+            audioUrl = audioUrl,
+            duration = duration,
+            category = category,
+            description = description,
+            playCount = playCount,
+            likeCount = likeCount
+        )
+    }
+}
@@ -0,0 +1,60 @@
+package com.ai.app.audio_ai.data.json
+
+import com.ai.app.audio_ai.data.model.Banner
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * [Banner] 的流式解析，不经过反射
+ */
+class BannerTypeAdapter : TypeAdapter<Banner>() {
+
+    override fun write(out: JsonWriter, value: Banner?) {
+        if (value == null) {
+            out.nullValue()
+            return
+        }
+        out.beginObject()
+        out.name("id").value(value.id)
+        out.name("imageUrl").value(value.imageUrl)
+        out.name("title").value(value.title)
+        out.name("description").value(value.description)
+        out.name("targetUrl").value(value.targetUrl)
+        out.endObject()
+    }
+
+    override fun read(reader: JsonReader): Banner? {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull()
+            return null
+        }
+        var id = ""
+        var imageUrl = ""
+        var title = ""
+        var description = ""
+        var targetUrl: String? = null
+
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.nextName()) {
+                "id" -> id = reader.nextStringOrNull() ?: ""
+                "imageUrl" -> imageUrl = reader.nextStringOrNull() ?: ""
+                "title" -> title = reader.nextStringOrNull() ?: ""
+                "description" -> description = reader.nextStringOrNull() ?: ""
+                "targetUrl" -> targetUrl = reader.nextStringOrNull()
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+
+        return Banner(
+            id = id,
+            imageUrl = imageUrl,
+            title = title,
+            description = description,
+            targetUrl = targetUrl
+        )
+    }
+}
@@ -0,0 +1,31 @@
+package com.ai.app.audio_ai.data.json
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.model.AudioContentDetailResponse
+import com.ai.app.audio_ai.data.model.AudioContentResponse
+import com.ai.app.audio_ai.data.model.Banner
+import com.ai.app.audio_ai.data.model.BannerResponse
+import com.ai.app.audio_ai.data.model.HomeFeed
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+
+/**
+ * 目录接口的 JSON 配置，所有模型都注册了手写的流式 TypeAdapter
+ */
+object CatalogJson {
+
+    private val audioContentAdapter = AudioContentTypeAdapter()
+
+    val bannerAdapter = BannerTypeAdapter()
+
+    fun createGson(): Gson {
+        return GsonBuilder()
+            .registerTypeAdapter(AudioContent::class.java, audioContentAdapter)
+            .registerTypeAdapter(Banner::class.java, bannerAdapter)
+            .registerTypeAdapter(AudioContentResponse::class.java, AudioContentResponseTypeAdapter(audioContentAdapter))
+            .registerTypeAdapter(AudioContentDetailResponse::class.java, AudioContentDetailResponseTypeAdapter(audioContentAdapter))
+            .registerTypeAdapter(BannerResponse::class.java, BannerResponseTypeAdapter(bannerAdapter))
+            .registerTypeAdapter(HomeFeed::class.java, HomeFeedTypeAdapter(bannerAdapter, audioContentAdapter))
+            .create()
+    }
+}
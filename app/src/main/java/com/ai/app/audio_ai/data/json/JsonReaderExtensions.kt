@@ -0,0 +1,50 @@
+package com.ai.app.audio_ai.data.json
+
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+internal fun JsonReader.nextStringOrNull(): String? {
+    if (peek() == JsonToken.NULL) {
+        nextNull()
+        return null
+    }
+    return nextString()
+}
+
+internal fun JsonReader.nextLongOrDefault(default: Long = 0L): Long {
+    if (peek() == JsonToken.NULL) {
+        nextNull()
+        return default
+    }
+    return nextLong()
+}
+
+internal fun JsonReader.nextIntOrDefault(default: Int = 0): Int {
+    if (peek() == JsonToken.NULL) {
+        nextNull()
+        return default
+    }
+    return nextInt()
+}
+
+internal fun <T> JsonReader.readList(itemAdapter: TypeAdapter<T>): List<T> {
+    if (peek() == JsonToken.NULL) {
+        nextNull()
+        return emptyList()
+    }
+    val items = ArrayList<T>()
+    beginArray()
+    while (hasNext()) {
+        itemAdapter.read(this)?.let { items.add(it) }
+    }
+    endArray()
+    return items
+}
+
+internal fun <T> JsonWriter.writeList(itemAdapter: TypeAdapter<T>, items: List<T>) {
+    beginArray()
+    items.forEach { itemAdapter.write(this, it) }
+    endArray()
+}
@@ -0,0 +1,150 @@
+package com.ai.app.audio_ai.data.json
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.model.AudioContentDetailResponse
+import com.ai.app.audio_ai.data.model.AudioContentResponse
+import com.ai.app.audio_ai.data.model.Banner
+import com.ai.app.audio_ai.data.model.BannerResponse
+import com.ai.app.audio_ai.data.model.HomeFeed
+import com.google.gson.JsonParseException
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * 读取 {"code":..,"message":..,"data":..} 外层结构，只解析 data 字段
+ * code 和 message 由响应类固定，这里直接跳过
+ */
+private inline fun <T> JsonReader.readWrapper(readData: (JsonReader) -> T): T? {
+    if (peek() == JsonToken.NULL) {
+        nextNull()
+        return null
+    }
+    var data: T? = null
+    beginObject()
+    while (hasNext()) {
+        if (nextName() == "data") {
+            data = readData(this)
+        } else {
+            skipValue()
+        }
+    }
+    endObject()
+    return data
+}
+
+private inline fun JsonWriter.writeWrapper(code: Int, message: String, writeData: (JsonWriter) -> Unit) {
+    beginObject()
+    name("code").value(code.toLong())
+    name("message").value(message)
+    name("data")
+    writeData(this)
+    endObject()
+}
+
+class AudioContentResponseTypeAdapter(
+    private val itemAdapter: TypeAdapter<AudioContent>
+) : TypeAdapter<AudioContentResponse>() {
+
+    override fun write(out: JsonWriter, value: AudioContentResponse?) {
+        if (value == null) {
+            out.nullValue()
+            return
+        }
+        out.writeWrapper(value.code, value.message) { it.writeList(itemAdapter, value.data) }
+    }
+
+    override fun read(reader: JsonReader): AudioContentResponse? {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull()
+            return null
+        }
+        return AudioContentResponse(reader.readWrapper { it.readList(itemAdapter) } ?: emptyList())
+    }
+}
+
+class AudioContentDetailResponseTypeAdapter(
+    private val itemAdapter: TypeAdapter<AudioContent>
+) : TypeAdapter<AudioContentDetailResponse>() {
+
+    override fun write(out: JsonWriter, value: AudioContentDetailResponse?) {
+        if (value == null) {
+            out.nullValue()
+            return
+        }
+        out.writeWrapper(value.code, value.message) { itemAdapter.write(it, value.data) }
+    }
+
+    override fun read(reader: JsonReader): AudioContentDetailResponse? {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull()
+            return null
+        }
+        val data = reader.readWrapper { itemAdapter.read(it) }
+            ?: throw JsonParseException("音频详情缺少 data 字段")
+        return AudioContentDetailResponse(data)
+    }
+}
+
+class BannerResponseTypeAdapter(
+    private val itemAdapter: TypeAdapter<Banner>
+) : TypeAdapter<BannerResponse>() {
+
+    override fun write(out: JsonWriter, value: BannerResponse?) {
+        if (value == null) {
+            out.nullValue()
+            return
+        }
+        out.writeWrapper(value.code, value.message) { it.writeList(itemAdapter, value.data) }
+    }
+
+    override fun read(reader: JsonReader): BannerResponse? {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull()
+            return null
+        }
+        return BannerResponse(reader.readWrapper { it.readList(itemAdapter) } ?: emptyList())
+    }
+}
+
+class HomeFeedTypeAdapter(
+    private val bannerAdapter: TypeAdapter<Banner>,
+    private val audioContentAdapter: TypeAdapter<AudioContent>
+) : TypeAdapter<HomeFeed>() {
+
+    override fun write(out: JsonWriter, value: HomeFeed?) {
+        if (value == null) {
+            out.nullValue()
+            return
+        }
+        out.beginObject()
+        out.name("banners").writeList(bannerAdapter, value.banners)
+        out.name("hotRecommendations").writeList(audioContentAdapter, value.hotRecommendations)
+        out.name("newReleases").writeList(audioContentAdapter, value.newReleases)
+        out.endObject()
+    }
+
+    override fun read(reader: JsonReader): HomeFeed? {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull()
+            return null
+        }
+        var banners = emptyList<Banner>()
+        var hotRecommendations = emptyList<AudioContent>()
+        var newReleases = emptyList<AudioContent>()
+
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.nextName()) {
+                "banners" -> banners = reader.readList(bannerAdapter)
+                "hotRecommendations" -> hotRecommendations = reader.readList(audioContentAdapter)
+                "newReleases" -> newReleases = reader.readList(audioContentAdapter)
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+
+        return HomeFeed(banners, hotRecommendations, newReleases)
+    }
+}
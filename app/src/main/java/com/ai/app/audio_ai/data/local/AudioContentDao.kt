@@ -0,0 +1,127 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.paging.PagingSource
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import com.ai.app.audio_ai.data.search.toSearchEntity
+import kotlinx.coroutines.flow.Flow
+
+// SQLite 单条语句的参数上限为 999
+private const val MAX_BIND_ARGS = 900
+
+/**
+ * 音频内容缓存访问对象
+ */
+@Dao
+interface AudioContentDao {
+
+    @Query(
+        "SELECT a.* FROM audio_contents a INNER JOIN feed_entries f ON a.id = f.audioId " +
+            "WHERE f.feed = :feed ORDER BY f.position"
+    )
+    fun observeFeed(feed: String): Flow<List<AudioContentEntity>>
+
+    @Query(
+        "SELECT a.* FROM audio_contents a INNER JOIN feed_entries f ON a.id = f.audioId " +
+            "WHERE f.feed = :feed ORDER BY f.position"
+    )
+    fun pagingSource(feed: String): PagingSource<Int, AudioContentEntity>
+
+    @Query(
+        "SELECT a.coverUrl, a.audioUrl FROM audio_contents a INNER JOIN feed_entries f ON a.id = f.audioId " +
+            "WHERE f.feed = :feed ORDER BY f.position LIMIT :limit"
+    )
+    suspend fun getMediaUrls(feed: String, limit: Int): List<MediaUrls>
+
+    @Query("SELECT COUNT(*) FROM feed_entries WHERE feed = :feed")
+    suspend fun countFeed(feed: String): Int
+
+    @Query("SELECT * FROM audio_contents WHERE id = :id")
+    suspend fun getById(id: String): AudioContentEntity?
+
+    @Query("SELECT * FROM audio_contents WHERE id IN (:ids)")
+    suspend fun getByIds(ids: List<String>): List<AudioContentEntity>
+
+    @Query("SELECT audioId FROM feed_entries WHERE feed = :feed ORDER BY position")
+    suspend fun getFeedIds(feed: String): List<String>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertContents(items: List<AudioContentEntity>)
+
+    @Insert
+    suspend fun insertSearchEntries(entries: List<AudioSearchEntity>)
+
+    @Query("SELECT rowid AS rowId, id FROM audio_contents WHERE id IN (:ids)")
+    suspend fun getRowIds(ids: List<String>): List<ContentRowId>
+
+    // FTS 表没有唯一约束，更新前先删除旧的索引行；audioId 列不建索引，按 rowid 删除才不会全表扫描
+    @Query("DELETE FROM audio_search WHERE rowid IN (SELECT rowid FROM audio_contents WHERE id IN (:ids))")
+    suspend fun deleteSearchEntries(ids: List<String>)
+
+    /**
+     * 写入音频内容并同步更新全文索引
+     * 索引行与内容行使用相同的 rowid，REPLACE 写入会换新 rowid，所以先删旧索引、写入后再取新 rowid
+     */
+    @Transaction
+    suspend fun upsertAll(items: List<AudioContentEntity>) {
+        val ids = items.map { it.id }.chunked(MAX_BIND_ARGS)
+        ids.forEach { deleteSearchEntries(it) }
+        insertContents(items)
+        val rowIds = ids.flatMap { getRowIds(it) }.associate { it.id to it.rowId }
+        insertSearchEntries(items.map { it.toSearchEntity(rowIds.getValue(it.id)) })
+    }
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertFeedEntries(entries: List<FeedEntryEntity>)
+
+    @Query("DELETE FROM feed_entries WHERE feed = :feed")
+    suspend fun clearFeed(feed: String)
+
+    @Query("DELETE FROM remote_keys WHERE feed = :feed")
+    suspend fun clearRemoteKey(feed: String)
+
+    /**
+     * 用最新数据整体替换某个列表，同时重置分页游标，下次翻页从现有条数之后继续
+     */
+    @Transaction
+    suspend fun replaceFeed(feed: String, items: List<AudioContentEntity>) {
+        upsertAll(items)
+        clearFeed(feed)
+        clearRemoteKey(feed)
+        insertFeedEntries(items.mapIndexed { index, item -> FeedEntryEntity(feed, index, item.id) })
+    }
+
+    /**
+     * 在列表末尾追加一页
+     * @param startPosition 本页第一条在列表中的位置
+     */
+    @Transaction
+    suspend fun appendFeed(feed: String, startPosition: Int, items: List<AudioContentEntity>) {
+        upsertAll(items)
+        insertFeedEntries(items.mapIndexed { index, item -> FeedEntryEntity(feed, startPosition + index, item.id) })
+    }
+
+    /**
+     * 只写入内容有变化的条目，顺序变化时才重建列表，没有变化时不触发任何写入
+     *
+     * 列表中 [items] 之后的行是翻页追加的，只比较前 items.size 条，否则滚动过的列表每次同步都会被重置
+     * @return 写入的条目数
+     */
+    @Transaction
+    suspend fun applyFeedChanges(feed: String, items: List<AudioContentEntity>): Int {
+        val existing = items.map { it.id }.chunked(MAX_BIND_ARGS)
+            .flatMap { getByIds(it) }
+            .associateBy { it.id }
+        val changed = items.filter { existing[it.id] != it }
+        if (changed.isNotEmpty()) upsertAll(changed)
+        if (getFeedIds(feed).take(items.size) != items.map { it.id }) {
+            clearFeed(feed)
+            clearRemoteKey(feed)
+            insertFeedEntries(items.mapIndexed { index, item -> FeedEntryEntity(feed, index, item.id) })
+        }
+        return changed.size
+    }
+}
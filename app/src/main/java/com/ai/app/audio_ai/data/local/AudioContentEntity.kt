@@ -0,0 +1,66 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+import com.ai.app.audio_ai.data.model.AudioContent
+
+/**
+ * 音频内容缓存实体
+ * 同一条音频只存一份，所属的列表（热门、新品等）通过 [FeedEntryEntity] 关联
+ */
+@Entity(tableName = "audio_contents")
+data class AudioContentEntity(
+    @PrimaryKey
+    val id: String,
+    val title: String,
+    val author: String,
+    val coverUrl: String,
+    val audioUrl: String,
+    val duration: Long,
+    val category: String,
+    val description: String?,
+    val playCount: Int,
+    val likeCount: Int
+)
+
+/**
+ * 只取封面和音频地址的投影，启动预热时用来找出 CDN 主机
+ */
+data class MediaUrls(
+    val coverUrl: String,
+    val audioUrl: String
+)
+
+/**
+ * 内容行的 rowid，全文索引行用它作为自己的 rowid
+ */
+data class ContentRowId(
+    val rowId: Int,
+    val id: String
+)
+
+fun AudioContentEntity.toModel(): AudioContent = AudioContent(
+    id = id,
+    title = title,
+    author = author,
+    coverUrl = coverUrl,
+    audioUrl = audioUrl,
+    duration = duration,
+    category = category,
+    description = description,
+    playCount = playCount,
+    likeCount = likeCount
+)
+
+fun AudioContent.toEntity(): AudioContentEntity = AudioContentEntity(
+    id = id,
+    title = title,
+    author = author,
+    coverUrl = coverUrl,
+    audioUrl = audioUrl,
+    duration = duration,
+    category = category,
+    description = description,
+    playCount = playCount,
+    likeCount = likeCount
+)
@@ -0,0 +1,20 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Dao
+import androidx.room.Query
+
+/**
+ * 全文检索访问对象，索引的写入由 [AudioContentDao.upsertAll] 维护
+ */
+@Dao
+interface AudioSearchDao {
+
+    @Query(
+        "SELECT audioId, matchinfo(audio_search, 'pcnalx') AS matchInfo FROM audio_search " +
+            "WHERE audio_search MATCH :query LIMIT :limit"
+    )
+    suspend fun match(query: String, limit: Int): List<AudioSearchMatch>
+
+    @Query("SELECT * FROM audio_contents WHERE id IN (:ids)")
+    suspend fun getContents(ids: List<String>): List<AudioContentEntity>
+}
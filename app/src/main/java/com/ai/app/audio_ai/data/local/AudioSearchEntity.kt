@@ -0,0 +1,36 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Fts4
+import androidx.room.PrimaryKey
+
+/**
+ * 音频内容全文索引
+ * 文本列存放逐字切分后的内容，另有拼音全拼和首字母两列，供拉丁字母输入匹配中文标题
+ * 列顺序与 [com.ai.app.audio_ai.data.search.AudioSearchRepository] 中的 BM25 权重一一对应
+ * rowid 与 audio_contents 中对应内容行的 rowid 相同，增删索引都按 rowid 定位
+ */
+@Fts4(notIndexed = ["audioId"])
+@Entity(tableName = "audio_search")
+data class AudioSearchEntity(
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "rowid")
+    val rowId: Int = 0,
+    val audioId: String,
+    val title: String,
+    val author: String,
+    val category: String,
+    val description: String,
+    val pinyin: String,
+    val initials: String
+)
+
+/**
+ * 全文检索命中
+ * @param matchInfo matchinfo(audio_search, 'pcnalx') 的原始结果
+ */
+class AudioSearchMatch(
+    val audioId: String,
+    val matchInfo: ByteArray
+)
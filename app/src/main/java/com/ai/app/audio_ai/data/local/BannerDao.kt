@@ -0,0 +1,44 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * 轮播图缓存访问对象
+ */
+@Dao
+interface BannerDao {
+
+    @Query("SELECT * FROM banners ORDER BY position")
+    fun observeAll(): Flow<List<BannerEntity>>
+
+    @Query("SELECT * FROM banners ORDER BY position")
+    suspend fun getAll(): List<BannerEntity>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertAll(banners: List<BannerEntity>)
+
+    @Query("DELETE FROM banners")
+    suspend fun clear()
+
+    @Transaction
+    suspend fun replaceAll(banners: List<BannerEntity>) {
+        clear()
+        insertAll(banners)
+    }
+
+    /**
+     * 与现有数据相同时跳过写入，避免订阅方收到重复数据
+     * @return 写入的条目数
+     */
+    @Transaction
+    suspend fun replaceIfChanged(banners: List<BannerEntity>): Int {
+        if (getAll() == banners) return 0
+        replaceAll(banners)
+        return banners.size
+    }
+}
@@ -0,0 +1,36 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+import com.ai.app.audio_ai.data.model.Banner
+
+/**
+ * 轮播图缓存实体
+ */
+@Entity(tableName = "banners")
+data class BannerEntity(
+    @PrimaryKey
+    val id: String,
+    val position: Int,
+    val imageUrl: String,
+    val title: String,
+    val description: String,
+    val targetUrl: String?
+)
+
+fun BannerEntity.toModel(): Banner = Banner(
+    id = id,
+    imageUrl = imageUrl,
+    title = title,
+    description = description,
+    targetUrl = targetUrl
+)
+
+fun Banner.toEntity(position: Int): BannerEntity = BannerEntity(
+    id = id,
+    position = position,
+    imageUrl = imageUrl,
+    title = title,
+    description = description,
+    targetUrl = targetUrl
+)
@@ -0,0 +1,19 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+
+/**
+ * 缓存元数据访问对象
+ */
+@Dao
+interface CacheMetadataDao {
+
+    @Query("SELECT * FROM cache_metadata WHERE `key` = :key")
+    suspend fun get(key: String): CacheMetadataEntity?
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsert(metadata: CacheMetadataEntity)
+}
@@ -0,0 +1,20 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * 缓存集合的元数据
+ * @param key 集合标识，与 [FeedEntryEntity.feed] 一致；另有一行记录服务端是否缺少首页聚合接口
+ * @param lastUpdated 最近一次从网络刷新成功的时间戳（毫秒）
+ * @param etag 服务端返回的 ETag，下次请求作为 If-None-Match 发送
+ * @param lastModified 服务端返回的 Last-Modified，下次请求作为 If-Modified-Since 发送
+ */
+@Entity(tableName = "cache_metadata")
+data class CacheMetadataEntity(
+    @PrimaryKey
+    val key: String,
+    val lastUpdated: Long,
+    val etag: String? = null,
+    val lastModified: String? = null
+)
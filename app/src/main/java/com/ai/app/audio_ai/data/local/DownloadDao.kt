@@ -0,0 +1,69 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Update
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * 离线下载任务和分片进度访问对象
+ */
+@Dao
+interface DownloadDao {
+
+    @Query("SELECT * FROM downloads ORDER BY updatedAt DESC")
+    fun observeAll(): Flow<List<DownloadEntity>>
+
+    @Query("SELECT * FROM downloads WHERE audioId = :audioId")
+    suspend fun get(audioId: String): DownloadEntity?
+
+    @Query("SELECT * FROM downloads WHERE status IN (:statuses)")
+    suspend fun getByStatus(statuses: List<String>): List<DownloadEntity>
+
+    // REPLACE 会先删除旧行，级联清掉分片，只用于新建或重新规划
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsert(download: DownloadEntity)
+
+    @Update
+    suspend fun update(download: DownloadEntity)
+
+    @Query("UPDATE downloads SET status = :status, error = :error, updatedAt = :updatedAt WHERE audioId = :audioId")
+    suspend fun updateStatus(audioId: String, status: String, error: String? = null, updatedAt: Long = System.currentTimeMillis())
+
+    @Query("DELETE FROM downloads WHERE audioId = :audioId")
+    suspend fun delete(audioId: String)
+
+    @Query("SELECT * FROM download_chunks WHERE audioId = :audioId ORDER BY chunkIndex")
+    suspend fun getChunks(audioId: String): List<DownloadChunkEntity>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertChunks(chunks: List<DownloadChunkEntity>)
+
+    @Update
+    suspend fun updateChunks(chunks: List<DownloadChunkEntity>)
+
+    @Query("DELETE FROM download_chunks WHERE audioId = :audioId")
+    suspend fun deleteChunks(audioId: String)
+
+    /**
+     * 写入探测结果和分片计划，已有的分片进度全部作废
+     */
+    @Transaction
+    suspend fun savePlan(download: DownloadEntity, chunks: List<DownloadChunkEntity>) {
+        upsert(download)
+        deleteChunks(download.audioId)
+        insertChunks(chunks)
+    }
+
+    /**
+     * 一次事务内写入各分片进度和汇总进度，进程被杀时两者保持一致
+     */
+    @Transaction
+    suspend fun saveProgress(download: DownloadEntity, chunks: List<DownloadChunkEntity>) {
+        updateChunks(chunks)
+        update(download)
+    }
+}
@@ -0,0 +1,78 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Entity
+import androidx.room.ForeignKey
+import androidx.room.PrimaryKey
+
+/**
+ * 离线下载任务
+ * @param audioId 音频 id，每条音频只有一个下载任务
+ * @param filePath 目标文件，下载过程中即按最终大小预分配，各分片直接写入对应位置
+ * @param totalBytes 文件总大小，探测完成前为 -1
+ * @param downloadedBytes 已写入的字节数，按分片进度汇总
+ * @param supportsRanges 服务端是否支持 Range 请求，不支持时只能单线程从头下载
+ * @param validator 服务端的 ETag 或 Last-Modified，续传时通过 If-Range 校验文件未变化
+ * @param status 下载状态，取值见 [DownloadStatus]
+ * @param error 最近一次失败的原因
+ */
+@Entity(tableName = "downloads")
+data class DownloadEntity(
+    @PrimaryKey
+    val audioId: String,
+    val audioUrl: String,
+    val title: String,
+    val filePath: String,
+    val totalBytes: Long = -1,
+    val downloadedBytes: Long = 0,
+    val supportsRanges: Boolean = false,
+    val validator: String? = null,
+    val status: String = DownloadStatus.QUEUED,
+    val error: String? = null,
+    val updatedAt: Long = System.currentTimeMillis()
+)
+
+/**
+ * 下载分片，[start] 到 [end]（含）为该分片负责的字节区间
+ * @param end 文件大小未知时为 [OPEN_END]，读到流结束为止
+ * @param downloaded 从 [start] 起已写入的字节数，续传时从 start + downloaded 开始请求
+ */
+@Entity(
+    tableName = "download_chunks",
+    primaryKeys = ["audioId", "chunkIndex"],
+    foreignKeys = [
+        ForeignKey(
+            entity = DownloadEntity::class,
+            parentColumns = ["audioId"],
+            childColumns = ["audioId"],
+            onDelete = ForeignKey.CASCADE
+        )
+    ]
+)
+data class DownloadChunkEntity(
+    val audioId: String,
+    val chunkIndex: Int,
+    val start: Long,
+    val end: Long,
+    val downloaded: Long = 0
+) {
+    val isOpenEnded: Boolean get() = end == OPEN_END
+
+    val length: Long get() = if (isOpenEnded) Long.MAX_VALUE else end - start + 1
+
+    val isComplete: Boolean get() = downloaded >= length
+
+    companion object {
+        const val OPEN_END = -1L
+    }
+}
+
+/**
+ * 下载状态，以字符串存储便于直接查询
+ */
+object DownloadStatus {
+    const val QUEUED = "QUEUED"
+    const val RUNNING = "RUNNING"
+    const val PAUSED = "PAUSED"
+    const val COMPLETED = "COMPLETED"
+    const val FAILED = "FAILED"
+}
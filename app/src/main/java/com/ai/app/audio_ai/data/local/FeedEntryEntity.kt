@@ -0,0 +1,21 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Entity
+import androidx.room.Index
+
+/**
+ * 列表成员关系
+ * @param feed 列表标识，如 "hot"、"new"
+ * @param position 音频在列表中的顺序
+ * @param audioId 音频内容ID
+ */
+@Entity(
+    tableName = "feed_entries",
+    primaryKeys = ["feed", "audioId"],
+    indices = [Index(value = ["feed", "position"])]
+)
+data class FeedEntryEntity(
+    val feed: String,
+    val position: Int,
+    val audioId: String
+)
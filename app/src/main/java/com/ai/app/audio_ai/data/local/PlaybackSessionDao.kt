@@ -0,0 +1,50 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+
+/**
+ * 播放队列和播放进度访问对象
+ */
+@Dao
+interface PlaybackSessionDao {
+
+    @Query("SELECT * FROM playback_session LIMIT 1")
+    suspend fun getSession(): PlaybackSessionEntity?
+
+    @Query("SELECT * FROM playback_queue ORDER BY position")
+    suspend fun getQueue(): List<PlaybackQueueItemEntity>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertSession(session: PlaybackSessionEntity)
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertQueue(items: List<PlaybackQueueItemEntity>)
+
+    @Query("DELETE FROM playback_queue")
+    suspend fun deleteQueue()
+
+    @Query("DELETE FROM playback_session")
+    suspend fun deleteSession()
+
+    /**
+     * 写入播放进度；队列有变化时传入新队列整体替换，否则只更新进度
+     */
+    @Transaction
+    suspend fun save(session: PlaybackSessionEntity, queue: List<PlaybackQueueItemEntity>?) {
+        if (queue != null) {
+            deleteQueue()
+            insertQueue(queue)
+        }
+        upsertSession(session)
+    }
+
+    @Transaction
+    suspend fun clear() {
+        deleteQueue()
+        deleteSession()
+    }
+}
@@ -0,0 +1,36 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Embedded
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * 上次的播放进度，只有一行
+ * @param currentIndex 当前曲目在队列中的位置
+ * @param positionMs 当前曲目的播放位置
+ */
+@Entity(tableName = "playback_session")
+data class PlaybackSessionEntity(
+    @PrimaryKey
+    val id: Int = SINGLE_ROW_ID,
+    val currentIndex: Int,
+    val positionMs: Long,
+    val updatedAt: Long = System.currentTimeMillis()
+) {
+    companion object {
+        const val SINGLE_ROW_ID = 0
+    }
+}
+
+/**
+ * 上次的播放队列
+ * 队列里的音频不一定在列表缓存中，这里保存完整内容，不依赖 [AudioContentEntity] 表
+ * @param position 在队列中的顺序
+ */
+@Entity(tableName = "playback_queue")
+data class PlaybackQueueItemEntity(
+    @PrimaryKey
+    val position: Int,
+    @Embedded(prefix = "audio_")
+    val audio: AudioContentEntity
+)
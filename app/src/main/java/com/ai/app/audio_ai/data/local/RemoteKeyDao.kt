@@ -0,0 +1,19 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+
+/**
+ * 分页游标访问对象
+ */
+@Dao
+interface RemoteKeyDao {
+
+    @Query("SELECT * FROM remote_keys WHERE feed = :feed")
+    suspend fun get(feed: String): RemoteKeyEntity?
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsert(remoteKey: RemoteKeyEntity)
+}
@@ -0,0 +1,18 @@
+package com.ai.app.audio_ai.data.local
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * 分页列表的远端游标
+ * @param feed 列表标识，与 [FeedEntryEntity.feed] 一致
+ * @param nextOffset 下一页的偏移量，为 null 表示已加载到末尾
+ * @param lastUpdated 首页最近一次刷新的时间戳（毫秒）
+ */
+@Entity(tableName = "remote_keys")
+data class RemoteKeyEntity(
+    @PrimaryKey
+    val feed: String,
+    val nextOffset: Int?,
+    val lastUpdated: Long
+)
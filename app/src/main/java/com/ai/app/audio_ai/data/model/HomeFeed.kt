@@ -0,0 +1,10 @@
+package com.ai.app.audio_ai.data.model
+
+/**
+ * 首页聚合数据，服务端支持时由一个请求返回全部模块
+ */
+data class HomeFeed(
+    val banners: List<Banner>,
+    val hotRecommendations: List<AudioContent>,
+    val newReleases: List<AudioContent>
+)
@@ -0,0 +1,48 @@
+package com.ai.app.audio_ai.data.network
+
+import okhttp3.Dns
+import java.net.InetAddress
+import java.net.UnknownHostException
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 带有效期的 DNS 缓存
+ * 启动时预先解析接口和 CDN 主机，首个请求不再等待 DNS；解析失败时退回过期的结果
+ */
+class CachingDns(
+    private val delegate: Dns = Dns.SYSTEM,
+    private val ttlMillis: Long = DEFAULT_TTL_MILLIS,
+    private val clock: () -> Long = System::currentTimeMillis
+) : Dns {
+
+    private class Entry(val addresses: List<InetAddress>, val expiresAt: Long)
+
+    private val entries = ConcurrentHashMap<String, Entry>()
+
+    override fun lookup(hostname: String): List<InetAddress> {
+        val cached = entries[hostname]
+        if (cached != null && clock() < cached.expiresAt) return cached.addresses
+        return try {
+            delegate.lookup(hostname).also { entries[hostname] = Entry(it, clock() + ttlMillis) }
+        } catch (e: UnknownHostException) {
+            // 网络切换的瞬间经常解析失败，旧地址大概率仍然可用
+            cached?.addresses ?: throw e
+        }
+    }
+
+    /**
+     * 预先解析，失败时忽略
+     * @return 是否解析成功
+     */
+    fun prefetch(hostname: String): Boolean = runCatching { lookup(hostname) }.isSuccess
+
+    fun isCached(hostname: String): Boolean = entries[hostname]?.let { clock() < it.expiresAt } == true
+
+    fun clear() {
+        entries.clear()
+    }
+
+    companion object {
+        const val DEFAULT_TTL_MILLIS = 5 * 60 * 1000L
+    }
+}
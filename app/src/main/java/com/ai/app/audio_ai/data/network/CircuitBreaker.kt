@@ -0,0 +1,87 @@
+package com.ai.app.audio_ai.data.network
+
+/**
+ * 单个主机的熔断器
+ * 关闭时统计最近请求的失败率，超过阈值后打开并快速失败；
+ * 打开一段时间后进入半开状态，只放行一个探测请求，成功则关闭，失败则重新打开
+ */
+class CircuitBreaker(
+    private val config: ResilienceConfig,
+    private val clock: () -> Long
+) {
+
+    enum class State { CLOSED, OPEN, HALF_OPEN }
+
+    private val outcomes = BooleanArray(config.breakerWindowSize)
+    private var next = 0
+    private var calls = 0
+    private var failures = 0
+
+    private var openedAt = 0L
+    private var probeInFlight = false
+
+    var state = State.CLOSED
+        @Synchronized get
+        private set
+
+    /**
+     * @return false 表示熔断中，调用方不应发出请求
+     */
+    @Synchronized
+    fun tryAcquire(): Boolean = when (state) {
+        State.CLOSED -> true
+        State.OPEN -> if (clock() - openedAt >= config.breakerOpenMillis) {
+            state = State.HALF_OPEN
+            probeInFlight = true
+            true
+        } else {
+            false
+        }
+        State.HALF_OPEN -> if (!probeInFlight) {
+            probeInFlight = true
+            true
+        } else {
+            false
+        }
+    }
+
+    @Synchronized
+    fun onResult(success: Boolean) {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false
+            if (success) close() else open()
+            return
+        }
+        if (calls == outcomes.size) {
+            if (!outcomes[next]) failures--
+        } else {
+            calls++
+        }
+        outcomes[next] = success
+        if (!success) failures++
+        next = (next + 1) % outcomes.size
+        if (calls >= config.breakerMinimumCalls && failures.toDouble() / calls >= config.breakerFailureRateThreshold) {
+            open()
+        }
+    }
+
+    /**
+     * 请求被调用方取消，不计入统计，只释放探测名额
+     */
+    @Synchronized
+    fun onCancelled() {
+        probeInFlight = false
+    }
+
+    private fun open() {
+        state = State.OPEN
+        openedAt = clock()
+    }
+
+    private fun close() {
+        state = State.CLOSED
+        next = 0
+        calls = 0
+        failures = 0
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.app.audio_ai.data.network
+
+import okhttp3.CacheControl
+import okhttp3.Interceptor
+import okhttp3.Response
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 按主机熔断，熔断期间幂等请求直接读取 HTTP 缓存（允许过期），没有缓存时抛出 [CircuitOpenException]
+ * 仓库层捕获异常后继续使用数据库缓存
+ */
+class CircuitBreakerInterceptor(
+    private val config: ResilienceConfig,
+    private val clock: () -> Long = System::currentTimeMillis
+) : Interceptor {
+
+    private val breakers = ConcurrentHashMap<String, CircuitBreaker>()
+
+    fun breakerFor(host: String): CircuitBreaker =
+        breakers.getOrPut(host) { CircuitBreaker(config, clock) }
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        if (!request.isIdempotent() || request.cacheControl.onlyIfCached) return chain.proceed(request)
+
+        val breaker = breakerFor(request.url.host)
+        if (!breaker.tryAcquire()) {
+            val cached = chain.proceed(request.newBuilder().cacheControl(CacheControl.FORCE_CACHE).build())
+            if (cached.code != HTTP_UNSATISFIABLE) return cached
+            cached.close()
+            throw CircuitOpenException(request.url.host)
+        }
+
+        val response = try {
+            chain.proceed(request)
+        } catch (e: IOException) {
+            if (chain.call().isCanceled()) breaker.onCancelled() else breaker.onResult(false)
+            throw e
+        }
+        breaker.onResult(response.code < 500)
+        return response
+    }
+
+    companion object {
+        // FORCE_CACHE 没有可用缓存时 OkHttp 返回 504
+        private const val HTTP_UNSATISFIABLE = 504
+    }
+}
+
+class CircuitOpenException(host: String) : IOException("$host 熔断中，且没有可用缓存")
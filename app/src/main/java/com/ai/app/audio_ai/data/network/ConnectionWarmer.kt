@@ -0,0 +1,69 @@
+package com.ai.app.audio_ai.data.network
+
+import android.util.Log
+import com.ai.app.audio_ai.di.BackgroundHttpClient
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.withContext
+import okhttp3.CacheControl
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrlOrNull
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+private const val TAG = "ConnectionWarmer"
+
+/**
+ * 启动时预热网络：解析主机并写入 [CachingDns]，再发一个 HEAD 请求建立连接（支持时协商 HTTP/2）
+ * 连接放回共享连接池，首个接口请求可以直接复用，省去 DNS、TCP 和 TLS 握手
+ */
+@Singleton
+class ConnectionWarmer @Inject constructor(
+    private val dns: CachingDns,
+    @BackgroundHttpClient private val client: OkHttpClient,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher
+) {
+
+    /**
+     * @param urls 需要预热的地址，按主机去重，最多预热 [MAX_HOSTS] 个
+     * @return 成功建立连接的主机数
+     */
+    suspend fun warmUp(urls: List<String>): Int = withContext(ioDispatcher) {
+        val origins = urls.mapNotNull { it.toHttpUrlOrNull() }
+            .distinctBy { it.host }
+            .take(MAX_HOSTS)
+            .map { it.newBuilder().encodedPath("/").query(null).build() }
+        coroutineScope {
+            origins.map { origin -> async { dns.prefetch(origin.host) && preconnect(origin) } }
+                .awaitAll()
+                .count { it }
+        }
+    }
+
+    private fun preconnect(origin: HttpUrl): Boolean {
+        val request = Request.Builder()
+            .url(origin)
+            .head()
+            .cacheControl(CacheControl.FORCE_NETWORK)
+            .tag(TimingEventListener.Untimed::class.java, TimingEventListener.Untimed)
+            .build()
+        return try {
+            // 只关心连接，状态码无所谓
+            client.newCall(request).execute().close()
+            true
+        } catch (e: IOException) {
+            Log.w(TAG, "预连接 ${origin.host} 失败", e)
+            false
+        }
+    }
+
+    companion object {
+        const val MAX_HOSTS = 3
+    }
+}
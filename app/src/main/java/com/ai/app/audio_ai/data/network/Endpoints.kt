@@ -0,0 +1,32 @@
+package com.ai.app.audio_ai.data.network
+
+import okhttp3.Request
+import retrofit2.Invocation
+import retrofit2.http.DELETE
+import retrofit2.http.GET
+import retrofit2.http.HEAD
+import retrofit2.http.POST
+import retrofit2.http.PUT
+
+/**
+ * 把请求归类到接口模板，路径参数不同的请求合并统计
+ */
+internal object Endpoints {
+
+    fun of(request: Request): String {
+        val method = request.tag(Invocation::class.java)?.method()
+        return method?.annotations?.let(::templateOf) ?: request.url.encodedPath.trimStart('/')
+    }
+
+    fun templateOf(annotations: Array<out Annotation>): String? =
+        annotations.firstNotNullOfOrNull { annotation ->
+            when (annotation) {
+                is GET -> annotation.value
+                is POST -> annotation.value
+                is PUT -> annotation.value
+                is DELETE -> annotation.value
+                is HEAD -> annotation.value
+                else -> null
+            }
+        }
+}
@@ -0,0 +1,139 @@
+package com.ai.app.audio_ai.data.network
+
+import com.ai.app.audio_ai.data.network.NetworkMetrics.Phase
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.Interceptor
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+/**
+ * 对冲请求：首个请求超过该接口 p95 耗时仍未返回时，再发一个相同请求，取先成功的结果并取消另一个
+ * 单个慢节点不会再拖住整个页面。请求实际由 [attemptClient] 执行，它带有重试且使用独立的调度器
+ */
+class HedgingInterceptor(
+    private val attemptClient: OkHttpClient,
+    private val config: ResilienceConfig,
+    private val metrics: NetworkMetrics
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        return HedgedExchange(chain.call(), request).await(hedgeDelayMillis(request))
+    }
+
+    /**
+     * @return null 表示不对冲
+     */
+    internal fun hedgeDelayMillis(request: Request): Long? {
+        if (!config.hedgeEnabled || !request.isIdempotent() || request.cacheControl.onlyIfCached) return null
+        val histogram = metrics.histogram(Endpoints.of(request), Phase.TOTAL) ?: return null
+        if (histogram.count() < config.hedgeMinSamples) return null
+        return histogram.percentile(config.hedgePercentile)
+            .coerceIn(config.hedgeMinDelayMillis, config.hedgeMaxDelayMillis)
+    }
+
+    private inner class HedgedExchange(
+        private val outerCall: Call,
+        private val request: Request
+    ) {
+        private val lock = Any()
+        private val results = LinkedBlockingQueue<Pair<Call, Result<Response>>>()
+        private val attempts = mutableListOf<Call>()
+        private var settled = false
+
+        fun await(hedgeDelayMillis: Long?): Response {
+            val hedgeAt = hedgeDelayMillis?.let { System.currentTimeMillis() + it }
+            var winner: Call? = null
+            try {
+                launch()
+                var pending = 1
+                var failedCall: Call? = null
+                var failedResponse: Response? = null
+                var error: IOException? = null
+                while (true) {
+                    if (outerCall.isCanceled()) throw IOException("Canceled")
+                    val waitMillis = if (hedgeAt != null && attempts.size == 1) {
+                        (hedgeAt - System.currentTimeMillis()).coerceIn(0, POLL_MILLIS)
+                    } else {
+                        POLL_MILLIS
+                    }
+                    val outcome = results.poll(waitMillis, TimeUnit.MILLISECONDS)
+                    if (outcome == null) {
+                        if (hedgeAt != null && attempts.size == 1 && System.currentTimeMillis() >= hedgeAt) {
+                            launch()
+                            pending++
+                        }
+                        continue
+                    }
+                    pending--
+                    val (call, result) = outcome
+                    val response = result.getOrNull()
+                    if (response != null && response.code < 500) {
+                        failedResponse?.close()
+                        winner = call
+                        return response
+                    }
+                    // 失败的结果先保留，另一个请求也失败时再交给调用方
+                    if (response != null) {
+                        failedResponse?.close()
+                        failedResponse = response
+                        failedCall = call
+                    } else {
+                        error = result.exceptionOrNull() as IOException
+                    }
+                    if (pending == 0) {
+                        failedResponse?.let {
+                            winner = failedCall
+                            return it
+                        }
+                        throw error!!
+                    }
+                }
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+                throw IOException("等待响应时被中断", e)
+            } finally {
+                settle(winner)
+            }
+        }
+
+        private fun launch() {
+            val call = attemptClient.newCall(request)
+            synchronized(lock) { attempts += call }
+            call.enqueue(object : Callback {
+                override fun onResponse(call: Call, response: Response) = deliver(call, Result.success(response))
+
+                override fun onFailure(call: Call, e: IOException) = deliver(call, Result.failure(e))
+            })
+        }
+
+        private fun deliver(call: Call, result: Result<Response>) {
+            synchronized(lock) {
+                if (!settled) {
+                    results.put(call to result)
+                    return
+                }
+            }
+            result.getOrNull()?.close()
+        }
+
+        // 取消落后的请求，关闭已经到达但没有用到的响应
+        private fun settle(winner: Call?) {
+            val pending = synchronized(lock) {
+                settled = true
+                attempts.toList()
+            }
+            pending.filter { it !== winner }.forEach { it.cancel() }
+            generateSequence { results.poll() }.forEach { (_, result) -> result.getOrNull()?.close() }
+        }
+    }
+
+    companion object {
+        private const val POLL_MILLIS = 100L
+    }
+}
@@ -0,0 +1,60 @@
+package com.ai.app.audio_ai.data.network
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * 固定分桶的耗时直方图，记录时无锁、无分配
+ * 百分位返回所在桶的上界，超出最大桶时返回记录到的最大值
+ * @param boundsMillis 各桶上界（毫秒），必须递增
+ */
+class LatencyHistogram(
+    private val boundsMillis: LongArray = DEFAULT_BOUNDS_MILLIS
+) {
+
+    private val counts = AtomicLongArray(boundsMillis.size + 1)
+    private val total = AtomicLong()
+    private val maxMillis = AtomicLong()
+
+    fun record(durationNanos: Long) {
+        val millis = TimeUnit.NANOSECONDS.toMillis(durationNanos.coerceAtLeast(0))
+        var index = 0
+        while (index < boundsMillis.size && millis > boundsMillis[index]) index++
+        counts.incrementAndGet(index)
+        total.incrementAndGet()
+        maxMillis.accumulateAndGet(millis, ::maxOf)
+    }
+
+    fun count(): Long = total.get()
+
+    /**
+     * @param percentile 取值 0~100
+     * @return 毫秒，没有数据时返回 0
+     */
+    fun percentile(percentile: Double): Long {
+        val count = total.get()
+        if (count == 0L) return 0
+        val rank = kotlin.math.ceil(count * percentile / 100).toLong().coerceIn(1, count)
+        var seen = 0L
+        for (index in 0 until counts.length()) {
+            seen += counts.get(index)
+            if (seen >= rank) {
+                return if (index < boundsMillis.size) minOf(boundsMillis[index], maxMillis.get()) else maxMillis.get()
+            }
+        }
+        return maxMillis.get()
+    }
+
+    fun reset() {
+        for (index in 0 until counts.length()) counts.set(index, 0)
+        total.set(0)
+        maxMillis.set(0)
+    }
+
+    companion object {
+        val DEFAULT_BOUNDS_MILLIS = longArrayOf(
+            1, 2, 5, 10, 20, 50, 100, 200, 300, 500, 750, 1_000, 1_500, 2_000, 3_000, 5_000, 10_000, 30_000
+        )
+    }
+}
@@ -0,0 +1,73 @@
+package com.ai.app.audio_ai.data.network
+
+import android.os.Process
+import okhttp3.Dispatcher
+import okhttp3.Interceptor
+import okhttp3.OkHttpClient
+import okhttp3.Response
+import java.util.concurrent.SynchronousQueue
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 网络请求优先级通道，按优先级从高到低排列
+ * 每个通道有独立的 OkHttp [Dispatcher] 和线程池，封面或后台请求再多也不会让播放和详情请求排队；
+ * 连接池仍然共享，同一主机的 HTTP/2 连接可以复用
+ * @param maxRequests 通道内同时进行的请求数
+ * @param maxRequestsPerHost 通道内对同一主机同时进行的请求数
+ * @param threadPriority 执行请求的线程优先级（android.os.Process）
+ */
+enum class NetworkLane(
+    val maxRequests: Int,
+    val maxRequestsPerHost: Int,
+    val threadPriority: Int
+) {
+    PLAYBACK(4, 4, Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_MORE_FAVORABLE),
+    UI(16, 8, Process.THREAD_PRIORITY_DEFAULT),
+    IMAGES(8, 4, Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_LESS_FAVORABLE),
+    BACKGROUND(2, 1, Process.THREAD_PRIORITY_BACKGROUND);
+
+    fun newDispatcher(): Dispatcher {
+        val executor = ThreadPoolExecutor(
+            0, Int.MAX_VALUE, 60, TimeUnit.SECONDS,
+            SynchronousQueue(),
+            LaneThreadFactory(this)
+        )
+        return Dispatcher(executor).apply {
+            maxRequests = this@NetworkLane.maxRequests
+            maxRequestsPerHost = this@NetworkLane.maxRequestsPerHost
+        }
+    }
+}
+
+/**
+ * 从现有客户端派生指定通道的客户端，每个通道只应派生一次
+ * 请求会带上 [NetworkLane] 标签，便于拦截器和统计区分
+ */
+fun OkHttpClient.forLane(lane: NetworkLane): OkHttpClient =
+    newBuilder()
+        .dispatcher(lane.newDispatcher())
+        .addInterceptor(LaneTagInterceptor(lane))
+        .build()
+
+private class LaneTagInterceptor(private val lane: NetworkLane) : Interceptor {
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        if (request.tag(NetworkLane::class.java) != null) return chain.proceed(request)
+        return chain.proceed(request.newBuilder().tag(NetworkLane::class.java, lane).build())
+    }
+}
+
+private class LaneThreadFactory(private val lane: NetworkLane) : ThreadFactory {
+    private val count = AtomicInteger()
+
+    override fun newThread(runnable: Runnable): Thread =
+        Thread({
+            Process.setThreadPriority(lane.threadPriority)
+            runnable.run()
+        }, "OkHttp ${lane.name.lowercase()} #${count.incrementAndGet()}").apply {
+            isDaemon = false
+        }
+}
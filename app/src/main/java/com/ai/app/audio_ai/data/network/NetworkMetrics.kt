@@ -0,0 +1,76 @@
+package com.ai.app.audio_ai.data.network
+
+import java.util.EnumMap
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 网络请求各阶段的耗时统计，按接口模板（如 audio/{id}）分组
+ */
+@Singleton
+class NetworkMetrics @Inject constructor() {
+
+    /**
+     * 请求阶段
+     * CONNECT 只包含 TCP 建连，TLS 握手单独统计；TTFB 从发出请求头到收到响应头
+     */
+    enum class Phase { DNS, CONNECT, TLS, TTFB, BODY_READ, DECODE, TOTAL }
+
+    /**
+     * @param p50 p90 p99 毫秒
+     */
+    data class PhaseStats(
+        val count: Long,
+        val p50: Long,
+        val p90: Long,
+        val p99: Long
+    )
+
+    private val histograms = ConcurrentHashMap<String, EnumMap<Phase, LatencyHistogram>>()
+
+    fun record(endpoint: String, phase: Phase, durationNanos: Long) {
+        histograms.getOrPut(endpoint) {
+            EnumMap<Phase, LatencyHistogram>(Phase::class.java).apply {
+                Phase.values().forEach { put(it, LatencyHistogram()) }
+            }
+        }.getValue(phase).record(durationNanos)
+    }
+
+    fun histogram(endpoint: String, phase: Phase): LatencyHistogram? = histograms[endpoint]?.get(phase)
+
+    /**
+     * 所有接口各阶段的统计，没有样本的阶段不出现
+     */
+    fun snapshot(): Map<String, Map<Phase, PhaseStats>> =
+        histograms.toSortedMap().mapValues { (_, phases) ->
+            phases.filterValues { it.count() > 0 }.mapValues { (_, histogram) ->
+                PhaseStats(
+                    count = histogram.count(),
+                    p50 = histogram.percentile(50.0),
+                    p90 = histogram.percentile(90.0),
+                    p99 = histogram.percentile(99.0)
+                )
+            }
+        }
+
+    /**
+     * 调试页面展示用的文本表格
+     */
+    fun dump(): String = buildString {
+        snapshot().forEach { (endpoint, phases) ->
+            appendLine(endpoint)
+            phases.forEach { (phase, stats) ->
+                appendLine(
+                    "  %-9s n=%-5d p50=%-6d p90=%-6d p99=%d".format(
+                        phase.name, stats.count, stats.p50, stats.p90, stats.p99
+                    )
+                )
+            }
+        }
+    }
+
+    fun reset() {
+        histograms.values.forEach { phases -> phases.values.forEach { it.reset() } }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ai.app.audio_ai.data.network
+
+/**
+ * 接口请求的重试、对冲和熔断参数，只作用于 GET/HEAD 这类幂等请求
+ * @param maxRetries 失败后最多重试次数，0 表示不重试
+ * @param retryBaseDelayMillis 指数退避的基数，第 n 次重试在 [0, base * 2^n] 内随机等待
+ * @param retryMaxDelayMillis 单次退避的上限
+ * @param hedgeEnabled 是否启用对冲请求
+ * @param hedgePercentile 首个请求超过该接口此百分位耗时仍未返回时，发出第二个请求
+ * @param hedgeMinSamples 接口样本数不足时不对冲
+ * @param hedgeMinDelayMillis 对冲等待时间下限
+ * @param hedgeMaxDelayMillis 对冲等待时间上限
+ * @param breakerWindowSize 熔断器统计最近多少次请求
+ * @param breakerMinimumCalls 窗口内请求数达到该值才计算失败率
+ * @param breakerFailureRateThreshold 失败率达到该值时熔断，取值 0~1
+ * @param breakerOpenMillis 熔断持续时间，之后放行一个探测请求
+ */
+data class ResilienceConfig(
+    val maxRetries: Int = 2,
+    val retryBaseDelayMillis: Long = 200,
+    val retryMaxDelayMillis: Long = 2_000,
+    val hedgeEnabled: Boolean = true,
+    val hedgePercentile: Double = 95.0,
+    val hedgeMinSamples: Long = 20,
+    val hedgeMinDelayMillis: Long = 50,
+    val hedgeMaxDelayMillis: Long = 3_000,
+    val breakerWindowSize: Int = 20,
+    val breakerMinimumCalls: Int = 10,
+    val breakerFailureRateThreshold: Double = 0.5,
+    val breakerOpenMillis: Long = 30_000
+)
@@ -0,0 +1,37 @@
+package com.ai.app.audio_ai.data.network
+
+import okhttp3.Dispatcher
+import okhttp3.EventListener
+import okhttp3.OkHttpClient
+
+/**
+ * 在现有客户端上叠加熔断、对冲和重试
+ * 外层客户端只负责熔断与对冲，真正的网络请求由派生出的内层客户端执行：
+ * 内层带重试，运行在 [lane] 通道的调度器上，外层使用另一个调度器，避免外层请求占满并发数后内层请求排不上队；
+ * 外层调度器按通道的并发上限设置，不再受默认每主机 5 个的限制；
+ * 耗时统计只记录在内层，外层不重复记录
+ * @param lane 实际请求所在的优先级通道
+ * @param clock 熔断器计时使用的时钟
+ * @param configureAttempts 对每次实际请求生效的额外配置，例如日志拦截器
+ */
+fun OkHttpClient.withResilience(
+    config: ResilienceConfig,
+    metrics: NetworkMetrics,
+    lane: NetworkLane = NetworkLane.UI,
+    clock: () -> Long = System::currentTimeMillis,
+    configureAttempts: OkHttpClient.Builder.() -> Unit = {}
+): OkHttpClient {
+    val attemptClient = forLane(lane).newBuilder()
+        .addInterceptor(RetryInterceptor(config))
+        .apply(configureAttempts)
+        .build()
+    return newBuilder()
+        .dispatcher(Dispatcher().apply {
+            maxRequests = lane.maxRequests
+            maxRequestsPerHost = lane.maxRequestsPerHost
+        })
+        .eventListener(EventListener.NONE)
+        .addInterceptor(CircuitBreakerInterceptor(config, clock))
+        .addInterceptor(HedgingInterceptor(attemptClient, config, metrics))
+        .build()
+}
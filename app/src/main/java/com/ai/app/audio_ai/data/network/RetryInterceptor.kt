@@ -0,0 +1,64 @@
+package com.ai.app.audio_ai.data.network
+
+import okhttp3.Interceptor
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+import java.io.InterruptedIOException
+import kotlin.random.Random
+
+/**
+ * 幂等请求在网络错误或 408/429/5xx 时按指数退避加随机抖动重试
+ * 抖动让大量客户端不会在同一时刻一起重试；只读缓存的请求（例如熔断时的回退）不发网络请求，不重试
+ */
+class RetryInterceptor(
+    private val config: ResilienceConfig,
+    private val random: Random = Random.Default
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        if (!request.isIdempotent() || request.cacheControl.onlyIfCached || config.maxRetries <= 0) {
+            return chain.proceed(request)
+        }
+
+        var attempt = 0
+        while (true) {
+            val response = try {
+                chain.proceed(request)
+            } catch (e: IOException) {
+                if (attempt >= config.maxRetries || chain.call().isCanceled()) throw e
+                null
+            }
+            if (response != null) {
+                if (response.code !in RETRYABLE_CODES || attempt >= config.maxRetries) return response
+                response.close()
+            }
+            sleep(backoffMillis(attempt))
+            if (chain.call().isCanceled()) throw IOException("Canceled")
+            attempt++
+        }
+    }
+
+    internal fun backoffMillis(attempt: Int): Long {
+        val cap = (config.retryBaseDelayMillis shl attempt.coerceAtMost(MAX_SHIFT))
+            .coerceAtMost(config.retryMaxDelayMillis)
+        return random.nextLong(cap + 1)
+    }
+
+    private fun sleep(millis: Long) {
+        try {
+            Thread.sleep(millis)
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            throw InterruptedIOException("重试等待被中断")
+        }
+    }
+
+    companion object {
+        private const val MAX_SHIFT = 20
+        private val RETRYABLE_CODES = setOf(408, 429, 500, 502, 503, 504)
+    }
+}
+
+internal fun Request.isIdempotent(): Boolean = method == "GET" || method == "HEAD"
@@ -0,0 +1,35 @@
+package com.ai.app.audio_ai.data.network
+
+import com.ai.app.audio_ai.data.network.NetworkMetrics.Phase
+import kotlinx.coroutines.flow.Flow
+import okhttp3.ResponseBody
+import retrofit2.Converter
+import retrofit2.Retrofit
+import java.lang.reflect.Type
+
+/**
+ * 统计响应体解析耗时，需要注册在其他 Converter.Factory 之前
+ * 流式解析边读边解，这里的耗时包含读取响应体；返回 Flow 的接口在收集时才解析，不统计
+ */
+class TimingConverterFactory(
+    private val metrics: NetworkMetrics
+) : Converter.Factory() {
+
+    override fun responseBodyConverter(
+        type: Type,
+        annotations: Array<out Annotation>,
+        retrofit: Retrofit
+    ): Converter<ResponseBody, *>? {
+        if (getRawType(type) == Flow::class.java) return null
+        val endpoint = Endpoints.templateOf(annotations) ?: return null
+        val delegate = retrofit.nextResponseBodyConverter<Any?>(this, type, annotations)
+        return Converter<ResponseBody, Any?> { body ->
+            val start = System.nanoTime()
+            try {
+                delegate.convert(body)
+            } finally {
+                metrics.record(endpoint, Phase.DECODE, System.nanoTime() - start)
+            }
+        }
+    }
+}
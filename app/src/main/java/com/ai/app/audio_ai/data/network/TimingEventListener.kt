@@ -0,0 +1,101 @@
+package com.ai.app.audio_ai.data.network
+
+import com.ai.app.audio_ai.data.network.NetworkMetrics.Phase
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.Handshake
+import okhttp3.Protocol
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Proxy
+
+/**
+ * 记录单次请求 DNS、建连、TLS、首字节和读取响应体的耗时
+ * 每个请求一个实例，事件按顺序在同一个调用内触发，不需要同步
+ */
+class TimingEventListener(
+    private val metrics: NetworkMetrics,
+    private val endpoint: String
+) : EventListener() {
+
+    private var callStart = 0L
+    private var dnsStart = 0L
+    private var connectStart = 0L
+    private var secureConnectStart = 0L
+    private var requestStart = 0L
+    private var responseBodyStart = 0L
+
+    override fun callStart(call: Call) {
+        callStart = System.nanoTime()
+    }
+
+    override fun dnsStart(call: Call, domainName: String) {
+        dnsStart = System.nanoTime()
+    }
+
+    override fun dnsEnd(call: Call, domainName: String, inetAddressList: List<InetAddress>) {
+        record(Phase.DNS, dnsStart)
+    }
+
+    override fun connectStart(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy) {
+        connectStart = System.nanoTime()
+        secureConnectStart = 0L
+    }
+
+    override fun secureConnectStart(call: Call) {
+        secureConnectStart = System.nanoTime()
+        record(Phase.CONNECT, connectStart)
+    }
+
+    override fun secureConnectEnd(call: Call, handshake: Handshake?) {
+        record(Phase.TLS, secureConnectStart)
+    }
+
+    override fun connectEnd(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy, protocol: Protocol?) {
+        // 明文连接没有 TLS 阶段，TCP 建连在这里结束
+        if (secureConnectStart == 0L) record(Phase.CONNECT, connectStart)
+    }
+
+    override fun requestHeadersStart(call: Call) {
+        if (requestStart == 0L) requestStart = System.nanoTime()
+    }
+
+    override fun responseHeadersStart(call: Call) {
+        record(Phase.TTFB, requestStart)
+        requestStart = 0L
+    }
+
+    override fun responseBodyStart(call: Call) {
+        responseBodyStart = System.nanoTime()
+    }
+
+    override fun responseBodyEnd(call: Call, byteCount: Long) {
+        record(Phase.BODY_READ, responseBodyStart)
+    }
+
+    override fun callEnd(call: Call) {
+        record(Phase.TOTAL, callStart)
+    }
+
+    override fun callFailed(call: Call, ioe: IOException) {
+        record(Phase.TOTAL, callStart)
+    }
+
+    private fun record(phase: Phase, start: Long) {
+        if (start != 0L) metrics.record(endpoint, phase, System.nanoTime() - start)
+    }
+
+    class Factory(private val metrics: NetworkMetrics) : EventListener.Factory {
+        override fun create(call: Call): EventListener {
+            val request = call.request()
+            if (request.tag(Untimed::class.java) != null) return NONE
+            return TimingEventListener(metrics, Endpoints.of(request))
+        }
+    }
+
+    /**
+     * 带此标签的请求不计入耗时统计，例如启动预热的预连接请求
+     */
+    object Untimed
+}
@@ -0,0 +1,87 @@
+package com.ai.app.audio_ai.data.paging
+
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.LoadType
+import androidx.paging.PagingState
+import androidx.paging.RemoteMediator
+import androidx.room.withTransaction
+import com.ai.app.audio_ai.data.AppDatabase
+import com.ai.app.audio_ai.data.api.ApiService
+import com.ai.app.audio_ai.data.local.AudioContentEntity
+import com.ai.app.audio_ai.data.local.RemoteKeyEntity
+import com.ai.app.audio_ai.data.local.toEntity
+import kotlinx.coroutines.CancellationException
+
+/**
+ * 将服务端分页写入 Room，界面只从 Room 读取
+ */
+@OptIn(ExperimentalPagingApi::class)
+class AudioRemoteMediator(
+    private val feed: PagedFeed,
+    private val apiService: ApiService,
+    private val database: AppDatabase,
+    private val cacheTtlMillis: Long
+) : RemoteMediator<Int, AudioContentEntity>() {
+
+    private val audioContentDao = database.audioContentDao()
+    private val remoteKeyDao = database.remoteKeyDao()
+
+    override suspend fun initialize(): InitializeAction {
+        val remoteKey = remoteKeyDao.get(feed.key) ?: return InitializeAction.LAUNCH_INITIAL_REFRESH
+        return if (System.currentTimeMillis() - remoteKey.lastUpdated < cacheTtlMillis) {
+            InitializeAction.SKIP_INITIAL_REFRESH
+        } else {
+            InitializeAction.LAUNCH_INITIAL_REFRESH
+        }
+    }
+
+    override suspend fun load(
+        loadType: LoadType,
+        state: PagingState<Int, AudioContentEntity>
+    ): MediatorResult {
+        val offset = when (loadType) {
+            LoadType.REFRESH -> 0
+            LoadType.PREPEND -> return MediatorResult.Success(endOfPaginationReached = true)
+            LoadType.APPEND -> {
+                val remoteKey = remoteKeyDao.get(feed.key)
+                when {
+                    // 列表由首页整体刷新写入，尚未分页过，从已有条数之后继续
+                    remoteKey == null -> audioContentDao.countFeed(feed.key)
+                    remoteKey.nextOffset == null -> return MediatorResult.Success(endOfPaginationReached = true)
+                    else -> remoteKey.nextOffset
+                }
+            }
+        }
+        val limit = if (loadType == LoadType.REFRESH) state.config.initialLoadSize else state.config.pageSize
+
+        return try {
+            val items = feed.load(apiService, limit, offset)
+            val endOfPaginationReached = items.size < limit
+
+            database.withTransaction {
+                if (loadType == LoadType.REFRESH) {
+                    audioContentDao.clearFeed(feed.key)
+                }
+                audioContentDao.appendFeed(feed.key, offset, items.map { it.toEntity() })
+                val previous = remoteKeyDao.get(feed.key)
+                remoteKeyDao.upsert(
+                    RemoteKeyEntity(
+                        feed = feed.key,
+                        nextOffset = if (endOfPaginationReached) null else offset + items.size,
+                        lastUpdated = if (loadType == LoadType.REFRESH || previous == null) {
+                            System.currentTimeMillis()
+                        } else {
+                            previous.lastUpdated
+                        }
+                    )
+                )
+            }
+            MediatorResult.Success(endOfPaginationReached = endOfPaginationReached)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            // 解析失败、数据库异常等同样交给分页库展示错误，而不是让收集协程崩溃
+            MediatorResult.Error(e)
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ai.app.audio_ai.data.paging
+
+import com.ai.app.audio_ai.data.api.ApiService
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.repository.FeedCollection
+
+/**
+ * 支持分页的音频列表
+ * @param key 本地缓存中的列表标识
+ */
+sealed class PagedFeed(val key: String) {
+
+    object Hot : PagedFeed(FeedCollection.HOT.key)
+
+    object New : PagedFeed(FeedCollection.NEW.key)
+
+    data class Search(val keyword: String) : PagedFeed("search:$keyword")
+
+    data class Category(val name: String) : PagedFeed("category:$name")
+
+    /**
+     * 从服务端拉取一页
+     * @param limit 本页条数
+     * @param offset 偏移量
+     */
+    suspend fun load(apiService: ApiService, limit: Int, offset: Int): List<AudioContent> {
+        val response = when (this) {
+            Hot -> apiService.getHotRecommendations(limit, offset)
+            New -> apiService.getNewReleases(limit, offset)
+            is Search -> apiService.searchAudioContent(keyword, limit, offset)
+            is Category -> apiService.getCategoryAudioContents(name, limit, offset)
+        }
+        return response.data
+    }
+}
@@ -0,0 +1,17 @@
+package com.ai.app.audio_ai.data.paging
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * 分页参数
+ * @param pageSize 每页条数
+ * @param prefetchDistance 距离已加载末尾还剩多少条时开始预取下一页
+ * @param maxSize 内存中最多保留的条数，超出后丢弃离可见区域最远的页
+ * @param cacheTtlMillis 本地分页缓存的有效期，过期后重新打开列表会从第一页刷新
+ */
+data class PagingSettings(
+    val pageSize: Int = 20,
+    val prefetchDistance: Int = 10,
+    val maxSize: Int = 200,
+    val cacheTtlMillis: Long = TimeUnit.MINUTES.toMillis(10)
+)
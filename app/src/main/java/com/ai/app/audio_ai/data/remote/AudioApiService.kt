@@ -2,23 +2,46 @@ package com.ai.app.audio_ai.data.remote
 
 import com.ai.app.audio_ai.data.model.AudioContent
 import com.ai.app.audio_ai.data.model.Banner
+import com.ai.app.audio_ai.data.model.HomeFeed
+import retrofit2.Response
 import retrofit2.http.GET
+import retrofit2.http.Header
 import retrofit2.http.Path
 import retrofit2.http.Query
 
+/**
+ * 首页列表接口支持条件请求，内容未变化时服务端返回 304 且不带响应体
+ */
 interface AudioApiService {
     @GET("banners")
-    suspend fun getBanners(): List<Banner>
+    suspend fun getBanners(
+        @Header(IF_NONE_MATCH) etag: String? = null,
+        @Header(IF_MODIFIED_SINCE) lastModified: String? = null
+    ): Response<List<Banner>>
+
+    @GET("home")
+    suspend fun getHomeFeed(): HomeFeed
 
     @GET("recommendations/hot")
-    suspend fun getHotRecommendations(): List<AudioContent>
+    suspend fun getHotRecommendations(
+        @Header(IF_NONE_MATCH) etag: String? = null,
+        @Header(IF_MODIFIED_SINCE) lastModified: String? = null
+    ): Response<List<AudioContent>>
 
     @GET("recommendations/new")
-    suspend fun getNewReleases(): List<AudioContent>
+    suspend fun getNewReleases(
+        @Header(IF_NONE_MATCH) etag: String? = null,
+        @Header(IF_MODIFIED_SINCE) lastModified: String? = null
+    ): Response<List<AudioContent>>
 
     @GET("audio/{id}")
     suspend fun getAudioContentById(@Path("id") id: String): AudioContent?
 
     @GET("search")
     suspend fun searchAudioContent(@Query("q") query: String): List<AudioContent>
+
+    companion object {
+        const val IF_NONE_MATCH = "If-None-Match"
+        const val IF_MODIFIED_SINCE = "If-Modified-Since"
+    }
 }
@@ -0,0 +1,48 @@
+package com.ai.app.audio_ai.data.repository
+
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.map
+import com.ai.app.audio_ai.data.AppDatabase
+import com.ai.app.audio_ai.data.cache.AudioDetailCache
+import com.ai.app.audio_ai.data.api.ApiService
+import com.ai.app.audio_ai.data.local.toModel
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.paging.AudioRemoteMediator
+import com.ai.app.audio_ai.data.paging.PagedFeed
+import com.ai.app.audio_ai.data.paging.PagingSettings
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.map
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 分页列表仓库
+ * 网络分页由 [AudioRemoteMediator] 写入 Room，界面按需从 Room 分页读取
+ */
+@Singleton
+class AudioPagingRepository @Inject constructor(
+    private val apiService: ApiService,
+    private val database: AppDatabase,
+    private val settings: PagingSettings,
+    private val detailCache: AudioDetailCache
+) {
+
+    @OptIn(ExperimentalPagingApi::class)
+    fun pagedFeed(feed: PagedFeed): Flow<PagingData<AudioContent>> {
+        return Pager(
+            config = PagingConfig(
+                pageSize = settings.pageSize,
+                prefetchDistance = settings.prefetchDistance,
+                maxSize = settings.maxSize,
+                enablePlaceholders = false
+            ),
+            remoteMediator = AudioRemoteMediator(feed, apiService, database, settings.cacheTtlMillis),
+            pagingSourceFactory = { database.audioContentDao().pagingSource(feed.key) }
+        ).flow.map { pagingData ->
+            pagingData.map { entity -> entity.toModel().also { detailCache.seed(listOf(it)) } }
+        }
+    }
+}
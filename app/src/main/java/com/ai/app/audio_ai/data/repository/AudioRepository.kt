@@ -2,10 +2,41 @@ package com.ai.app.audio_ai.data.repository
 
 import com.ai.app.audio_ai.data.model.AudioContent
 import com.ai.app.audio_ai.data.model.Banner
+import kotlinx.coroutines.flow.Flow
 
+/**
+ * 音频数据仓库
+ * 所有方法都是挂起函数或 Flow，实现内部切换到注入的调度器，可以直接在主线程调用
+ */
 interface AudioRepository {
-    fun getAudioContent(audioId: Int): Result<AudioContent>
-    fun getBanners(): List<Banner>
-    fun getHotRecommendations(): List<AudioContent>
-    fun getNewReleases(): List<AudioContent>
+    /**
+     * 按 ID 获取详情，内存缓存命中时直接返回，并发的相同请求共用一次网络调用
+     */
+    suspend fun getAudioContent(audioId: String): Result<AudioContent>
+
+    /**
+     * 以下订阅方法只读本地缓存，每次 [refresh] 写库后会再次发出
+     */
+    fun observeBanners(): Flow<List<Banner>>
+    fun observeHotRecommendations(): Flow<List<AudioContent>>
+    fun observeNewReleases(): Flow<List<AudioContent>>
+
+    /**
+     * 从网络刷新指定集合
+     * @param force 为 true 时忽略有效期
+     */
+    suspend fun refresh(collection: FeedCollection, force: Boolean = false): Result<Unit>
+
+    /**
+     * 通过首页聚合接口一次刷新全部集合
+     * 服务端没有聚合接口时返回 [HomeBatchUnsupportedException]，该结论会持久化，一段时间内不再请求
+     */
+    suspend fun refreshHome(): Result<Unit>
+
+    suspend fun isStale(collection: FeedCollection): Boolean
 }
+
+/**
+ * 服务端不支持首页聚合接口，调用方应改为逐个集合刷新
+ */
+class HomeBatchUnsupportedException(cause: Throwable? = null) : Exception("首页聚合接口不可用", cause)
@@ -1,107 +1,122 @@
 package com.ai.app.audio_ai.data.repository
 
+import android.util.Log
+import com.ai.app.audio_ai.data.cache.AudioDetailCache
+import com.ai.app.audio_ai.data.local.AudioContentDao
+import com.ai.app.audio_ai.data.local.BannerDao
+import com.ai.app.audio_ai.data.local.CacheMetadataDao
+import com.ai.app.audio_ai.data.local.CacheMetadataEntity
+import com.ai.app.audio_ai.data.local.toEntity
+import com.ai.app.audio_ai.data.local.toModel
 import com.ai.app.audio_ai.data.model.AudioContent
 import com.ai.app.audio_ai.data.model.Banner
+import com.ai.app.audio_ai.data.remote.AudioApiService
+import com.ai.app.audio_ai.data.sync.CatalogSyncer
+import com.ai.app.audio_ai.di.DefaultDispatcher
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.withContext
+import retrofit2.HttpException
+import java.util.concurrent.TimeUnit
 
 import javax.inject.Inject
 
-class AudioRepositoryImpl @Inject constructor() : AudioRepository {
-    override fun getAudioContent(audioId: Int): Result<AudioContent> {
-        return try {
-            // TODO: 实现实际的数据获取逻辑
-            Result.success(
-                AudioContent(
-                    id = audioId.toString(),
-                    title = "示例音频",
-                    author = "示例作者",
-                    coverUrl = "https://example.com/cover.jpg",
-                    audioUrl = "https://example.com/audio.mp3",
-                    duration = 180,
-                    category = "示例类别"
-                )
-            )
+private const val TAG = "AudioRepository"
+
+// cache_metadata 中记录“服务端没有首页聚合接口”的行，lastUpdated 为发现时间
+private const val HOME_BATCH_UNSUPPORTED_KEY = "home_batch_unsupported"
+private val HOME_BATCH_RECHECK_MILLIS = TimeUnit.DAYS.toMillis(1)
+private val HOME_BATCH_UNSUPPORTED_CODES = setOf(404, 501)
+
+class AudioRepositoryImpl @Inject constructor(
+    private val audioApiService: AudioApiService,
+    private val audioContentDao: AudioContentDao,
+    private val bannerDao: BannerDao,
+    private val cacheMetadataDao: CacheMetadataDao,
+    private val catalogSyncer: CatalogSyncer,
+    private val detailCache: AudioDetailCache,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    @DefaultDispatcher private val defaultDispatcher: CoroutineDispatcher
+) : AudioRepository {
+
+    override fun observeBanners(): Flow<List<Banner>> =
+        bannerDao.observeAll()
+            .map { banners -> banners.map { it.toModel() } }
+            .flowOn(defaultDispatcher)
+
+    override fun observeHotRecommendations(): Flow<List<AudioContent>> = observeFeed(FeedCollection.HOT)
+
+    override fun observeNewReleases(): Flow<List<AudioContent>> = observeFeed(FeedCollection.NEW)
+
+    override suspend fun refresh(collection: FeedCollection, force: Boolean): Result<Unit> = withContext(ioDispatcher) {
+        if (!force && !isStale(collection)) {
+            return@withContext Result.success(Unit)
+        }
+        try {
+            catalogSyncer.sync(collection)
+            Result.success(Unit)
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
+            Log.w(TAG, "刷新${collection.key}失败", e)
             Result.failure(e)
         }
     }
 
-    override fun getBanners(): List<Banner> {
-        // TODO: 实现实际的banner数据获取逻辑
-        return listOf(
-            Banner(
-                id = "1",
-                imageUrl = "https://example.com/banner1.jpg",
-                title = "热门推荐",
-                description = "精选热门音频内容推荐",
-                targetUrl = "https://example.com/hot"
-            ),
-            Banner(
-                id = "2",
-                imageUrl = "https://example.com/banner2.jpg",
-                title = "新品上架",
-                description = "最新上架的优质音频内容",
-                targetUrl = "https://example.com/new"
-            )
-        )
+    override suspend fun refreshHome(): Result<Unit> = withContext(ioDispatcher) {
+        // 上次确认服务端没有聚合接口，有效期内直接让调用方逐个刷新，冷启动不再多一次串行请求
+        val unsupportedAt = cacheMetadataDao.get(HOME_BATCH_UNSUPPORTED_KEY)?.lastUpdated
+        if (unsupportedAt != null && System.currentTimeMillis() - unsupportedAt < HOME_BATCH_RECHECK_MILLIS) {
+            return@withContext Result.failure(HomeBatchUnsupportedException())
+        }
+        try {
+            catalogSyncer.applyHomeFeed(audioApiService.getHomeFeed())
+            Result.success(Unit)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Log.w(TAG, "批量刷新首页失败", e)
+            if (e is HttpException && e.code() in HOME_BATCH_UNSUPPORTED_CODES) {
+                cacheMetadataDao.upsert(CacheMetadataEntity(HOME_BATCH_UNSUPPORTED_KEY, System.currentTimeMillis()))
+                Result.failure(HomeBatchUnsupportedException(e))
+            } else {
+                Result.failure(e)
+            }
+        }
     }
 
-    override fun getHotRecommendations(): List<AudioContent> {
-        // TODO: 实现实际的热门推荐数据获取逻辑
-        return listOf(
-            AudioContent(
-                id = "hot1",
-                title = "热门音频1",
-                author = "作者A",
-                coverUrl = "https://example.com/hot1.jpg",
-                audioUrl = "https://example.com/hot1.mp3",
-                duration = 240,
-                category = "音乐",
-                description = "这是一首非常受欢迎的音乐作品",
-                playCount = 10000,
-                likeCount = 5000
-            ),
-            AudioContent(
-                id = "hot2",
-                title = "热门音频2",
-                author = "作者B",
-                coverUrl = "https://example.com/hot2.jpg",
-                audioUrl = "https://example.com/hot2.mp3",
-                duration = 180,
-                category = "有声书",
-                description = "一本畅销有声书的精彩片段",
-                playCount = 8000,
-                likeCount = 3500
-            )
-        )
+    override suspend fun isStale(collection: FeedCollection): Boolean = withContext(ioDispatcher) {
+        val lastUpdated = cacheMetadataDao.get(collection.key)?.lastUpdated ?: return@withContext true
+        System.currentTimeMillis() - lastUpdated > collection.ttlMillis
     }
 
-    override fun getNewReleases(): List<AudioContent> {
-        // TODO: 实现实际的新品上架数据获取逻辑
-        return listOf(
-            AudioContent(
-                id = "new1",
-                title = "新上架音频1",
-                author = "作者C",
-                coverUrl = "https://example.com/new1.jpg",
-                audioUrl = "https://example.com/new1.mp3",
-                duration = 300,
-                category = "播客",
-                description = "最新上架的热门播客节目",
-                playCount = 2000,
-                likeCount = 800
-            ),
-            AudioContent(
-                id = "new2",
-                title = "新上架音频2",
-                author = "作者D",
-                coverUrl = "https://example.com/new2.jpg",
-                audioUrl = "https://example.com/new2.mp3",
-                duration = 200,
-                category = "音乐",
-                description = "刚发布的新歌曲",
-                playCount = 1500,
-                likeCount = 600
-            )
-        )
+    // 列表中展示的条目同时写入详情缓存，点击后详情页可以直接渲染
+    private fun observeFeed(collection: FeedCollection): Flow<List<AudioContent>> =
+        audioContentDao.observeFeed(collection.key)
+            .map { items -> items.map { it.toModel() } }
+            .onEach { detailCache.seed(it) }
+            .flowOn(defaultDispatcher)
+
+    override suspend fun getAudioContent(audioId: String): Result<AudioContent> {
+        // 内存命中时不切换线程，调用方可以在同一帧内拿到结果
+        return detailCache.getOrLoad(audioId) {
+            withContext(ioDispatcher) {
+                try {
+                    audioApiService.getAudioContentById(audioId)
+                        ?.also { audioContentDao.upsertAll(listOf(it.toEntity())) }
+                        ?: throw NoSuchElementException("音频不存在: $audioId")
+                } catch (e: CancellationException) {
+                    throw e
+                } catch (e: Exception) {
+                    // 网络失败时退回本地缓存中的列表数据
+                    audioContentDao.getById(audioId)?.toModel() ?: throw e
+                }
+            }
+        }
     }
 }
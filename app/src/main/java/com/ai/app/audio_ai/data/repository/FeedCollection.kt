@@ -0,0 +1,14 @@
+package com.ai.app.audio_ai.data.repository
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * 首页缓存集合及其有效期
+ * @param key 本地缓存中的集合标识
+ * @param ttlMillis 超过该时长后，下次订阅会在后台重新拉取
+ */
+enum class FeedCollection(val key: String, val ttlMillis: Long) {
+    BANNERS("banners", TimeUnit.MINUTES.toMillis(30)),
+    HOT("hot", TimeUnit.MINUTES.toMillis(10)),
+    NEW("new", TimeUnit.MINUTES.toMillis(10))
+}
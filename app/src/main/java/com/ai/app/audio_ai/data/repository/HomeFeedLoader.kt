@@ -0,0 +1,56 @@
+package com.ai.app.audio_ai.data.repository
+
+import kotlinx.coroutines.async
+import kotlinx.coroutines.supervisorScope
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 首页数据加载器
+ * 全部模块都过期时先尝试聚合接口；聚合接口失败（任何原因）时改为各模块并发刷新，
+ * 总耗时取决于最慢的请求，单个模块失败不影响其他模块
+ */
+@Singleton
+class HomeFeedLoader @Inject constructor(
+    private val repository: AudioRepository
+) {
+
+    // 服务端没有聚合接口时，本进程内不再尝试；跨启动的记录由仓库保存
+    @Volatile
+    private var batchEndpointAvailable = true
+
+    /**
+     * 刷新首页各模块
+     * @param force 为 true 时忽略缓存有效期
+     * @param onSectionLoaded 每个模块刷新结束时立即回调
+     */
+    suspend fun load(
+        force: Boolean,
+        onSectionLoaded: suspend (FeedCollection, Result<Unit>) -> Unit
+    ) = supervisorScope {
+        val all = FeedCollection.values().toList()
+        val collections = all.filter { force || repository.isStale(it) }
+        (all - collections.toSet()).forEach { onSectionLoaded(it, Result.success(Unit)) }
+        if (collections.isEmpty()) return@supervisorScope
+
+        if (batchEndpointAvailable && collections.size == all.size) {
+            val result = repository.refreshHome()
+            if (result.isSuccess) {
+                collections.forEach { onSectionLoaded(it, result) }
+                return@supervisorScope
+            }
+            if (result.exceptionOrNull() is HomeBatchUnsupportedException) batchEndpointAvailable = false
+        }
+
+        collections.forEach { collection ->
+            async { onSectionLoaded(collection, repository.refresh(collection, force = true)) }
+        }
+    }
+
+    /**
+     * 单独重试某个模块
+     */
+    suspend fun retry(collection: FeedCollection): Result<Unit> {
+        return repository.refresh(collection, force = true)
+    }
+}
@@ -0,0 +1,93 @@
+package com.ai.app.audio_ai.data.search
+
+import android.util.Log
+import com.ai.app.audio_ai.data.api.ApiService
+import com.ai.app.audio_ai.data.local.AudioContentDao
+import com.ai.app.audio_ai.data.local.AudioSearchDao
+import com.ai.app.audio_ai.data.local.toEntity
+import com.ai.app.audio_ai.data.local.toModel
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import javax.inject.Inject
+import javax.inject.Singleton
+
+private const val TAG = "AudioSearchRepository"
+
+/**
+ * 搜索仓库
+ * 先从本地全文索引返回结果，服务端结果到达后写入本地并合并再发出一次；
+ * 服务端结果经过 [SearchResultCache] 缓存，重复或更精确的搜索词不再请求服务端
+ */
+@Singleton
+class AudioSearchRepository @Inject constructor(
+    private val apiService: ApiService,
+    private val audioContentDao: AudioContentDao,
+    private val audioSearchDao: AudioSearchDao,
+    private val resultCache: SearchResultCache,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher
+) {
+
+    /**
+     * @return 依次发出本地结果、合并了服务端结果的完整列表；服务端失败时只发出本地结果
+     */
+    fun search(query: String, limit: Int = DEFAULT_LIMIT): Flow<List<AudioContent>> = flow {
+        val local = searchLocal(query, limit)
+        emit(local)
+
+        val cached = resultCache.get(query)
+        val remote = cached ?: try {
+            apiService.searchAudioContent(query, REMOTE_LIMIT).data.also {
+                resultCache.put(query, it, complete = it.size < REMOTE_LIMIT)
+            }
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Log.w(TAG, "远程搜索失败: $query", e)
+            return@flow
+        }
+        if (remote.isEmpty()) return@flow
+        if (cached == null) {
+            audioContentDao.upsertAll(remote.map { it.toEntity() })
+        }
+
+        // 服务端结果入库后重新排序；本地规则匹配不到的服务端结果排在后面
+        val reranked = if (cached == null) searchLocal(query, limit) else local
+        val rerankedIds = reranked.mapTo(HashSet()) { it.id }
+        emit(reranked + remote.filter { it.id !in rerankedIds })
+    }.flowOn(ioDispatcher)
+
+    /**
+     * 只查本地索引，按 BM25 分数降序
+     */
+    suspend fun searchLocal(query: String, limit: Int = DEFAULT_LIMIT): List<AudioContent> {
+        val matchQuery = SearchQueryBuilder.build(query) ?: return emptyList()
+        val matches = audioSearchDao.match(matchQuery, MAX_CANDIDATES)
+        if (matches.isEmpty()) return emptyList()
+
+        val ranked = matches
+            .map { it.audioId to Bm25.score(it.matchInfo, COLUMN_WEIGHTS) }
+            .sortedByDescending { it.second }
+            .take(limit)
+            .map { it.first }
+        val contents = audioSearchDao.getContents(ranked).associateBy { it.id }
+        return ranked.mapNotNull { contents[it]?.toModel() }
+    }
+
+    companion object {
+        const val DEFAULT_LIMIT = 50
+
+        // 服务端单次返回的条数；返回条数小于该值时认为结果完整
+        private const val REMOTE_LIMIT = 50
+
+        // 参与排序的候选条数上限
+        private const val MAX_CANDIDATES = 500
+
+        // 与 AudioSearchEntity 的列顺序一致：audioId, title, author, category, description, pinyin, initials
+        private val COLUMN_WEIGHTS = doubleArrayOf(0.0, 3.0, 2.0, 1.0, 0.5, 2.0, 1.5)
+    }
+}
@@ -0,0 +1,52 @@
+package com.ai.app.audio_ai.data.search
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import kotlin.math.ln
+import kotlin.math.max
+
+/**
+ * 基于 FTS4 matchinfo(table, 'pcnalx') 计算 Okapi BM25 分数
+ * SQLite 没有内置 BM25，Android 上也无法注册自定义 SQL 函数，因此在查询后计算
+ */
+object Bm25 {
+
+    private const val K1 = 1.2
+    private const val B = 0.75
+
+    /**
+     * @param matchInfo matchinfo 返回的 32 位整数数组（本机字节序）
+     * @param weights 每列的权重，顺序与 FTS 表的列一致
+     * @return 分数越大越相关
+     */
+    fun score(matchInfo: ByteArray, weights: DoubleArray): Double {
+        val ints = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer()
+        val phraseCount = ints.get(0)
+        val columnCount = ints.get(1)
+        val rowCount = ints.get(2).toDouble()
+        val avgLengthOffset = 3
+        val lengthOffset = avgLengthOffset + columnCount
+        val hitsOffset = lengthOffset + columnCount
+
+        var score = 0.0
+        for (phrase in 0 until phraseCount) {
+            for (column in 0 until columnCount) {
+                val weight = weights.getOrElse(column) { 0.0 }
+                if (weight == 0.0) continue
+                val base = hitsOffset + 3 * (column + phrase * columnCount)
+                val termFrequency = ints.get(base).toDouble()
+                if (termFrequency == 0.0) continue
+                val docsWithHits = ints.get(base + 2).toDouble()
+                val avgLength = max(ints.get(avgLengthOffset + column).toDouble(), 1.0)
+                val length = ints.get(lengthOffset + column).toDouble()
+
+                // 词在大多数文档中都出现时 IDF 会变成负数，下限取一个很小的正数
+                val idf = max(ln((rowCount - docsWithHits + 0.5) / (docsWithHits + 0.5)), 1e-6)
+                val normalized = termFrequency * (K1 + 1) /
+                    (termFrequency + K1 * (1 - B + B * length / avgLength))
+                score += weight * idf * normalized
+            }
+        }
+        return score
+    }
+}
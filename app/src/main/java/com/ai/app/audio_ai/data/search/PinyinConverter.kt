@@ -0,0 +1,50 @@
+package com.ai.app.audio_ai.data.search
+
+import net.sourceforge.pinyin4j.PinyinHelper
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType
+
+/**
+ * 汉字转拼音，多音字取第一个读音
+ */
+object PinyinConverter {
+
+    private val format = HanyuPinyinOutputFormat().apply {
+        caseType = HanyuPinyinCaseType.LOWERCASE
+        toneType = HanyuPinyinToneType.WITHOUT_TONE
+        vCharType = HanyuPinyinVCharType.WITH_V
+    }
+
+    fun isHan(codePoint: Int): Boolean =
+        Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN
+
+    /**
+     * 单个汉字的拼音，非汉字返回 null
+     */
+    fun toPinyin(char: Char): String? {
+        if (!isHan(char.code)) return null
+        return PinyinHelper.toHanyuPinyinStringArray(char, format)?.firstOrNull()
+    }
+
+    /**
+     * 按连续的汉字片段转换，每个片段返回其音节列表
+     * 例如 "周杰伦 稻香" 返回 [[zhou, jie, lun], [dao, xiang]]
+     */
+    fun toSyllableRuns(text: String): List<List<String>> {
+        val runs = mutableListOf<List<String>>()
+        var current = mutableListOf<String>()
+        for (char in text) {
+            val syllable = toPinyin(char)
+            if (syllable != null) {
+                current.add(syllable)
+            } else if (current.isNotEmpty()) {
+                runs.add(current)
+                current = mutableListOf()
+            }
+        }
+        if (current.isNotEmpty()) runs.add(current)
+        return runs
+    }
+}
@@ -0,0 +1,74 @@
+package com.ai.app.audio_ai.data.search
+
+import com.ai.app.audio_ai.data.local.AudioContentEntity
+import com.ai.app.audio_ai.data.local.AudioSearchEntity
+
+/**
+ * 将汉字逐字用空格隔开
+ * FTS4 的默认分词器把连续的非 ASCII 字符当作一个词，逐字切开后才能匹配标题中间的片段
+ */
+fun segmentHan(text: String): String {
+    val builder = StringBuilder(text.length * 2)
+    text.lowercase().forEach { char ->
+        if (PinyinConverter.isHan(char.code)) {
+            builder.append(' ').append(char).append(' ')
+        } else {
+            builder.append(char)
+        }
+    }
+    return builder.toString()
+}
+
+/**
+ * 按 FTS4 默认分词器（simple）的规则切词：非字母数字的 ASCII 字符是分隔符，其余字符都属于词
+ * 汉字需要先用 [segmentHan] 切开
+ */
+fun ftsTokens(text: String): List<String> {
+    val tokens = mutableListOf<String>()
+    val current = StringBuilder()
+    for (char in text) {
+        if (char.code < 128 && !char.isLetterOrDigit()) {
+            if (current.isNotEmpty()) {
+                tokens.add(current.toString())
+                current.clear()
+            }
+        } else {
+            current.append(char)
+        }
+    }
+    if (current.isNotEmpty()) tokens.add(current.toString())
+    return tokens
+}
+
+/**
+ * 文本的拼音词
+ * @param full 分开的音节和每个汉字片段的连写形式，"zhou"、"zhouj"、"zhoujielun" 都可以前缀匹配
+ * @param initials 每个汉字片段的首字母，如 "zjl"
+ */
+class PinyinTokens(val full: List<String>, val initials: List<String>)
+
+fun pinyinTokens(vararg texts: String): PinyinTokens {
+    val runs = texts.flatMap { PinyinConverter.toSyllableRuns(it) }
+    return PinyinTokens(
+        full = runs.flatMap { run -> run + run.joinToString("") },
+        initials = runs.map { run -> run.joinToString("") { it.first().toString() } }
+    )
+}
+
+/**
+ * 生成全文索引文档
+ * @param rowId 内容行在 audio_contents 中的 rowid
+ */
+fun AudioContentEntity.toSearchEntity(rowId: Int): AudioSearchEntity {
+    val tokens = pinyinTokens(title, author)
+    return AudioSearchEntity(
+        rowId = rowId,
+        audioId = id,
+        title = segmentHan(title),
+        author = segmentHan(author),
+        category = segmentHan(category),
+        description = segmentHan(description.orEmpty()),
+        pinyin = tokens.full.joinToString(" "),
+        initials = tokens.initials.joinToString(" ")
+    )
+}
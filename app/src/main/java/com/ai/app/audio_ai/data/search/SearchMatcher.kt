@@ -0,0 +1,43 @@
+package com.ai.app.audio_ai.data.search
+
+import com.ai.app.audio_ai.data.model.AudioContent
+
+/**
+ * 在内存中判断音频是否匹配搜索词，规则与全文索引一致：
+ * 按 [SearchQueryBuilder.terms] 拆词，每个词都要在标题、作者、分类、简介、拼音全拼或首字母中的某一列命中；
+ * 命中指词组在该列按顺序连续出现，拉丁字母的词对最后一个词做前缀匹配，和 FTS 一样不匹配词中间的片段
+ */
+object SearchMatcher {
+
+    fun normalize(query: String): String =
+        query.trim().lowercase().replace(Regex("\\s+"), " ")
+
+    fun matches(content: AudioContent, query: String): Boolean {
+        val terms = SearchQueryBuilder.terms(query)
+        if (terms.isEmpty()) return false
+        val textColumns = listOf(content.title, content.author, content.category, content.description.orEmpty())
+            .map { ftsTokens(segmentHan(it)) }
+        val pinyinColumns by lazy {
+            val tokens = pinyinTokens(content.title, content.author)
+            listOf(tokens.full, tokens.initials).map { ftsTokens(it.joinToString(" ")) }
+        }
+        return terms.all { term ->
+            textColumns.any { it.containsPhrase(term) } || pinyinColumns.any { it.containsPhrase(term) }
+        }
+    }
+
+    private fun List<String>.containsPhrase(term: SearchTerm): Boolean {
+        val phrase = term.tokens
+        for (start in 0..size - phrase.size) {
+            val matched = phrase.indices.all { i ->
+                if (term.prefix && i == phrase.lastIndex) {
+                    this[start + i].startsWith(phrase[i])
+                } else {
+                    this[start + i] == phrase[i]
+                }
+            }
+            if (matched) return true
+        }
+        return false
+    }
+}
@@ -0,0 +1,41 @@
+package com.ai.app.audio_ai.data.search
+
+/**
+ * 一个搜索词
+ * @param tokens 按分词规则切开的词，在同一列中按顺序连续出现才算命中
+ * @param prefix 最后一个词是否做前缀匹配；含汉字的词逐字精确匹配
+ */
+class SearchTerm(val tokens: List<String>, val prefix: Boolean)
+
+/**
+ * 将用户输入转换为 FTS4 MATCH 表达式
+ * 含汉字的词转为逐字短语，如 "杰伦" -> "杰 伦"；其他词做前缀匹配，如 "zjl" -> zjl*
+ * 多个词之间为 AND 关系
+ */
+object SearchQueryBuilder {
+
+    // FTS 查询语法中的特殊字符，直接去掉
+    private val specialChars = Regex("[\"*^():\\-]")
+
+    fun build(input: String): String? {
+        val terms = terms(input)
+        if (terms.isEmpty()) return null
+        return terms.joinToString(" ") { term ->
+            val phrase = term.tokens.joinToString(" ") + if (term.prefix) "*" else ""
+            if (term.prefix && term.tokens.size == 1) phrase else "\"" + phrase + "\""
+        }
+    }
+
+    /**
+     * 拆分搜索词，[SearchMatcher] 用同样的拆分结果在内存中匹配；切不出词的输入（如纯标点）被忽略
+     */
+    fun terms(input: String): List<SearchTerm> =
+        input.lowercase()
+            .replace(specialChars, " ")
+            .split(Regex("\\s+"))
+            .mapNotNull { word ->
+                val tokens = ftsTokens(segmentHan(word))
+                if (tokens.isEmpty()) return@mapNotNull null
+                SearchTerm(tokens, prefix = word.none { PinyinConverter.isHan(it.code) })
+            }
+}
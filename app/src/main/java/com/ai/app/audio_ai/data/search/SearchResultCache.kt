@@ -0,0 +1,90 @@
+package com.ai.app.audio_ai.data.search
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 服务端搜索结果缓存
+ * 除了精确命中，还支持前缀命中：输入 "周杰" 时，如果 "周" 的结果是完整的（未被条数上限截断），
+ * 直接在其中过滤出匹配 "周杰" 的条目，不再请求服务端
+ * @param maxEntries 最多缓存的搜索词数量，超出后淘汰最久未使用的
+ * @param ttlMillis 结果有效期
+ * @param clock 当前时间（毫秒）
+ */
+@Singleton
+class SearchResultCache(
+    private val maxEntries: Int,
+    private val ttlMillis: Long,
+    private val clock: () -> Long
+) {
+
+    @Inject
+    constructor() : this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, System::currentTimeMillis)
+
+    /**
+     * @param complete 服务端返回的是否为全部结果，只有完整结果可以用于前缀过滤
+     */
+    private class Entry(val results: List<AudioContent>, val complete: Boolean, val storedAt: Long)
+
+    /**
+     * @param hits 精确命中次数
+     * @param prefixHits 由更短搜索词的完整结果过滤得到的次数
+     * @param misses 需要请求服务端的次数
+     */
+    data class Stats(val hits: Long, val prefixHits: Long, val misses: Long)
+
+    private val entries = object : LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>): Boolean {
+            return size > maxEntries
+        }
+    }
+
+    private val hits = AtomicLong()
+    private val prefixHits = AtomicLong()
+    private val misses = AtomicLong()
+
+    @Synchronized
+    fun get(query: String): List<AudioContent>? {
+        val key = SearchMatcher.normalize(query)
+        getFresh(key)?.let {
+            hits.incrementAndGet()
+            return it.results
+        }
+        for (end in key.length - 1 downTo 1) {
+            val prefix = key.substring(0, end).trimEnd()
+            val entry = getFresh(prefix) ?: continue
+            if (!entry.complete) continue
+            prefixHits.incrementAndGet()
+            val filtered = entry.results.filter { SearchMatcher.matches(it, key) }
+            // 过滤结果同样是完整的，后续更长的输入可以直接命中
+            entries[key] = Entry(filtered, true, entry.storedAt)
+            return filtered
+        }
+        misses.incrementAndGet()
+        return null
+    }
+
+    @Synchronized
+    fun put(query: String, results: List<AudioContent>, complete: Boolean) {
+        entries[SearchMatcher.normalize(query)] = Entry(results, complete, clock())
+    }
+
+    fun stats(): Stats = Stats(hits.get(), prefixHits.get(), misses.get())
+
+    private fun getFresh(key: String): Entry? {
+        val entry = entries[key] ?: return null
+        if (clock() - entry.storedAt > ttlMillis) {
+            entries.remove(key)
+            return null
+        }
+        return entry
+    }
+
+    companion object {
+        const val DEFAULT_MAX_ENTRIES = 64
+        val DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5)
+    }
+}
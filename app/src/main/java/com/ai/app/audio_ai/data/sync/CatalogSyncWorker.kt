@@ -0,0 +1,76 @@
+package com.ai.app.audio_ai.data.sync
+
+import android.content.Context
+import android.util.Log
+import androidx.work.Constraints
+import androidx.work.CoroutineWorker
+import androidx.work.ExistingPeriodicWorkPolicy
+import androidx.work.NetworkType
+import androidx.work.PeriodicWorkRequestBuilder
+import androidx.work.WorkManager
+import androidx.work.WorkerParameters
+import com.ai.app.audio_ai.data.repository.FeedCollection
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CancellationException
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+private const val TAG = "CatalogSyncWorker"
+
+/**
+ * 后台定时同步首页目录，与前台刷新共用 [CatalogSyncer]
+ * 只在不计流量的网络且充电时运行，下次打开首页时缓存已是最新
+ */
+class CatalogSyncWorker(
+    context: Context,
+    params: WorkerParameters
+) : CoroutineWorker(context, params) {
+
+    @EntryPoint
+    @InstallIn(SingletonComponent::class)
+    interface SyncEntryPoint {
+        fun catalogSyncer(): CatalogSyncer
+    }
+
+    override suspend fun doWork(): Result {
+        val syncer = EntryPointAccessors.fromApplication(applicationContext, SyncEntryPoint::class.java)
+            .catalogSyncer()
+        var shouldRetry = false
+        FeedCollection.values().forEach { collection ->
+            try {
+                syncer.sync(collection)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: IOException) {
+                Log.w(TAG, "同步${collection.key}失败，稍后重试", e)
+                shouldRetry = true
+            } catch (e: Exception) {
+                Log.w(TAG, "同步${collection.key}失败", e)
+            }
+        }
+        return if (shouldRetry) Result.retry() else Result.success()
+    }
+
+    companion object {
+        private const val WORK_NAME = "catalog_sync"
+        private const val INTERVAL_HOURS = 6L
+
+        /**
+         * 注册定时任务，已存在时保持原有计划
+         */
+        fun schedule(context: Context) {
+            val constraints = Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresCharging(true)
+                .build()
+            val request = PeriodicWorkRequestBuilder<CatalogSyncWorker>(INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .build()
+            WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request)
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ai.app.audio_ai.data.sync
+
+import com.ai.app.audio_ai.data.local.AudioContentDao
+import com.ai.app.audio_ai.data.local.BannerDao
+import com.ai.app.audio_ai.data.local.CacheMetadataDao
+import com.ai.app.audio_ai.data.local.CacheMetadataEntity
+import com.ai.app.audio_ai.data.local.toEntity
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.model.Banner
+import com.ai.app.audio_ai.data.model.HomeFeed
+import com.ai.app.audio_ai.data.remote.AudioApiService
+import com.ai.app.audio_ai.data.repository.FeedCollection
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.withContext
+import retrofit2.HttpException
+import retrofit2.Response
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 首页目录的增量同步
+ * 每个列表记录服务端的 ETag / Last-Modified 并发送条件请求，304 时不下载也不写库；
+ * 有新数据时只写入内容变化的条目。前台刷新和后台定时任务共用这一套逻辑
+ */
+@Singleton
+class CatalogSyncer @Inject constructor(
+    private val audioApiService: AudioApiService,
+    private val audioContentDao: AudioContentDao,
+    private val bannerDao: BannerDao,
+    private val cacheMetadataDao: CacheMetadataDao,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher
+) {
+
+    /**
+     * 同步单个列表，网络或服务端错误直接抛出
+     */
+    suspend fun sync(collection: FeedCollection): SyncResult = withContext(ioDispatcher) {
+        val metadata = cacheMetadataDao.get(collection.key)
+        when (collection) {
+            FeedCollection.BANNERS -> conditionalSync(collection, metadata, audioApiService::getBanners, ::applyBanners)
+            FeedCollection.HOT -> conditionalSync(collection, metadata, audioApiService::getHotRecommendations) {
+                applyFeed(collection, it)
+            }
+            FeedCollection.NEW -> conditionalSync(collection, metadata, audioApiService::getNewReleases) {
+                applyFeed(collection, it)
+            }
+        }
+    }
+
+    /**
+     * 写入聚合接口返回的首页数据
+     * 聚合接口不带各列表的校验值，已记录的校验值作废，下次单独同步时重新获取
+     */
+    suspend fun applyHomeFeed(homeFeed: HomeFeed): List<SyncResult> = withContext(ioDispatcher) {
+        listOf(
+            SyncResult(FeedCollection.BANNERS, notModified = false, changedRows = applyBanners(homeFeed.banners)),
+            SyncResult(FeedCollection.HOT, notModified = false, changedRows = applyFeed(FeedCollection.HOT, homeFeed.hotRecommendations)),
+            SyncResult(FeedCollection.NEW, notModified = false, changedRows = applyFeed(FeedCollection.NEW, homeFeed.newReleases))
+        ).onEach { markUpdated(it.collection, etag = null, lastModified = null) }
+    }
+
+    private suspend fun <T> conditionalSync(
+        collection: FeedCollection,
+        metadata: CacheMetadataEntity?,
+        request: suspend (etag: String?, lastModified: String?) -> Response<T>,
+        apply: suspend (T) -> Int
+    ): SyncResult {
+        val response = request(metadata?.etag, metadata?.lastModified)
+        if (response.code() == HTTP_NOT_MODIFIED && metadata != null) {
+            markUpdated(collection, metadata.etag, metadata.lastModified)
+            return SyncResult(collection, notModified = true, changedRows = 0)
+        }
+        if (!response.isSuccessful) throw HttpException(response)
+        val body = response.body() ?: throw IOException("${collection.key} 响应体为空")
+        val changedRows = apply(body)
+        markUpdated(collection, response.headers()[HEADER_ETAG], response.headers()[HEADER_LAST_MODIFIED])
+        return SyncResult(collection, notModified = false, changedRows = changedRows)
+    }
+
+    private suspend fun applyBanners(banners: List<Banner>): Int =
+        bannerDao.replaceIfChanged(banners.mapIndexed { index, banner -> banner.toEntity(index) })
+
+    private suspend fun applyFeed(collection: FeedCollection, items: List<AudioContent>): Int =
+        audioContentDao.applyFeedChanges(collection.key, items.map { it.toEntity() })
+
+    private suspend fun markUpdated(collection: FeedCollection, etag: String?, lastModified: String?) {
+        cacheMetadataDao.upsert(
+            CacheMetadataEntity(collection.key, System.currentTimeMillis(), etag, lastModified)
+        )
+    }
+
+    companion object {
+        private const val HTTP_NOT_MODIFIED = 304
+        private const val HEADER_ETAG = "ETag"
+        private const val HEADER_LAST_MODIFIED = "Last-Modified"
+    }
+}
+
+/**
+ * 单个列表的同步结果
+ * @param notModified 服务端返回 304，本地数据保持不变
+ * @param changedRows 实际写入本地的条目数
+ */
+data class SyncResult(
+    val collection: FeedCollection,
+    val notModified: Boolean,
+    val changedRows: Int
+)
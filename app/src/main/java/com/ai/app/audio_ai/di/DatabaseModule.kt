@@ -0,0 +1,57 @@
+package com.ai.app.audio_ai.di
+
+import android.content.Context
+import com.ai.app.audio_ai.data.AppDatabase
+import com.ai.app.audio_ai.data.local.AudioContentDao
+import com.ai.app.audio_ai.data.local.AudioSearchDao
+import com.ai.app.audio_ai.data.local.BannerDao
+import com.ai.app.audio_ai.data.local.CacheMetadataDao
+import com.ai.app.audio_ai.data.local.DownloadDao
+import com.ai.app.audio_ai.data.local.PlaybackSessionDao
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import javax.inject.Singleton
+
+@Module
+@InstallIn(SingletonComponent::class)
+object DatabaseModule {
+
+    @Provides
+    @Singleton
+    fun provideAppDatabase(@ApplicationContext context: Context): AppDatabase {
+        return AppDatabase.getInstance(context)
+    }
+
+    @Provides
+    fun provideAudioContentDao(database: AppDatabase): AudioContentDao {
+        return database.audioContentDao()
+    }
+
+    @Provides
+    fun provideBannerDao(database: AppDatabase): BannerDao {
+        return database.bannerDao()
+    }
+
+    @Provides
+    fun provideCacheMetadataDao(database: AppDatabase): CacheMetadataDao {
+        return database.cacheMetadataDao()
+    }
+
+    @Provides
+    fun provideAudioSearchDao(database: AppDatabase): AudioSearchDao {
+        return database.audioSearchDao()
+    }
+
+    @Provides
+    fun provideDownloadDao(database: AppDatabase): DownloadDao {
+        return database.downloadDao()
+    }
+
+    @Provides
+    fun providePlaybackSessionDao(database: AppDatabase): PlaybackSessionDao {
+        return database.playbackSessionDao()
+    }
+}
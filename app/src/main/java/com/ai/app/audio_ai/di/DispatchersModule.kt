@@ -0,0 +1,46 @@
+package com.ai.app.audio_ai.di
+
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.SupervisorJob
+import javax.inject.Singleton
+
+/**
+ * 协程调度器
+ * 通过注入提供，测试中可以替换为 TestDispatcher
+ */
+@Module
+@InstallIn(SingletonComponent::class)
+object DispatchersModule {
+
+    // 仓库层同时进行的磁盘/网络任务上限，避免占满 Dispatchers.IO 的 64 个线程
+    private const val IO_PARALLELISM = 8
+
+    @OptIn(ExperimentalCoroutinesApi::class)
+    @Provides
+    @Singleton
+    @IoDispatcher
+    fun provideIoDispatcher(): CoroutineDispatcher {
+        return Dispatchers.IO.limitedParallelism(IO_PARALLELISM)
+    }
+
+    @Provides
+    @Singleton
+    @DefaultDispatcher
+    fun provideDefaultDispatcher(): CoroutineDispatcher {
+        return Dispatchers.Default
+    }
+
+    @Provides
+    @Singleton
+    @ApplicationScope
+    fun provideApplicationScope(@DefaultDispatcher dispatcher: CoroutineDispatcher): CoroutineScope {
+        return CoroutineScope(SupervisorJob() + dispatcher)
+    }
+}
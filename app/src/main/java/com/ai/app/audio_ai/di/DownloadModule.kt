@@ -0,0 +1,25 @@
+package com.ai.app.audio_ai.di
+
+import android.content.Context
+import com.ai.app.audio_ai.data.download.DownloadConfig
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import java.io.File
+import javax.inject.Singleton
+
+/**
+ * 离线下载配置
+ */
+@Module
+@InstallIn(SingletonComponent::class)
+object DownloadModule {
+
+    @Provides
+    @Singleton
+    fun provideDownloadConfig(@ApplicationContext context: Context): DownloadConfig {
+        return DownloadConfig(directory = File(context.filesDir, "downloads"))
+    }
+}
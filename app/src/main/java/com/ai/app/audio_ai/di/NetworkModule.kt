@@ -1,30 +1,157 @@
 package com.ai.app.audio_ai.di
 
-import com.ai.app.audio_ai.data.remote.ApiClient
+import android.content.Context
+import com.ai.app.audio_ai.BuildConfig
+import com.ai.app.audio_ai.data.api.ApiService
+import com.ai.app.audio_ai.data.json.CatalogJson
+import com.ai.app.audio_ai.data.network.CachingDns
+import com.ai.app.audio_ai.data.network.NetworkLane
+import com.ai.app.audio_ai.data.network.NetworkMetrics
+import com.ai.app.audio_ai.data.network.ResilienceConfig
+import com.ai.app.audio_ai.data.network.TimingConverterFactory
+import com.ai.app.audio_ai.data.network.TimingEventListener
+import com.ai.app.audio_ai.data.network.forLane
+import com.ai.app.audio_ai.data.network.withResilience
 import com.ai.app.audio_ai.data.remote.AudioApiService
+import com.google.gson.Gson
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import okhttp3.Cache
+import okhttp3.ConnectionPool
+import okhttp3.OkHttpClient
+import okhttp3.logging.HttpLoggingInterceptor
+import retrofit2.Retrofit
+import retrofit2.converter.gson.GsonConverterFactory
+import java.io.File
+import java.util.concurrent.TimeUnit
 import javax.inject.Singleton
 
+/**
+ * 网络层依赖
+ * 全局只有一个基础 OkHttpClient，各用途的客户端通过 newBuilder() 派生，共享连接池和磁盘缓存；
+ * 播放、界面数据、图片、后台任务各走一个优先级通道（[NetworkLane]），互不排队
+ */
 @Module
 @InstallIn(SingletonComponent::class)
-class NetworkModule {
+object NetworkModule {
 
-    companion object {
-        // Empty companion object to ensure compatibility
+    private const val HTTP_CACHE_DIR = "http_cache"
+    private const val HTTP_CACHE_SIZE = 20L * 1024 * 1024
+
+    @Provides
+    @Singleton
+    fun provideHttpCache(@ApplicationContext context: Context): Cache {
+        // 按服务端的 Cache-Control / ETag 缓存响应，过期后发条件请求，未变化时返回 304
+        return Cache(File(context.cacheDir, HTTP_CACHE_DIR), HTTP_CACHE_SIZE)
+    }
+
+    @Provides
+    @Singleton
+    fun provideDns(): CachingDns {
+        return CachingDns()
+    }
+
+    @Provides
+    @Singleton
+    fun provideOkHttpClient(cache: Cache, dns: CachingDns, metrics: NetworkMetrics): OkHttpClient {
+        return OkHttpClient.Builder()
+            .cache(cache)
+            .dns(dns)
+            .eventListenerFactory(TimingEventListener.Factory(metrics))
+            .connectionPool(ConnectionPool(5, 5, TimeUnit.MINUTES))
+            .connectTimeout(15, TimeUnit.SECONDS)
+            .readTimeout(15, TimeUnit.SECONDS)
+            .writeTimeout(15, TimeUnit.SECONDS)
+            .build()
+    }
+
+    @Provides
+    @Singleton
+    fun provideResilienceConfig(): ResilienceConfig {
+        return ResilienceConfig()
+    }
+
+    @Provides
+    @Singleton
+    @ApiHttpClient
+    fun provideApiHttpClient(
+        client: OkHttpClient,
+        config: ResilienceConfig,
+        metrics: NetworkMetrics
+    ): OkHttpClient {
+        // 接口请求带重试、对冲和熔断，音频流不走这一层
+        return client.withResilience(config, metrics, NetworkLane.UI) {
+            if (BuildConfig.DEBUG) {
+                addInterceptor(
+                    HttpLoggingInterceptor().apply {
+                        level = HttpLoggingInterceptor.Level.BODY
+                    }
+                )
+            }
+        }
+    }
+
+    @Provides
+    @Singleton
+    @MediaHttpClient
+    fun provideMediaHttpClient(client: OkHttpClient): OkHttpClient {
+        // 音频文件体积大，写入 HTTP 缓存会挤掉接口数据
+        return client.forLane(NetworkLane.PLAYBACK).newBuilder()
+            .cache(null)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build()
+    }
+
+    @Provides
+    @Singleton
+    @ImageHttpClient
+    fun provideImageHttpClient(client: OkHttpClient): OkHttpClient {
+        // Glide 自己有磁盘缓存
+        return client.forLane(NetworkLane.IMAGES).newBuilder()
+            .cache(null)
+            .build()
+    }
+
+    @Provides
+    @Singleton
+    @BackgroundHttpClient
+    fun provideBackgroundHttpClient(client: OkHttpClient): OkHttpClient {
+        return client.forLane(NetworkLane.BACKGROUND)
+    }
+
+    @Provides
+    @Singleton
+    fun provideGson(): Gson {
+        return CatalogJson.createGson()
+    }
+
+    @Provides
+    @Singleton
+    fun provideRetrofit(
+        @ApiHttpClient client: OkHttpClient,
+        gson: Gson,
+        metrics: NetworkMetrics
+    ): Retrofit {
+        return Retrofit.Builder()
+            .baseUrl(BuildConfig.BASE_URL)
+            .client(client)
+            .addConverterFactory(TimingConverterFactory(metrics))
+            .addConverterFactory(GsonConverterFactory.create(gson))
+            .build()
     }
 
     @Provides
     @Singleton
-    fun provideApiClient(): ApiClient {
-        return ApiClient()
+    fun provideAudioApiService(retrofit: Retrofit): AudioApiService {
+        return retrofit.create(AudioApiService::class.java)
     }
 
     @Provides
     @Singleton
-    fun provideAudioApiService(apiClient: ApiClient): AudioApiService {
-        return apiClient.audioApiService
+    fun provideApiService(retrofit: Retrofit): ApiService {
+        return retrofit.create(ApiService::class.java)
     }
 }
@@ -0,0 +1,29 @@
+package com.ai.app.audio_ai.di
+
+import com.ai.app.audio_ai.player.cache.AudioCacheConfig
+import com.ai.app.audio_ai.player.engine.BufferConfig
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.components.SingletonComponent
+import javax.inject.Singleton
+
+/**
+ * 播放相关配置
+ */
+@Module
+@InstallIn(SingletonComponent::class)
+object PlayerModule {
+
+    @Provides
+    @Singleton
+    fun provideBufferConfig(): BufferConfig {
+        return BufferConfig()
+    }
+
+    @Provides
+    @Singleton
+    fun provideAudioCacheConfig(): AudioCacheConfig {
+        return AudioCacheConfig()
+    }
+}
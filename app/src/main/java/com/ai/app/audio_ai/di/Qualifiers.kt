@@ -0,0 +1,53 @@
+package com.ai.app.audio_ai.di
+
+import javax.inject.Qualifier
+
+/**
+ * 接口请求使用的 OkHttpClient，带日志，走界面数据通道
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class ApiHttpClient
+
+/**
+ * 播放时拉取音频流使用的 OkHttpClient，不走 HTTP 缓存，读超时更长，走播放通道
+ * 由 [com.ai.app.audio_ai.player.cache.AudioCache] 回源使用，两种播放引擎都经由它读取；离线下载走后台通道
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class MediaHttpClient
+
+/**
+ * Glide 加载图片使用的 OkHttpClient，走图片通道
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class ImageHttpClient
+
+/**
+ * 埋点上报等后台请求使用的 OkHttpClient，优先级最低
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class BackgroundHttpClient
+
+/**
+ * 磁盘和网络读写使用的调度器，并发数有上限
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class IoDispatcher
+
+/**
+ * CPU 密集型工作（数据转换、排序等）使用的调度器
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class DefaultDispatcher
+
+/**
+ * 与进程同生命周期的协程作用域，用于启动任务等不属于任何页面的工作
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class ApplicationScope
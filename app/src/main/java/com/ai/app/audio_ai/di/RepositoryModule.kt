@@ -1,5 +1,6 @@
 package com.ai.app.audio_ai.di
 
+import com.ai.app.audio_ai.data.paging.PagingSettings
 import com.ai.app.audio_ai.data.repository.AudioRepository
 import com.ai.app.audio_ai.data.repository.AudioRepositoryImpl
 import dagger.Module
@@ -17,4 +18,10 @@ object RepositoryModule {
     fun provideAudioRepository(impl: AudioRepositoryImpl): AudioRepository {
         return impl
     }
+
+    @Provides
+    @Singleton
+    fun providePagingSettings(): PagingSettings {
+        return PagingSettings()
+    }
 }
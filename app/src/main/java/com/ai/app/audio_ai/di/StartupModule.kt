@@ -0,0 +1,51 @@
+package com.ai.app.audio_ai.di
+
+import com.ai.app.audio_ai.startup.ConnectionWarmupTask
+import com.ai.app.audio_ai.startup.DatabaseTask
+import com.ai.app.audio_ai.startup.DownloadRestoreTask
+import com.ai.app.audio_ai.startup.GlideTask
+import com.ai.app.audio_ai.startup.NetworkTask
+import com.ai.app.audio_ai.startup.PlaybackRestoreTask
+import com.ai.app.audio_ai.startup.StartupTask
+import com.ai.app.audio_ai.startup.WorkSchedulingTask
+import dagger.Binds
+import dagger.Module
+import dagger.hilt.InstallIn
+import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.IntoSet
+
+/**
+ * 启动任务注册，新增任务在这里绑定即可
+ */
+@Module
+@InstallIn(SingletonComponent::class)
+abstract class StartupModule {
+
+    @Binds
+    @IntoSet
+    abstract fun bindDatabaseTask(task: DatabaseTask): StartupTask
+
+    @Binds
+    @IntoSet
+    abstract fun bindNetworkTask(task: NetworkTask): StartupTask
+
+    @Binds
+    @IntoSet
+    abstract fun bindConnectionWarmupTask(task: ConnectionWarmupTask): StartupTask
+
+    @Binds
+    @IntoSet
+    abstract fun bindGlideTask(task: GlideTask): StartupTask
+
+    @Binds
+    @IntoSet
+    abstract fun bindWorkSchedulingTask(task: WorkSchedulingTask): StartupTask
+
+    @Binds
+    @IntoSet
+    abstract fun bindDownloadRestoreTask(task: DownloadRestoreTask): StartupTask
+
+    @Binds
+    @IntoSet
+    abstract fun bindPlaybackRestoreTask(task: PlaybackRestoreTask): StartupTask
+}
@@ -5,73 +5,148 @@ import android.content.Context
 import android.content.Intent
 import android.content.ServiceConnection
 import android.os.IBinder
+import android.util.Log
 import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.player.engine.PlayerEngineType
 import com.ai.app.audio_ai.service.AudioPlayerService
+import dagger.hilt.android.qualifiers.ApplicationContext
+import javax.inject.Inject
+import javax.inject.Singleton
 
-class AudioPlayerManager(private val context: Context) {
-
-    private var playerService: AudioPlayerService? = null
-    private var isBound = false
-    private var currentAudio: AudioContent? = null
+/**
+ * 界面和播放服务之间的入口，进程内只有一个实例，所有方法在主线程调用
+ *
+ * 操作都经由 [PlayerCommandQueue] 发给服务：绑定完成前的命令不会丢失，连续点击只绑定一次
+ */
+@Singleton
+class AudioPlayerManager @Inject constructor(
+    @ApplicationContext private val context: Context
+) {
 
     private val serviceConnection = object : ServiceConnection {
         override fun onServiceConnected(name: ComponentName?, service: IBinder?) {
             val binder = service as AudioPlayerService.LocalBinder
-            playerService = binder.getService()
-            isBound = true
-            currentAudio?.let { play(it) }
+            commands.onConnected(binder.getService())
         }
 
         override fun onServiceDisconnected(name: ComponentName?) {
-            isBound = false
-            playerService = null
+            commands.onDisconnected()
+        }
+
+        override fun onBindingDied(name: ComponentName?) {
+            commands.onBindingDied()
         }
     }
 
-    fun play(audio: AudioContent) {
-        currentAudio = audio
-        if (isBound) {
-            playerService?.playAudio(audio)
-        } else {
+    private val commands = PlayerCommandQueue(object : PlayerCommandQueue.Connector {
+        override fun bind(): Boolean {
             val intent = Intent(context, AudioPlayerService::class.java)
-            context.bindService(intent, serviceConnection, Context.BIND_AUTO_CREATE)
+            val bound = context.bindService(intent, serviceConnection, Context.BIND_AUTO_CREATE)
+            if (!bound) Log.w(TAG, "Failed to bind AudioPlayerService")
+            return bound
+        }
+
+        override fun unbind() {
+            context.unbindService(serviceConnection)
         }
+    })
+
+    fun play(audio: AudioContent) {
+        playQueue(listOf(audio), 0)
+    }
+
+    fun playQueue(items: List<AudioContent>, startIndex: Int = 0) {
+        if (items.isEmpty()) return
+        commands.submit(PlayerCommand.PlayQueue(items, startIndex))
+    }
+
+    /**
+     * 启动时恢复上次的会话，后台绑定服务并准备好当前曲目；本次已经播放其他内容时由服务忽略
+     */
+    fun restoreSession(session: PlaybackSession) {
+        commands.submit(PlayerCommand.Restore(session))
+    }
+
+    fun enqueue(audio: AudioContent) {
+        commands.submit(PlayerCommand.Enqueue(audio))
+    }
+
+    fun enqueueNext(audio: AudioContent) {
+        commands.submit(PlayerCommand.EnqueueNext(audio))
+    }
+
+    fun removeFromQueue(index: Int) {
+        commands.submit(PlayerCommand.RemoveAt(index))
+    }
+
+    fun moveInQueue(from: Int, to: Int) {
+        commands.submit(PlayerCommand.Move(from, to))
+    }
+
+    fun clearQueue() {
+        commands.submit(PlayerCommand.ClearQueue)
+    }
+
+    fun skipToNext() {
+        commands.submit(PlayerCommand.SkipToNext)
+    }
+
+    fun skipToPrevious() {
+        commands.submit(PlayerCommand.SkipToPrevious)
+    }
+
+    fun skipTo(index: Int) {
+        commands.submit(PlayerCommand.SkipTo(index))
+    }
+
+    fun getQueue(): List<AudioContent> {
+        return commands.connected?.getQueue() ?: emptyList()
+    }
+
+    fun getCurrentIndex(): Int {
+        return commands.connected?.getCurrentIndex() ?: PlaybackQueue.NO_INDEX
+    }
+
+    fun setEngine(type: PlayerEngineType) {
+        commands.submit(PlayerCommand.SetEngine(type))
+    }
+
+    fun getEngineType(): PlayerEngineType? {
+        return commands.connected?.getEngineType()
     }
 
     fun pause() {
-        if (isBound) {
-            playerService?.pauseAudio()
-        }
+        commands.submit(PlayerCommand.Pause)
     }
 
     fun resume() {
-        if (isBound) {
-            playerService?.resumeAudio()
-        }
+        commands.submit(PlayerCommand.Resume)
     }
 
+    fun seekTo(positionMs: Long) {
+        commands.submit(PlayerCommand.SeekTo(positionMs))
+    }
+
+    /**
+     * 停止播放并解除绑定；绑定尚未完成时直接取消
+     */
     fun stop() {
-        if (isBound) {
-            playerService?.stopAudio()
-            context.unbindService(serviceConnection)
-            isBound = false
-        }
+        commands.submit(PlayerCommand.Stop)
     }
 
     fun isPlaying(): Boolean {
-        return if (isBound) {
-            playerService?.isPlaying() ?: false
-        } else false
+        return commands.connected?.isPlaying() ?: false
     }
 
     fun getCurrentAudio(): AudioContent? {
-        return if (isBound) {
-            playerService?.getCurrentAudio()
-        } else null
+        return commands.connected?.getCurrentAudio()
     }
 
     fun release() {
         stop()
-        playerService = null
+    }
+
+    companion object {
+        private const val TAG = "AudioPlayerManager"
     }
 }
@@ -0,0 +1,51 @@
+package com.ai.app.audio_ai.player
+
+import android.view.Choreographer
+import com.ai.app.audio_ai.di.ApplicationScope
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.callbackFlow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.shareIn
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 进程内共享的界面刷新节拍
+ *
+ * 跟随 vsync，每隔至少 [TICK_INTERVAL_MILLIS] 在某一帧上发出一次帧时间，进度条等和绘制同步刷新。
+ * 只有在有订阅者时才注册 Choreographer 回调，所有订阅者共用同一个回调
+ */
+@Singleton
+class FrameTicker @Inject constructor(
+    @ApplicationScope scope: CoroutineScope
+) {
+
+    val ticks: SharedFlow<Long> = callbackFlow {
+        val choreographer = Choreographer.getInstance()
+        var lastTickNanos = 0L
+        val callback = object : Choreographer.FrameCallback {
+            override fun doFrame(frameTimeNanos: Long) {
+                if (frameTimeNanos - lastTickNanos >= TICK_INTERVAL_NANOS) {
+                    lastTickNanos = frameTimeNanos
+                    trySend(frameTimeNanos)
+                }
+                choreographer.postFrameCallback(this)
+            }
+        }
+        choreographer.postFrameCallback(callback)
+        awaitClose { choreographer.removeFrameCallback(callback) }
+    }
+        // Choreographer 属于主线程
+        .flowOn(Dispatchers.Main.immediate)
+        .shareIn(scope, SharingStarted.WhileSubscribed())
+
+    companion object {
+        const val TICK_INTERVAL_MILLIS = 100L
+        private val TICK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_INTERVAL_MILLIS)
+    }
+}
@@ -0,0 +1,109 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.model.AudioContent
+
+/**
+ * 播放队列，只维护条目和当前下标，不涉及播放器
+ *
+ * 所有修改都保证当前播放的条目不变（除非它本身被移除），
+ * 调用方根据 [next] 是否变化决定是否重新预加载下一首
+ */
+class PlaybackQueue {
+
+    private val items = ArrayList<AudioContent>()
+
+    var currentIndex: Int = NO_INDEX
+        private set
+
+    val size: Int get() = items.size
+
+    val current: AudioContent? get() = items.getOrNull(currentIndex)
+
+    val next: AudioContent? get() = items.getOrNull(currentIndex + 1)
+
+    val hasNext: Boolean get() = currentIndex + 1 < items.size
+
+    val hasPrevious: Boolean get() = currentIndex > 0
+
+    fun snapshot(): List<AudioContent> = items.toList()
+
+    fun set(newItems: List<AudioContent>, startIndex: Int = 0) {
+        items.clear()
+        items.addAll(newItems)
+        currentIndex = if (items.isEmpty()) NO_INDEX else startIndex.coerceIn(0, items.size - 1)
+    }
+
+    // 追加到队尾
+    fun add(audio: AudioContent) {
+        items.add(audio)
+        if (currentIndex == NO_INDEX) currentIndex = 0
+    }
+
+    // 插入到当前条目之后，作为下一首
+    fun addNext(audio: AudioContent) {
+        if (currentIndex == NO_INDEX) {
+            add(audio)
+        } else {
+            items.add(currentIndex + 1, audio)
+        }
+    }
+
+    /**
+     * 移除指定位置的条目
+     * @return 被移除的是否为当前条目
+     */
+    fun removeAt(index: Int): Boolean {
+        if (index !in items.indices) return false
+        items.removeAt(index)
+        return when {
+            index < currentIndex -> {
+                currentIndex--
+                false
+            }
+            index == currentIndex -> {
+                // 当前条目被移除后由原来的下一首顶上，队尾则回退一位
+                if (currentIndex >= items.size) currentIndex = items.size - 1
+                true
+            }
+            else -> false
+        }
+    }
+
+    fun move(from: Int, to: Int) {
+        if (from !in items.indices || to !in items.indices || from == to) return
+        items.add(to, items.removeAt(from))
+        currentIndex = when {
+            currentIndex == from -> to
+            from < currentIndex && to >= currentIndex -> currentIndex - 1
+            from > currentIndex && to <= currentIndex -> currentIndex + 1
+            else -> currentIndex
+        }
+    }
+
+    fun moveToNext(): Boolean {
+        if (!hasNext) return false
+        currentIndex++
+        return true
+    }
+
+    fun moveToPrevious(): Boolean {
+        if (!hasPrevious) return false
+        currentIndex--
+        return true
+    }
+
+    fun moveTo(index: Int): Boolean {
+        if (index !in items.indices) return false
+        currentIndex = index
+        return true
+    }
+
+    fun clear() {
+        items.clear()
+        currentIndex = NO_INDEX
+    }
+
+    companion object {
+        const val NO_INDEX = -1
+    }
+}
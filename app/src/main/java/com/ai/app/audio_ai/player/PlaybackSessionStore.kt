@@ -0,0 +1,128 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.local.PlaybackQueueItemEntity
+import com.ai.app.audio_ai.data.local.PlaybackSessionDao
+import com.ai.app.audio_ai.data.local.PlaybackSessionEntity
+import com.ai.app.audio_ai.data.local.toEntity
+import com.ai.app.audio_ai.data.local.toModel
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.di.ApplicationScope
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import java.util.concurrent.atomic.AtomicBoolean
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 播放队列、当前位置和播放进度
+ */
+data class PlaybackSession(
+    val items: List<AudioContent>,
+    val currentIndex: Int,
+    val positionMs: Long
+) {
+    val current: AudioContent? get() = items.getOrNull(currentIndex)
+}
+
+/**
+ * 持久化播放会话，进程被杀后恢复上次的队列和进度
+ *
+ * 更新只改内存，写库延后 [WRITE_BEHIND_MILLIS] 合并执行：播放中每秒记录一次进度，
+ * 数据库只在合并窗口结束时写一次；队列没有变化时只更新进度那一行
+ */
+@Singleton
+class PlaybackSessionStore @Inject constructor(
+    private val playbackSessionDao: PlaybackSessionDao,
+    @ApplicationScope private val scope: CoroutineScope,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher
+) {
+
+    private val _session = MutableStateFlow<PlaybackSession?>(null)
+    val session: StateFlow<PlaybackSession?> = _session.asStateFlow()
+
+    private val queueDirty = AtomicBoolean(false)
+    private val writeRequests = Channel<Unit>(Channel.CONFLATED)
+    private val writeMutex = Mutex()
+
+    init {
+        scope.launch(ioDispatcher) {
+            for (request in writeRequests) {
+                delay(WRITE_BEHIND_MILLIS)
+                write()
+            }
+        }
+    }
+
+    /**
+     * 读取上次保存的会话；本次启动已经开始播放时以内存为准
+     */
+    suspend fun load(): PlaybackSession? = withContext(ioDispatcher) {
+        _session.value?.let { return@withContext it }
+        val saved = playbackSessionDao.getSession() ?: return@withContext null
+        val items = playbackSessionDao.getQueue().map { it.audio.toModel() }
+        if (items.isEmpty()) return@withContext null
+        val restored = PlaybackSession(items, saved.currentIndex.coerceIn(0, items.size - 1), saved.positionMs)
+        _session.compareAndSet(null, restored)
+        _session.value
+    }
+
+    fun updateQueue(items: List<AudioContent>, currentIndex: Int, positionMs: Long) {
+        if (items.isEmpty()) {
+            clear()
+            return
+        }
+        _session.value = PlaybackSession(items, currentIndex, positionMs)
+        queueDirty.set(true)
+        writeRequests.trySend(Unit)
+    }
+
+    fun updatePosition(currentIndex: Int, positionMs: Long) {
+        val session = _session.value ?: return
+        if (session.currentIndex == currentIndex && session.positionMs == positionMs) return
+        _session.value = session.copy(currentIndex = currentIndex, positionMs = positionMs)
+        writeRequests.trySend(Unit)
+    }
+
+    /**
+     * 暂停、退出等时机立即写入，不等合并窗口
+     */
+    fun flush() {
+        scope.launch(ioDispatcher) { write() }
+    }
+
+    fun clear() {
+        _session.value = null
+        queueDirty.set(false)
+        scope.launch(ioDispatcher) {
+            writeMutex.withLock { playbackSessionDao.clear() }
+        }
+    }
+
+    private suspend fun write() = writeMutex.withLock {
+        // 先取标记再取快照，期间再有队列变化会再次置位，下一轮重写
+        val writeQueue = queueDirty.getAndSet(false)
+        val session = _session.value ?: return@withLock
+        playbackSessionDao.save(
+            PlaybackSessionEntity(currentIndex = session.currentIndex, positionMs = session.positionMs),
+            if (writeQueue) {
+                session.items.mapIndexed { position, audio -> PlaybackQueueItemEntity(position, audio.toEntity()) }
+            } else {
+                null
+            }
+        )
+    }
+
+    companion object {
+        const val WRITE_BEHIND_MILLIS = 5_000L
+    }
+}
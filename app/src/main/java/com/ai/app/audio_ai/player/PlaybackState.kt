@@ -0,0 +1,31 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.model.AudioContent
+
+enum class PlaybackStatus {
+    IDLE,
+    BUFFERING,
+    PLAYING,
+    PAUSED,
+    ENDED,
+    ERROR
+}
+
+/**
+ * 播放器当前状态，由 [PlaybackStateHub] 统一发布
+ * @param playWhenReady 用户意图是否为播放；缓冲中也可能为 true，播放/暂停按钮以它为准
+ */
+data class PlaybackState(
+    val status: PlaybackStatus = PlaybackStatus.IDLE,
+    val audio: AudioContent? = null,
+    val positionMs: Long = 0,
+    val bufferedPositionMs: Long = 0,
+    val durationMs: Long = 0,
+    val playWhenReady: Boolean = false
+) {
+    val isPlaying: Boolean get() = status == PlaybackStatus.PLAYING
+
+    // 位置会随时间变化，需要定时采样
+    internal val isAdvancing: Boolean
+        get() = status == PlaybackStatus.PLAYING || status == PlaybackStatus.BUFFERING
+}
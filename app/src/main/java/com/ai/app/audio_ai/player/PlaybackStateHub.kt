@@ -0,0 +1,81 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.di.ApplicationScope
+import com.ai.app.audio_ai.player.engine.PlayerEngine
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.launch
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 进程内唯一的播放状态来源
+ *
+ * [AudioPlayerService] 在状态变化时发布；播放位置由 [FrameTicker] 驱动采样，
+ * 只有在 [state] 有订阅者且正在播放或缓冲时才采样，没有界面观察时不产生任何定时工作。
+ * 所有方法在主线程调用
+ */
+@Singleton
+class PlaybackStateHub @Inject constructor(
+    private val frameTicker: FrameTicker,
+    @ApplicationScope scope: CoroutineScope
+) {
+
+    private val _state = MutableStateFlow(PlaybackState())
+    val state: StateFlow<PlaybackState> = _state.asStateFlow()
+
+    // 单独保存，不占用 _state 的订阅计数
+    private val advancing = MutableStateFlow(false)
+
+    private var engine: PlayerEngine? = null
+
+    init {
+        scope.launch(Dispatchers.Main.immediate) {
+            combine(_state.subscriptionCount, advancing) { subscribers, advancing -> subscribers > 0 && advancing }
+                .distinctUntilChanged()
+                .collectLatest { ticking ->
+                    if (ticking) frameTicker.ticks.collect { refresh() }
+                }
+        }
+    }
+
+    fun attach(engine: PlayerEngine) {
+        this.engine = engine
+    }
+
+    fun detach(engine: PlayerEngine) {
+        if (this.engine === engine) this.engine = null
+    }
+
+    fun publish(status: PlaybackStatus, audio: AudioContent?, playWhenReady: Boolean) {
+        update(PlaybackState(status = status, audio = audio, playWhenReady = playWhenReady))
+    }
+
+    /**
+     * 位置突变（拖动进度条、切换内核）后立即采样一次，不等下一拍
+     */
+    fun refresh() {
+        update(_state.value)
+    }
+
+    private fun update(state: PlaybackState) {
+        val engine = engine
+        _state.value = if (engine == null || state.audio == null) {
+            state.copy(positionMs = 0, bufferedPositionMs = 0, durationMs = 0)
+        } else {
+            state.copy(
+                positionMs = engine.positionMs,
+                bufferedPositionMs = engine.bufferedPositionMs,
+                durationMs = engine.durationMs.takeIf { it > 0 } ?: state.audio.duration * 1000
+            )
+        }
+        advancing.value = state.isAdvancing
+    }
+}
@@ -0,0 +1,293 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.player.engine.PlayerEngineType
+
+/**
+ * 发给播放服务的命令
+ */
+sealed class PlayerCommand {
+
+    /**
+     * 服务未绑定时是否需要为它发起绑定；暂停、跳转等命令在没有服务时没有意义，直接丢弃
+     */
+    internal open val requiresService: Boolean get() = false
+
+    /**
+     * 执行后当前曲目可能改变，之前的跳转位置不再适用
+     */
+    internal open val changesTrack: Boolean get() = false
+
+    internal abstract fun applyTo(controller: PlayerController)
+
+    data class PlayQueue(val items: List<AudioContent>, val startIndex: Int) : PlayerCommand() {
+        override val requiresService get() = true
+        override val changesTrack get() = true
+        override fun applyTo(controller: PlayerController) = controller.playQueue(items, startIndex)
+    }
+
+    data class Restore(val session: PlaybackSession) : PlayerCommand() {
+        override val requiresService get() = true
+        override val changesTrack get() = true
+        override fun applyTo(controller: PlayerController) = controller.restoreSession(session)
+    }
+
+    data class Enqueue(val audio: AudioContent) : PlayerCommand() {
+        override val requiresService get() = true
+        override fun applyTo(controller: PlayerController) = controller.enqueue(audio)
+    }
+
+    data class EnqueueNext(val audio: AudioContent) : PlayerCommand() {
+        override val requiresService get() = true
+        override fun applyTo(controller: PlayerController) = controller.enqueueNext(audio)
+    }
+
+    data class RemoveAt(val index: Int) : PlayerCommand() {
+        override val changesTrack get() = true
+        override fun applyTo(controller: PlayerController) = controller.removeFromQueue(index)
+    }
+
+    data class Move(val from: Int, val to: Int) : PlayerCommand() {
+        override fun applyTo(controller: PlayerController) = controller.moveInQueue(from, to)
+    }
+
+    object ClearQueue : PlayerCommand() {
+        override val changesTrack get() = true
+        override fun applyTo(controller: PlayerController) = controller.clearQueue()
+    }
+
+    object SkipToNext : PlayerCommand() {
+        override val changesTrack get() = true
+        override fun applyTo(controller: PlayerController) = controller.skipToNext()
+    }
+
+    object SkipToPrevious : PlayerCommand() {
+        override val changesTrack get() = true
+        override fun applyTo(controller: PlayerController) = controller.skipToPrevious()
+    }
+
+    data class SkipTo(val index: Int) : PlayerCommand() {
+        override val changesTrack get() = true
+        override fun applyTo(controller: PlayerController) = controller.skipTo(index)
+    }
+
+    data class SetEngine(val type: PlayerEngineType) : PlayerCommand() {
+        override fun applyTo(controller: PlayerController) = controller.setEngine(type)
+    }
+
+    object Pause : PlayerCommand() {
+        override fun applyTo(controller: PlayerController) = controller.pauseAudio()
+    }
+
+    object Resume : PlayerCommand() {
+        override fun applyTo(controller: PlayerController) = controller.resumeAudio()
+    }
+
+    data class SeekTo(val positionMs: Long) : PlayerCommand() {
+        override fun applyTo(controller: PlayerController) = controller.seekTo(positionMs)
+    }
+
+    /**
+     * 停止播放并解除绑定
+     */
+    object Stop : PlayerCommand() {
+        override fun applyTo(controller: PlayerController) = controller.stopAudio()
+    }
+}
+
+/**
+ * 播放服务的命令队列
+ *
+ * 状态：未绑定 → 绑定中 → 已绑定。绑定中收到的命令先缓存，连接后按提交顺序执行；
+ * 同一次绑定期间只发起一次 bind，连续点击不会重复绑定。服务进程意外断开时回到绑定中，
+ * 系统重新连接后继续执行。缓存期间合并多余的命令：
+ * - 播放新队列会覆盖之前所有针对旧队列的命令
+ * - 暂停/继续只保留最后一个
+ * - 同一首曲目上的跳转位置只保留最后一个，切换内核只保留最后一个
+ *
+ * 命令可以在任意线程提交，总是按提交顺序逐个执行；执行期间再提交的命令（如回调里发起的）排在后面，不会重入
+ */
+class PlayerCommandQueue(private val connector: Connector) {
+
+    /**
+     * 实际的绑定和解绑操作
+     */
+    interface Connector {
+        /** @return 是否成功发起绑定 */
+        fun bind(): Boolean
+
+        fun unbind()
+    }
+
+    enum class State {
+        UNBOUND,
+        BINDING,
+        BOUND
+    }
+
+    private val lock = Any()
+    private val pending = ArrayDeque<PlayerCommand>()
+    private var controller: PlayerController? = null
+    private var draining = false
+
+    var state: State = State.UNBOUND
+        get() = synchronized(lock) { field }
+        private set
+
+    /**
+     * 已连接的服务，未连接时为 null；只用于查询，操作请通过 [submit]
+     */
+    val connected: PlayerController?
+        get() = synchronized(lock) { controller.takeIf { state == State.BOUND } }
+
+    fun submit(command: PlayerCommand) {
+        if (command == PlayerCommand.Stop) {
+            stop()
+            return
+        }
+        val bind = synchronized(lock) {
+            when (state) {
+                State.BOUND -> {
+                    pending.addLast(command)
+                    false
+                }
+                State.BINDING -> {
+                    coalesce(command)
+                    false
+                }
+                State.UNBOUND -> {
+                    if (!command.requiresService) return
+                    coalesce(command)
+                    state = State.BINDING
+                    true
+                }
+            }
+        }
+        if (bind) bind() else drain()
+    }
+
+    fun onConnected(controller: PlayerController) {
+        synchronized(lock) {
+            // stop 之后才到达的连接不再使用
+            if (state != State.BINDING) return
+            this.controller = controller
+            state = State.BOUND
+        }
+        drain()
+    }
+
+    /**
+     * 服务进程意外退出，绑定仍然有效，系统会重新连接
+     */
+    fun onDisconnected() {
+        synchronized(lock) {
+            if (state != State.BOUND) return
+            controller = null
+            state = State.BINDING
+        }
+    }
+
+    /**
+     * 绑定失效，系统不会再重新连接；还有待执行的命令时重新绑定
+     */
+    fun onBindingDied() {
+        val rebind = synchronized(lock) {
+            if (state == State.UNBOUND) return
+            controller = null
+            state = if (pending.isEmpty()) State.UNBOUND else State.BINDING
+            state == State.BINDING
+        }
+        connector.unbind()
+        if (rebind) bind()
+    }
+
+    private fun stop() {
+        val cancelBind = synchronized(lock) {
+            when (state) {
+                State.UNBOUND -> return
+                // 还没连上：丢掉缓存的命令，取消这次绑定
+                State.BINDING -> {
+                    pending.clear()
+                    state = State.UNBOUND
+                    true
+                }
+                // 已连上：排在已提交的命令之后执行，执行后解绑
+                State.BOUND -> {
+                    pending.addLast(PlayerCommand.Stop)
+                    false
+                }
+            }
+        }
+        if (cancelBind) connector.unbind() else drain()
+    }
+
+    private fun bind() {
+        if (connector.bind()) return
+        synchronized(lock) {
+            pending.clear()
+            controller = null
+            state = State.UNBOUND
+        }
+    }
+
+    private fun drain() {
+        synchronized(lock) {
+            if (draining) return
+            draining = true
+        }
+        try {
+            while (true) {
+                val target: PlayerController
+                val command: PlayerCommand
+                synchronized(lock) {
+                    val bound = controller
+                    val next = pending.firstOrNull()
+                    if (state != State.BOUND || bound == null || next == null) {
+                        draining = false
+                        return
+                    }
+                    pending.removeFirst()
+                    target = bound
+                    command = next
+                }
+                command.applyTo(target)
+                if (command == PlayerCommand.Stop) unbindAfterStop()
+            }
+        } catch (e: Throwable) {
+            synchronized(lock) { draining = false }
+            throw e
+        }
+    }
+
+    private fun unbindAfterStop() {
+        val rebind = synchronized(lock) {
+            controller = null
+            state = if (pending.any { it.requiresService }) State.BINDING else State.UNBOUND
+            // 之后提交的命令中不需要服务的已经没有执行对象
+            if (state == State.UNBOUND) pending.clear()
+            state == State.BINDING
+        }
+        connector.unbind()
+        if (rebind) bind()
+    }
+
+    // 调用方持有 lock
+    private fun coalesce(command: PlayerCommand) {
+        when (command) {
+            is PlayerCommand.PlayQueue -> pending.removeAll { it !is PlayerCommand.SetEngine }
+            PlayerCommand.ClearQueue -> pending.removeAll { it !is PlayerCommand.SetEngine }
+            PlayerCommand.Pause, PlayerCommand.Resume ->
+                pending.removeAll { it == PlayerCommand.Pause || it == PlayerCommand.Resume }
+            is PlayerCommand.SeekTo -> {
+                val trackChange = pending.indexOfLast { it.changesTrack }
+                val iterator = pending.listIterator(trackChange + 1)
+                while (iterator.hasNext()) {
+                    if (iterator.next() is PlayerCommand.SeekTo) iterator.remove()
+                }
+            }
+            is PlayerCommand.SetEngine -> pending.removeAll { it is PlayerCommand.SetEngine }
+            else -> Unit
+        }
+        pending.addLast(command)
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.player.engine.PlayerEngineType
+
+/**
+ * 播放服务对外提供的操作，由 [com.ai.app.audio_ai.service.AudioPlayerService] 实现，
+ * [PlayerCommandQueue] 只依赖这个接口，便于脱离 Android 测试
+ */
+interface PlayerController {
+
+    fun playQueue(items: List<AudioContent>, startIndex: Int = 0)
+
+    fun restoreSession(session: PlaybackSession)
+
+    fun enqueue(audio: AudioContent)
+
+    fun enqueueNext(audio: AudioContent)
+
+    fun removeFromQueue(index: Int)
+
+    fun moveInQueue(from: Int, to: Int)
+
+    fun clearQueue()
+
+    fun skipToNext()
+
+    fun skipToPrevious()
+
+    fun skipTo(index: Int)
+
+    fun setEngine(type: PlayerEngineType)
+
+    fun pauseAudio()
+
+    fun resumeAudio()
+
+    fun seekTo(positionMs: Long)
+
+    fun stopAudio()
+
+    fun isPlaying(): Boolean
+
+    fun getQueue(): List<AudioContent>
+
+    fun getCurrentIndex(): Int
+
+    fun getEngineType(): PlayerEngineType
+
+    fun getCurrentAudio(): AudioContent?
+}
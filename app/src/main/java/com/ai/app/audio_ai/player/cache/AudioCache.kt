@@ -0,0 +1,82 @@
+package com.ai.app.audio_ai.player.cache
+
+import android.content.Context
+import androidx.annotation.OptIn
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.database.StandaloneDatabaseProvider
+import androidx.media3.datasource.DataSource
+import androidx.media3.datasource.cache.CacheDataSource
+import androidx.media3.datasource.cache.ContentMetadata
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor
+import androidx.media3.datasource.cache.SimpleCache
+import androidx.media3.datasource.okhttp.OkHttpDataSource
+import com.ai.app.audio_ai.di.MediaHttpClient
+import dagger.hilt.android.qualifiers.ApplicationContext
+import okhttp3.OkHttpClient
+import java.io.File
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 音频流的磁盘缓存，以 audioUrl 为键按字节区间存储
+ *
+ * 播放时边下边存，已下载的区间再次读取（重播、往回 seek）直接走磁盘，不消耗流量；
+ * 未缓存的区间通过播放通道的 OkHttpClient 以 Range 请求补齐。两种播放内核共用同一份缓存
+ *
+ * SimpleCache 创建时会扫描目录、读索引数据库，注入发生在主线程，因此推迟到第一次读写时才创建，
+ * 播放引擎都在各自的加载线程上打开 DataSource
+ */
+@OptIn(UnstableApi::class)
+@Singleton
+class AudioCache @Inject constructor(
+    @ApplicationContext private val context: Context,
+    @MediaHttpClient mediaClient: OkHttpClient,
+    private val config: AudioCacheConfig
+) {
+
+    private val cache: SimpleCache by lazy {
+        SimpleCache(
+            File(context.cacheDir, config.directoryName),
+            LeastRecentlyUsedCacheEvictor(config.maxBytes),
+            StandaloneDatabaseProvider(context)
+        )
+    }
+
+    private val upstreamFactory = OkHttpDataSource.Factory(mediaClient)
+
+    private val cacheDataSourceFactory by lazy {
+        CacheDataSource.Factory()
+            .setCache(cache)
+            .setUpstreamDataSourceFactory(upstreamFactory)
+            // 缓存读写出错时直接回源，不影响播放
+            .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+    }
+
+    /**
+     * 读缓存、缺失区间回源并写入缓存的 DataSource；创建 DataSource 时才初始化缓存，不要在主线程调用
+     */
+    val dataSourceFactory: DataSource.Factory = DataSource.Factory { cacheDataSourceFactory.createDataSource() }
+
+    val cachedBytes: Long get() = cache.cacheSpace
+
+    /** 该地址已缓存的字节数 */
+    fun cachedBytes(url: String): Long {
+        val length = ContentMetadata.getContentLength(cache.getContentMetadata(url))
+        val requestLength = if (length > 0) length else Long.MAX_VALUE
+        return cache.getCachedBytes(url, 0, requestLength)
+    }
+
+    /** 内容长度已知且全部字节都在缓存中 */
+    fun isFullyCached(url: String): Boolean {
+        val length = ContentMetadata.getContentLength(cache.getContentMetadata(url))
+        return length > 0 && cache.getCachedBytes(url, 0, length) >= length
+    }
+
+    fun remove(url: String) {
+        cache.removeResource(url)
+    }
+
+    fun clear() {
+        cache.keys.toList().forEach(cache::removeResource)
+    }
+}
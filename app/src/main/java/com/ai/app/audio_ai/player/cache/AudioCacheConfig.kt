@@ -0,0 +1,11 @@
+package com.ai.app.audio_ai.player.cache
+
+/**
+ * 音频流磁盘缓存参数
+ * @param maxBytes 缓存上限，超出后按最近最少使用淘汰整段内容
+ * @param directoryName 缓存目录名，位于应用 cacheDir 下，系统空间不足时可被清理
+ */
+data class AudioCacheConfig(
+    val maxBytes: Long = 256L * 1024 * 1024,
+    val directoryName: String = "audio_cache"
+)
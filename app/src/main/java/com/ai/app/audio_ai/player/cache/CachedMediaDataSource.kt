@@ -0,0 +1,85 @@
+package com.ai.app.audio_ai.player.cache
+
+import android.media.MediaDataSource
+import android.net.Uri
+import androidx.annotation.OptIn
+import androidx.media3.common.C
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.datasource.DataSource
+import androidx.media3.datasource.DataSpec
+import java.io.IOException
+
+/**
+ * 让 MediaPlayer 经由 [AudioCache] 读取音频
+ *
+ * MediaPlayer 在自己的线程上按位置随机读取；连续读取时复用已打开的 DataSource，
+ * 位置跳变（seek、读取文件尾部的索引）时从新位置重新打开，已缓存的区间直接读磁盘
+ */
+@OptIn(UnstableApi::class)
+class CachedMediaDataSource(
+    private val factory: DataSource.Factory,
+    url: String
+) : MediaDataSource() {
+
+    private val uri = Uri.parse(url)
+
+    private var source: DataSource? = null
+
+    // 已打开的 source 下一次 read 返回的字节位置
+    private var sourcePosition = 0L
+
+    private var length = C.LENGTH_UNSET.toLong()
+
+    @Synchronized
+    @Throws(IOException::class)
+    override fun readAt(position: Long, buffer: ByteArray, offset: Int, size: Int): Int {
+        if (size == 0) return 0
+        if (length != C.LENGTH_UNSET.toLong() && position >= length) return END_OF_STREAM
+        val current = source?.takeIf { position == sourcePosition } ?: open(position)
+        val read = current.read(buffer, offset, size)
+        if (read == C.RESULT_END_OF_INPUT) return END_OF_STREAM
+        sourcePosition += read
+        return read
+    }
+
+    @Synchronized
+    @Throws(IOException::class)
+    override fun getSize(): Long {
+        if (length == C.LENGTH_UNSET.toLong() && source == null) open(0)
+        return if (length == C.LENGTH_UNSET.toLong()) UNKNOWN_SIZE else length
+    }
+
+    @Synchronized
+    override fun close() {
+        closeSource()
+    }
+
+    private fun open(position: Long): DataSource {
+        closeSource()
+        val dataSource = factory.createDataSource()
+        val opened = dataSource.open(
+            DataSpec.Builder()
+                .setUri(uri)
+                .setPosition(position)
+                .build()
+        )
+        if (opened != C.LENGTH_UNSET.toLong()) length = position + opened
+        source = dataSource
+        sourcePosition = position
+        return dataSource
+    }
+
+    private fun closeSource() {
+        try {
+            source?.close()
+        } catch (_: IOException) {
+            // 关闭失败不影响后续读取
+        }
+        source = null
+    }
+
+    private companion object {
+        const val END_OF_STREAM = -1
+        const val UNKNOWN_SIZE = -1L
+    }
+}
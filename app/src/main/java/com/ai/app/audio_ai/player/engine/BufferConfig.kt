@@ -0,0 +1,19 @@
+package com.ai.app.audio_ai.player.engine
+
+/**
+ * Media3 内核的缓冲参数，对应 DefaultLoadControl
+ *
+ * 音频码率低，缓冲上限比视频默认值更宽松，起播门槛更低
+ * @param minBufferMs 已缓冲时长低于该值时继续加载
+ * @param maxBufferMs 已缓冲时长达到该值后暂停加载
+ * @param bufferForPlaybackMs 首次起播或 seek 后需要的缓冲时长，越小起播越快
+ * @param bufferForPlaybackAfterRebufferMs 卡顿后恢复播放需要的缓冲时长，越大越不容易再次卡顿
+ * @param backBufferMs 保留已播放部分的时长，短距离回退时不重新下载
+ */
+data class BufferConfig(
+    val minBufferMs: Int = 30_000,
+    val maxBufferMs: Int = 120_000,
+    val bufferForPlaybackMs: Int = 1_000,
+    val bufferForPlaybackAfterRebufferMs: Int = 3_000,
+    val backBufferMs: Int = 30_000
+)
@@ -0,0 +1,182 @@
+package com.ai.app.audio_ai.player.engine
+
+import android.content.Context
+import androidx.annotation.OptIn
+import androidx.media3.common.AudioAttributes
+import androidx.media3.common.C
+import androidx.media3.common.MediaItem
+import androidx.media3.common.PlaybackException
+import androidx.media3.common.Player
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.datasource.DataSource
+import androidx.media3.exoplayer.DefaultLoadControl
+import androidx.media3.exoplayer.ExoPlayer
+import androidx.media3.exoplayer.source.DefaultMediaSourceFactory
+import com.ai.app.audio_ai.data.model.AudioContent
+
+/**
+ * 基于 Media3 ExoPlayer 的内核
+ *
+ * 播放列表里最多两项：当前曲目和预加载的下一首，ExoPlayer 在当前曲目缓冲完后
+ * 自动加载下一首并无缝衔接。网络请求走传入的 [DataSource.Factory]
+ */
+@OptIn(UnstableApi::class)
+class Media3Engine(
+    context: Context,
+    dataSourceFactory: DataSource.Factory,
+    bufferConfig: BufferConfig
+) : PlayerEngine {
+
+    override val type = PlayerEngineType.MEDIA3
+
+    private val player: ExoPlayer = ExoPlayer.Builder(context)
+        .setLoadControl(bufferConfig.toLoadControl())
+        .setMediaSourceFactory(DefaultMediaSourceFactory(dataSourceFactory))
+        .setAudioAttributes(
+            AudioAttributes.Builder()
+                .setUsage(C.USAGE_MEDIA)
+                .setContentType(C.AUDIO_CONTENT_TYPE_MUSIC)
+                .build(),
+            true
+        )
+        .setHandleAudioBecomingNoisy(true)
+        .build()
+
+    private var listener: PlayerEngine.Listener? = null
+    private var nextAudio: AudioContent? = null
+    private var readyNotified = false
+    private var buffering = false
+
+    private val playerListener = object : Player.Listener {
+        override fun onPlaybackStateChanged(playbackState: Int) {
+            when (playbackState) {
+                Player.STATE_BUFFERING -> setBuffering(readyNotified)
+                Player.STATE_READY -> {
+                    setBuffering(false)
+                    if (!readyNotified) {
+                        readyNotified = true
+                        listener?.onReady()
+                    }
+                }
+                Player.STATE_ENDED -> {
+                    setBuffering(false)
+                    listener?.onEnded()
+                }
+            }
+        }
+
+        override fun onMediaItemTransition(mediaItem: MediaItem?, reason: Int) {
+            // 播完的曲目不再需要，列表只保留当前和下一首
+            val index = player.currentMediaItemIndex
+            if (index > 0) player.removeMediaItems(0, index)
+            if (reason == Player.MEDIA_ITEM_TRANSITION_REASON_AUTO) {
+                nextAudio = null
+                listener?.onAutoAdvanced()
+            }
+        }
+
+        override fun onPlayerError(error: PlaybackException) {
+            setBuffering(false)
+            listener?.onError(error)
+        }
+    }
+
+    init {
+        player.addListener(playerListener)
+    }
+
+    override val isPlaying: Boolean
+        get() = player.isPlaying
+
+    override val positionMs: Long
+        get() = player.currentPosition
+
+    override val bufferedPositionMs: Long
+        get() = player.bufferedPosition
+
+    override val durationMs: Long
+        get() = player.duration.takeIf { it != C.TIME_UNSET } ?: 0L
+
+    override fun setListener(listener: PlayerEngine.Listener?) {
+        this.listener = listener
+    }
+
+    override fun load(audio: AudioContent, startPositionMs: Long, playWhenReady: Boolean) {
+        nextAudio = null
+        readyNotified = false
+        setBuffering(false)
+        player.setMediaItem(audio.toMediaItem(), startPositionMs)
+        player.playWhenReady = playWhenReady
+        player.prepare()
+    }
+
+    override fun setNext(audio: AudioContent?) {
+        if (audio == nextAudio) return
+        val followingIndex = player.currentMediaItemIndex + 1
+        if (player.mediaItemCount > followingIndex) {
+            player.removeMediaItems(followingIndex, player.mediaItemCount)
+        }
+        nextAudio = audio
+        if (audio != null && player.mediaItemCount > 0) {
+            player.addMediaItem(audio.toMediaItem())
+        }
+    }
+
+    override fun skipToNext(): Boolean {
+        if (nextAudio == null || !player.hasNextMediaItem()) return false
+        nextAudio = null
+        readyNotified = false
+        player.seekToNextMediaItem()
+        return true
+    }
+
+    override fun play() {
+        player.play()
+    }
+
+    override fun pause() {
+        player.pause()
+    }
+
+    override fun seekTo(positionMs: Long) {
+        player.seekTo(positionMs)
+    }
+
+    override fun stop() {
+        nextAudio = null
+        readyNotified = false
+        setBuffering(false)
+        player.stop()
+        player.clearMediaItems()
+    }
+
+    override fun release() {
+        listener = null
+        player.removeListener(playerListener)
+        player.release()
+    }
+
+    // 起播前的加载不算卡顿，只有准备完成后的缓冲才通知
+    private fun setBuffering(value: Boolean) {
+        if (buffering == value) return
+        buffering = value
+        listener?.onBufferingChanged(value)
+    }
+
+    private fun AudioContent.toMediaItem(): MediaItem = MediaItem.Builder()
+        .setMediaId(id)
+        .setUri(audioUrl)
+        .build()
+}
+
+@OptIn(UnstableApi::class)
+internal fun BufferConfig.toLoadControl(): DefaultLoadControl = DefaultLoadControl.Builder()
+    .setBufferDurationsMs(
+        minBufferMs,
+        maxBufferMs,
+        bufferForPlaybackMs,
+        bufferForPlaybackAfterRebufferMs
+    )
+    .setBackBuffer(backBufferMs, true)
+    .setPrioritizeTimeOverSizeThresholds(true)
+    .build()
@@ -0,0 +1,228 @@
+package com.ai.app.audio_ai.player.engine
+
+import android.media.MediaDataSource
+import android.media.MediaPlayer
+import android.net.Uri
+import android.util.Log
+import com.ai.app.audio_ai.data.model.AudioContent
+
+/**
+ * 基于系统 MediaPlayer 的内核
+ *
+ * 当前曲目准备完成后再准备下一首，并通过 setNextMediaPlayer 交给系统衔接，
+ * 曲目之间没有释放、重新缓冲的空白
+ * @param dataSourceProvider 提供自定义数据源（如磁盘缓存），未提供或返回 null 时由 MediaPlayer 直接读取 audioUrl
+ */
+class MediaPlayerEngine(
+    private val dataSourceProvider: ((AudioContent) -> MediaDataSource?)? = null
+) : PlayerEngine {
+
+    override val type = PlayerEngineType.MEDIA_PLAYER
+
+    private var listener: PlayerEngine.Listener? = null
+
+    private var current: MediaPlayer? = null
+    private var currentPrepared = false
+    private var startPositionMs = 0L
+    private var bufferedPercent = 0
+    private var buffering = false
+
+    // 预加载的下一首，准备完成后挂到 current 上
+    private var next: MediaPlayer? = null
+    private var nextAudio: AudioContent? = null
+    private var nextPrepared = false
+
+    private var playWhenReady = true
+
+    override val isPlaying: Boolean
+        get() = currentPrepared && current?.isPlaying == true
+
+    override val positionMs: Long
+        get() = if (currentPrepared) current?.currentPosition?.toLong() ?: 0L else startPositionMs
+
+    override val durationMs: Long
+        get() = if (currentPrepared) current?.duration?.toLong()?.coerceAtLeast(0L) ?: 0L else 0L
+
+    override val bufferedPositionMs: Long
+        get() = durationMs * bufferedPercent / 100
+
+    override fun setListener(listener: PlayerEngine.Listener?) {
+        this.listener = listener
+    }
+
+    override fun load(audio: AudioContent, startPositionMs: Long, playWhenReady: Boolean) {
+        releaseNext()
+        releaseCurrent()
+        this.startPositionMs = startPositionMs
+        this.playWhenReady = playWhenReady
+        current = createPlayer(audio)
+    }
+
+    override fun setNext(audio: AudioContent?) {
+        if (audio == nextAudio) return
+        releaseNext()
+        nextAudio = audio
+        // 当前曲目还在准备时先不抢带宽，准备完成后再加载
+        if (audio != null && currentPrepared) {
+            next = createPlayer(audio)
+        }
+    }
+
+    override fun skipToNext(): Boolean {
+        val prepared = next?.takeIf { nextPrepared } ?: return false
+        // 下一首已经缓冲好，直接切换，不再重新准备
+        next = null
+        nextAudio = null
+        nextPrepared = false
+        releaseCurrent()
+        promote(prepared, prepared = true)
+        if (playWhenReady) prepared.start()
+        listener?.onReady()
+        return true
+    }
+
+    override fun play() {
+        playWhenReady = true
+        if (currentPrepared) current?.start()
+    }
+
+    override fun pause() {
+        playWhenReady = false
+        if (currentPrepared) current?.pause()
+    }
+
+    override fun seekTo(positionMs: Long) {
+        if (currentPrepared) {
+            current?.seekTo(positionMs.toInt())
+        } else {
+            startPositionMs = positionMs
+        }
+    }
+
+    override fun stop() {
+        releaseNext()
+        releaseCurrent()
+    }
+
+    override fun release() {
+        stop()
+        listener = null
+    }
+
+    private fun createPlayer(audio: AudioContent): MediaPlayer? {
+        return try {
+            MediaPlayer().apply {
+                setOnPreparedListener(::onPrepared)
+                setOnCompletionListener(::onCompletion)
+                setOnErrorListener(::onError)
+                setOnInfoListener(::onInfo)
+                setOnBufferingUpdateListener { player, percent ->
+                    if (player === current) bufferedPercent = percent
+                }
+                val dataSource = dataSourceProvider?.invoke(audio)
+                when {
+                    dataSource != null -> setDataSource(dataSource)
+                    audio.audioUrl.startsWith(FILE_SCHEME) -> setDataSource(Uri.parse(audio.audioUrl).path)
+                    else -> setDataSource(audio.audioUrl)
+                }
+                prepareAsync()
+            }
+        } catch (e: Exception) {
+            Log.e(TAG, "Failed to create player for ${audio.id}", e)
+            null
+        }
+    }
+
+    private fun promote(player: MediaPlayer, prepared: Boolean) {
+        current = player
+        currentPrepared = prepared
+        startPositionMs = 0L
+        bufferedPercent = 0
+    }
+
+    private fun onPrepared(player: MediaPlayer) {
+        when (player) {
+            current -> {
+                currentPrepared = true
+                if (startPositionMs > 0) player.seekTo(startPositionMs.toInt())
+                if (playWhenReady) player.start()
+                listener?.onReady()
+                nextAudio?.let { audio -> if (next == null) next = createPlayer(audio) }
+            }
+            next -> {
+                nextPrepared = true
+                if (currentPrepared) current?.setNextMediaPlayer(player)
+            }
+        }
+    }
+
+    private fun onCompletion(player: MediaPlayer) {
+        if (player !== current) return
+        setBuffering(false)
+        val handoff = next
+        if (handoff == null) {
+            listener?.onEnded()
+            return
+        }
+        val wasPrepared = nextPrepared
+        next = null
+        nextAudio = null
+        nextPrepared = false
+        releaseCurrent()
+        // 已通过 setNextMediaPlayer 衔接时系统自动开始播放，
+        // 尚未准备完成时由 onPrepared 按当前曲目处理
+        promote(handoff, wasPrepared)
+        listener?.onAutoAdvanced()
+    }
+
+    private fun onError(player: MediaPlayer, what: Int, extra: Int): Boolean {
+        Log.w(TAG, "MediaPlayer error what=$what extra=$extra")
+        if (player === next) {
+            // 预加载失败不影响当前播放，轮到它时由调用方重新加载
+            releaseNext()
+        } else if (player === current) {
+            releaseCurrent()
+            listener?.onError(IllegalStateException("MediaPlayer error what=$what extra=$extra"))
+        }
+        // 已处理，不再回调 onCompletion
+        return true
+    }
+
+    private fun onInfo(player: MediaPlayer, what: Int, extra: Int): Boolean {
+        if (player !== current) return false
+        when (what) {
+            MediaPlayer.MEDIA_INFO_BUFFERING_START -> setBuffering(true)
+            MediaPlayer.MEDIA_INFO_BUFFERING_END -> setBuffering(false)
+        }
+        return false
+    }
+
+    private fun setBuffering(value: Boolean) {
+        if (buffering == value) return
+        buffering = value
+        listener?.onBufferingChanged(value)
+    }
+
+    private fun releaseCurrent() {
+        current?.release()
+        current = null
+        currentPrepared = false
+        bufferedPercent = 0
+        setBuffering(false)
+    }
+
+    private fun releaseNext() {
+        if (next != null && currentPrepared) {
+            current?.setNextMediaPlayer(null)
+        }
+        next?.release()
+        next = null
+        nextAudio = null
+        nextPrepared = false
+    }
+
+    companion object {
+        private const val TAG = "MediaPlayerEngine"
+        private const val FILE_SCHEME = "file:"
+    }
+}
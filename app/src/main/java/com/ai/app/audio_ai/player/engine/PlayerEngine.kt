@@ -0,0 +1,60 @@
+package com.ai.app.audio_ai.player.engine
+
+import com.ai.app.audio_ai.data.model.AudioContent
+
+/**
+ * 播放内核抽象，队列由 AudioPlayerService 维护，内核只关心当前曲目和预加载的下一首
+ *
+ * 所有方法和回调都在主线程
+ */
+interface PlayerEngine {
+
+    val type: PlayerEngineType
+
+    val isPlaying: Boolean
+
+    val positionMs: Long
+
+    val bufferedPositionMs: Long
+
+    /** 时长未知时为 0 */
+    val durationMs: Long
+
+    fun setListener(listener: Listener?)
+
+    /** 替换当前曲目并开始准备，同时丢弃预加载的下一首 */
+    fun load(audio: AudioContent, startPositionMs: Long = 0, playWhenReady: Boolean = true)
+
+    /** 预加载下一首，当前曲目结束时无缝衔接；传 null 取消预加载，与已设置的相同时不做任何事 */
+    fun setNext(audio: AudioContent?)
+
+    /** 立即切到预加载的下一首，没有可用的下一首时返回 false */
+    fun skipToNext(): Boolean
+
+    fun play()
+
+    fun pause()
+
+    fun seekTo(positionMs: Long)
+
+    fun stop()
+
+    fun release()
+
+    interface Listener {
+        /** 当前曲目准备完成 */
+        fun onReady() {}
+
+        /** 播放中因缓冲不足而卡顿或恢复 */
+        fun onBufferingChanged(buffering: Boolean) {}
+
+        /** 当前曲目播放结束，已自动衔接到预加载的下一首 */
+        fun onAutoAdvanced() {}
+
+        /** 当前曲目播放结束且没有预加载的下一首 */
+        fun onEnded() {}
+
+        /** 当前曲目无法播放 */
+        fun onError(error: Throwable?) {}
+    }
+}
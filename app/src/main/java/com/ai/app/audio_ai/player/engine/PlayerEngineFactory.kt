@@ -0,0 +1,54 @@
+package com.ai.app.audio_ai.player.engine
+
+import android.content.Context
+import androidx.annotation.OptIn
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.datasource.DefaultDataSource
+import com.ai.app.audio_ai.player.cache.AudioCache
+import com.ai.app.audio_ai.player.cache.CachedMediaDataSource
+import dagger.hilt.android.qualifiers.ApplicationContext
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 创建播放内核，并记住用户选择的内核类型，下次启动沿用
+ */
+@OptIn(UnstableApi::class)
+@Singleton
+class PlayerEngineFactory @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val audioCache: AudioCache,
+    private val bufferConfig: BufferConfig
+) {
+
+    private val preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE)
+
+    var preferredType: PlayerEngineType
+        get() = preferences.getString(KEY_ENGINE, null)
+            ?.let { name -> PlayerEngineType.values().firstOrNull { it.name == name } }
+            ?: PlayerEngineType.DEFAULT
+        set(value) {
+            preferences.edit().putString(KEY_ENGINE, value.name).apply()
+        }
+
+    // 两种内核都经由磁盘缓存读取网络音频，本地文件直接读取
+    fun create(type: PlayerEngineType = preferredType): PlayerEngine = when (type) {
+        PlayerEngineType.MEDIA_PLAYER -> MediaPlayerEngine { audio ->
+            if (audio.audioUrl.startsWith("http")) {
+                CachedMediaDataSource(audioCache.dataSourceFactory, audio.audioUrl)
+            } else {
+                null
+            }
+        }
+        PlayerEngineType.MEDIA3 -> Media3Engine(
+            context,
+            DefaultDataSource.Factory(context, audioCache.dataSourceFactory),
+            bufferConfig
+        )
+    }
+
+    companion object {
+        private const val PREF_NAME = "player_settings"
+        private const val KEY_ENGINE = "engine"
+    }
+}
@@ -0,0 +1,13 @@
+package com.ai.app.audio_ai.player.engine
+
+enum class PlayerEngineType {
+    // 系统 MediaPlayer，通过 MediaDataSource 读取磁盘缓存
+    MEDIA_PLAYER,
+
+    // Media3 ExoPlayer，缓冲参数可调
+    MEDIA3;
+
+    companion object {
+        val DEFAULT = MEDIA_PLAYER
+    }
+}
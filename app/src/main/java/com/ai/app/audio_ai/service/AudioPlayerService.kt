@@ -2,58 +2,306 @@ package com.ai.app.audio_ai.service
 
 import android.app.Service
 import android.content.Intent
-import android.media.MediaPlayer
 import android.os.Binder
+import android.os.Handler
 import android.os.IBinder
+import android.os.Looper
+import android.util.Log
+import com.ai.app.audio_ai.data.download.DownloadManager
 import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.player.PlaybackQueue
+import com.ai.app.audio_ai.player.PlaybackSession
+import com.ai.app.audio_ai.player.PlaybackSessionStore
+import com.ai.app.audio_ai.player.PlaybackStateHub
+import com.ai.app.audio_ai.player.PlayerController
+import com.ai.app.audio_ai.player.PlaybackStatus
+import com.ai.app.audio_ai.player.engine.PlayerEngine
+import com.ai.app.audio_ai.player.engine.PlayerEngineFactory
+import com.ai.app.audio_ai.player.engine.PlayerEngineType
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
 
-class AudioPlayerService : Service() {
+/**
+ * 音频播放服务
+ *
+ * 维护播放队列，具体播放交给 [PlayerEngine]。当前曲目之外始终让内核预加载队列中的下一首，
+ * 曲目之间无缝衔接；队列变化导致下一首改变时重新预加载。已离线下载的曲目直接播放本地文件。
+ * 队列和播放进度交给 [PlaybackSessionStore] 保存，下次启动时恢复；播放状态发布到 [PlaybackStateHub]。
+ * 所有方法都在主线程调用。
+ */
+@AndroidEntryPoint
+class AudioPlayerService : Service(), PlayerController {
+
+    @Inject
+    lateinit var engineFactory: PlayerEngineFactory
+
+    @Inject
+    lateinit var downloadManager: DownloadManager
+
+    @Inject
+    lateinit var sessionStore: PlaybackSessionStore
+
+    @Inject
+    lateinit var stateHub: PlaybackStateHub
 
     private val binder = LocalBinder()
-    private var mediaPlayer: MediaPlayer? = null
-    private var currentAudio: AudioContent? = null
+    private val queue = PlaybackQueue()
+
+    private lateinit var engine: PlayerEngine
+
+    private var playWhenReady = true
+    private var status = PlaybackStatus.IDLE
+
+    private val handler = Handler(Looper.getMainLooper())
+
+    // 播放中定期记录进度，是否写库由 sessionStore 合并决定
+    private val positionCheckpoint = object : Runnable {
+        override fun run() {
+            savePosition()
+            if (playWhenReady) handler.postDelayed(this, POSITION_CHECKPOINT_MILLIS)
+        }
+    }
+
+    private val engineListener = object : PlayerEngine.Listener {
+        override fun onAutoAdvanced() {
+            queue.moveToNext()
+            preloadNext()
+            savePosition()
+            publishState(readyStatus())
+        }
+
+        override fun onReady() {
+            publishState(readyStatus())
+        }
+
+        override fun onBufferingChanged(buffering: Boolean) {
+            publishState(if (buffering) PlaybackStatus.BUFFERING else readyStatus())
+        }
+
+        override fun onEnded() {
+            // 下一首预加载失败时内核会直接结束，这里重新加载
+            if (queue.moveToNext()) {
+                loadCurrent()
+            } else {
+                publishState(PlaybackStatus.ENDED)
+                notifyPlaybackComplete()
+            }
+        }
+
+        override fun onError(error: Throwable?) {
+            Log.w(TAG, "Failed to play ${queue.current?.id}", error)
+            if (queue.moveToNext()) loadCurrent() else publishState(PlaybackStatus.ERROR)
+        }
+    }
 
     inner class LocalBinder : Binder() {
         fun getService(): AudioPlayerService = this@AudioPlayerService
     }
 
+    override fun onCreate() {
+        super.onCreate()
+        engine = engineFactory.create()
+        engine.setListener(engineListener)
+        stateHub.attach(engine)
+    }
+
     override fun onBind(intent: Intent): IBinder = binder
 
     fun playAudio(audio: AudioContent) {
-        currentAudio = audio
-        mediaPlayer?.release()
-        mediaPlayer = MediaPlayer().apply {
-            setDataSource(audio.audioUrl)
-            prepareAsync()
-            setOnPreparedListener { start() }
-            setOnCompletionListener { notifyPlaybackComplete() }
+        playQueue(listOf(audio), 0)
+    }
+
+    override fun playQueue(items: List<AudioContent>, startIndex: Int) {
+        queue.set(items, startIndex)
+        playWhenReady = true
+        loadCurrent()
+        saveQueue()
+    }
+
+    /**
+     * 恢复上次的会话：从保存的位置准备好当前曲目但不播放，用户点播放时直接开始。
+     * 本次已经开始播放其他内容时忽略
+     */
+    override fun restoreSession(session: PlaybackSession) {
+        if (queue.current != null) return
+        queue.set(session.items, session.currentIndex)
+        playWhenReady = false
+        loadCurrent(session.positionMs)
+    }
+
+    override fun enqueue(audio: AudioContent) {
+        val wasEmpty = queue.current == null
+        queue.add(audio)
+        if (wasEmpty) loadCurrent() else preloadNext()
+        saveQueue()
+    }
+
+    override fun enqueueNext(audio: AudioContent) {
+        val wasEmpty = queue.current == null
+        queue.addNext(audio)
+        if (wasEmpty) loadCurrent() else preloadNext()
+        saveQueue()
+    }
+
+    override fun removeFromQueue(index: Int) {
+        if (queue.removeAt(index)) loadCurrent() else preloadNext()
+        saveQueue()
+    }
+
+    override fun moveInQueue(from: Int, to: Int) {
+        queue.move(from, to)
+        preloadNext()
+        saveQueue()
+    }
+
+    override fun clearQueue() {
+        queue.clear()
+        engine.stop()
+        saveQueue()
+        publishState(PlaybackStatus.IDLE)
+    }
+
+    override fun skipToNext() {
+        if (!queue.moveToNext()) return
+        // 下一首已经缓冲好时直接切换，不再重新准备
+        if (engine.skipToNext()) preloadNext() else loadCurrent()
+        savePosition()
+    }
+
+    override fun skipToPrevious() {
+        if (queue.moveToPrevious()) {
+            loadCurrent()
+            savePosition()
+        }
+    }
+
+    override fun skipTo(index: Int) {
+        if (index == queue.currentIndex) return
+        if (index == queue.currentIndex + 1) {
+            skipToNext()
+        } else if (queue.moveTo(index)) {
+            loadCurrent()
+            savePosition()
         }
     }
 
-    fun pauseAudio() {
-        mediaPlayer?.pause()
+    override fun getQueue(): List<AudioContent> = queue.snapshot()
+
+    override fun getCurrentIndex(): Int = queue.currentIndex
+
+    /**
+     * 切换播放内核，当前曲目从原位置继续
+     */
+    override fun setEngine(type: PlayerEngineType) {
+        engineFactory.preferredType = type
+        if (type == engine.type) return
+        val positionMs = engine.positionMs
+        stateHub.detach(engine)
+        engine.release()
+        engine = engineFactory.create(type)
+        engine.setListener(engineListener)
+        stateHub.attach(engine)
+        loadCurrent(positionMs)
     }
 
-    fun resumeAudio() {
-        mediaPlayer?.start()
+    override fun getEngineType(): PlayerEngineType = engine.type
+
+    override fun pauseAudio() {
+        playWhenReady = false
+        engine.pause()
+        stopCheckpoints()
+        publishState(if (status == PlaybackStatus.PLAYING) PlaybackStatus.PAUSED else status)
     }
 
-    fun stopAudio() {
-        mediaPlayer?.stop()
-        mediaPlayer?.release()
-        mediaPlayer = null
+    override fun resumeAudio() {
+        playWhenReady = true
+        // 已停止或播完时内核里没有可播放的内容，从头重新加载
+        if (status == PlaybackStatus.IDLE || status == PlaybackStatus.ENDED || status == PlaybackStatus.ERROR) {
+            loadCurrent()
+            return
+        }
+        engine.play()
+        startCheckpoints()
+        publishState(if (status == PlaybackStatus.PAUSED) PlaybackStatus.PLAYING else status)
     }
 
-    fun isPlaying(): Boolean = mediaPlayer?.isPlaying ?: false
+    override fun seekTo(positionMs: Long) {
+        engine.seekTo(positionMs)
+        savePosition()
+        stateHub.refresh()
+    }
 
-    fun getCurrentAudio(): AudioContent? = currentAudio
+    override fun stopAudio() {
+        stopCheckpoints()
+        engine.stop()
+        publishState(PlaybackStatus.IDLE)
+    }
+
+    override fun isPlaying(): Boolean = engine.isPlaying
+
+    override fun getCurrentAudio(): AudioContent? = queue.current
+
+    // 从头（或指定位置）准备当前条目，并预加载下一首
+    private fun loadCurrent(startPositionMs: Long = 0) {
+        val audio = queue.current
+        if (audio == null) {
+            engine.stop()
+            publishState(PlaybackStatus.IDLE)
+            return
+        }
+        engine.load(downloadManager.resolve(audio), startPositionMs, playWhenReady)
+        publishState(PlaybackStatus.BUFFERING)
+        preloadNext()
+        if (playWhenReady) startCheckpoints()
+    }
+
+    private fun readyStatus(): PlaybackStatus =
+        if (playWhenReady) PlaybackStatus.PLAYING else PlaybackStatus.PAUSED
+
+    private fun publishState(status: PlaybackStatus) {
+        this.status = status
+        stateHub.publish(status, queue.current, playWhenReady)
+    }
+
+    // 已下载的曲目交给内核时换成本地文件，队列中仍保存原始条目
+    private fun preloadNext() {
+        engine.setNext(queue.next?.let(downloadManager::resolve))
+    }
+
+    private fun saveQueue() {
+        sessionStore.updateQueue(queue.snapshot(), queue.currentIndex, engine.positionMs)
+    }
+
+    private fun savePosition() {
+        if (queue.current != null) sessionStore.updatePosition(queue.currentIndex, engine.positionMs)
+    }
+
+    private fun startCheckpoints() {
+        handler.removeCallbacks(positionCheckpoint)
+        handler.postDelayed(positionCheckpoint, POSITION_CHECKPOINT_MILLIS)
+    }
+
+    // 停止定期记录，并立即写入最后的位置
+    private fun stopCheckpoints() {
+        handler.removeCallbacks(positionCheckpoint)
+        savePosition()
+        sessionStore.flush()
+    }
 
     private fun notifyPlaybackComplete() {
         // TODO: 通知播放完成
     }
 
     override fun onDestroy() {
-        mediaPlayer?.release()
+        stopCheckpoints()
+        stateHub.detach(engine)
+        engine.release()
+        stateHub.publish(PlaybackStatus.IDLE, null, false)
         super.onDestroy()
     }
+
+    companion object {
+        private const val TAG = "AudioPlayerService"
+        private const val POSITION_CHECKPOINT_MILLIS = 1_000L
+    }
 }
@@ -0,0 +1,30 @@
+package com.ai.app.audio_ai.startup
+
+import com.ai.app.audio_ai.BuildConfig
+import com.ai.app.audio_ai.data.local.AudioContentDao
+import com.ai.app.audio_ai.data.network.ConnectionWarmer
+import com.ai.app.audio_ai.data.repository.FeedCollection
+import dagger.Lazy
+import javax.inject.Inject
+import kotlin.reflect.KClass
+
+/**
+ * 预热接口主机和缓存中出现的 CDN 主机，首页的第一个请求不再承担 DNS 和握手耗时
+ */
+class ConnectionWarmupTask @Inject constructor(
+    private val connectionWarmer: Lazy<ConnectionWarmer>,
+    private val audioContentDao: Lazy<AudioContentDao>
+) : StartupTask {
+
+    override val dependencies: List<KClass<out StartupTask>> = listOf(DatabaseTask::class, NetworkTask::class)
+
+    override suspend fun run() {
+        val mediaUrls = audioContentDao.get().getMediaUrls(FeedCollection.HOT.key, SAMPLE_SIZE)
+            .flatMap { listOf(it.coverUrl, it.audioUrl) }
+        connectionWarmer.get().warmUp(listOf(BuildConfig.BASE_URL) + mediaUrls)
+    }
+
+    companion object {
+        private const val SAMPLE_SIZE = 10
+    }
+}
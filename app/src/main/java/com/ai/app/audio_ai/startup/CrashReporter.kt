@@ -0,0 +1,39 @@
+package com.ai.app.audio_ai.startup
+
+import android.content.Context
+import android.util.Log
+import dagger.hilt.android.qualifiers.ApplicationContext
+import java.io.File
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * 未捕获异常时把堆栈写入 files/crash/last_crash.txt，再交给系统默认处理
+ * 不作为启动任务异步执行：必须在 Application.onCreate 中同步安装，否则启动阶段的崩溃记录不到
+ */
+@Singleton
+class CrashReporter @Inject constructor(
+    @ApplicationContext private val context: Context
+) {
+
+    /**
+     * 只替换处理器，不做磁盘操作；目录在崩溃发生时才创建
+     */
+    fun install() {
+        val previous = Thread.getDefaultUncaughtExceptionHandler()
+        Thread.setDefaultUncaughtExceptionHandler { thread, error ->
+            try {
+                val crashDir = File(context.filesDir, CRASH_DIR).apply { mkdirs() }
+                File(crashDir, LAST_CRASH_FILE).writeText("${System.currentTimeMillis()} ${thread.name}\n${Log.getStackTraceString(error)}")
+            } catch (ignored: Exception) {
+                // 写文件失败不能影响系统的崩溃处理
+            }
+            previous?.uncaughtException(thread, error)
+        }
+    }
+
+    companion object {
+        private const val CRASH_DIR = "crash"
+        private const val LAST_CRASH_FILE = "last_crash.txt"
+    }
+}
@@ -0,0 +1,17 @@
+package com.ai.app.audio_ai.startup
+
+import com.ai.app.audio_ai.data.AppDatabase
+import dagger.Lazy
+import javax.inject.Inject
+
+/**
+ * 在后台创建数据库实例并打开连接，首页读取缓存时不再在主线程上等待建库和迁移
+ */
+class DatabaseTask @Inject constructor(
+    private val database: Lazy<AppDatabase>
+) : StartupTask {
+
+    override suspend fun run() {
+        database.get().openHelper.writableDatabase
+    }
+}
@@ -0,0 +1,20 @@
+package com.ai.app.audio_ai.startup
+
+import com.ai.app.audio_ai.data.download.DownloadManager
+import dagger.Lazy
+import javax.inject.Inject
+import kotlin.reflect.KClass
+
+/**
+ * 加载已下载的文件，播放前就能命中本地文件；上次进程退出时未完成的下载从断点继续
+ */
+class DownloadRestoreTask @Inject constructor(
+    private val downloadManager: Lazy<DownloadManager>
+) : StartupTask {
+
+    override val dependencies: List<KClass<out StartupTask>> = listOf(DatabaseTask::class)
+
+    override suspend fun run() {
+        downloadManager.get().restore()
+    }
+}
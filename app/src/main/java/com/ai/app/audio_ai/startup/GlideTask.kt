@@ -0,0 +1,22 @@
+package com.ai.app.audio_ai.startup
+
+import android.content.Context
+import com.bumptech.glide.Glide
+import dagger.hilt.android.qualifiers.ApplicationContext
+import javax.inject.Inject
+import kotlin.reflect.KClass
+
+/**
+ * 在后台初始化 Glide（注册组件、创建磁盘缓存），首页第一次加载封面时不再卡主线程
+ * 依赖网络任务，图片通道的 OkHttpClient 已经创建好
+ */
+class GlideTask @Inject constructor(
+    @ApplicationContext private val context: Context
+) : StartupTask {
+
+    override val dependencies: List<KClass<out StartupTask>> = listOf(NetworkTask::class)
+
+    override suspend fun run() {
+        Glide.get(context)
+    }
+}
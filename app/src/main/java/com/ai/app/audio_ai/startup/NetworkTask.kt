@@ -0,0 +1,20 @@
+package com.ai.app.audio_ai.startup
+
+import com.ai.app.audio_ai.data.api.ApiService
+import com.ai.app.audio_ai.data.remote.AudioApiService
+import dagger.Lazy
+import javax.inject.Inject
+
+/**
+ * 在后台创建 OkHttpClient、Retrofit 和接口代理
+ */
+class NetworkTask @Inject constructor(
+    private val audioApiService: Lazy<AudioApiService>,
+    private val apiService: Lazy<ApiService>
+) : StartupTask {
+
+    override suspend fun run() {
+        audioApiService.get()
+        apiService.get()
+    }
+}
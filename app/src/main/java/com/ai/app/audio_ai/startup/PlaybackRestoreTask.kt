@@ -0,0 +1,28 @@
+package com.ai.app.audio_ai.startup
+
+import com.ai.app.audio_ai.player.AudioPlayerManager
+import com.ai.app.audio_ai.player.PlaybackSessionStore
+import dagger.Lazy
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import javax.inject.Inject
+import kotlin.reflect.KClass
+
+/**
+ * 读取上次的播放队列和进度，在后台准备好当前曲目，用户点播放时不再等待缓冲
+ */
+class PlaybackRestoreTask @Inject constructor(
+    private val sessionStore: Lazy<PlaybackSessionStore>,
+    private val playerManager: Lazy<AudioPlayerManager>
+) : StartupTask {
+
+    override val dependencies: List<KClass<out StartupTask>> = listOf(DatabaseTask::class, DownloadRestoreTask::class)
+
+    override suspend fun run() {
+        val session = sessionStore.get().load() ?: return
+        // 绑定服务和准备播放器都在主线程
+        withContext(Dispatchers.Main) {
+            playerManager.get().restoreSession(session)
+        }
+    }
+}
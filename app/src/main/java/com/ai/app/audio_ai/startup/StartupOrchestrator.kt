@@ -0,0 +1,112 @@
+package com.ai.app.audio_ai.startup
+
+import android.util.Log
+import com.ai.app.audio_ai.di.ApplicationScope
+import com.ai.app.audio_ai.di.IoDispatcher
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.reflect.KClass
+
+private const val TAG = "StartupOrchestrator"
+
+/**
+ * 启动任务调度器
+ * 按 [StartupTask.dependencies] 组成的依赖图执行所有任务，互不依赖的任务在后台并行执行，不阻塞首帧；
+ * 每个任务的耗时记录到 [StartupReport]
+ */
+@Singleton
+class StartupOrchestrator @Inject constructor(
+    private val tasks: Set<@JvmSuppressWildcards StartupTask>,
+    private val report: StartupReport,
+    @ApplicationScope private val scope: CoroutineScope,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher
+) {
+
+    private var job: Job? = null
+
+    /**
+     * 开始执行，重复调用返回同一个 Job
+     * @throws IllegalStateException 依赖的任务没有注册或存在循环依赖
+     */
+    @Synchronized
+    fun start(): Job {
+        job?.let { return it }
+        val byType = tasks.associateBy { it::class }
+        checkGraph(byType)
+
+        val origin = System.nanoTime()
+        val results = HashMap<KClass<out StartupTask>, Deferred<Boolean>>()
+        // 懒启动，所有 Deferred 创建完之后才开始执行，依赖查找不会遇到空值
+        byType.forEach { (type, task) ->
+            results[type] = scope.async(start = CoroutineStart.LAZY) {
+                val dependenciesSucceeded = task.dependencies.map { results.getValue(it) }.awaitAll().all { it }
+                if (dependenciesSucceeded) {
+                    execute(task, origin)
+                } else {
+                    report.recordSkipped(task.name)
+                    false
+                }
+            }
+        }
+        return scope.launch {
+            results.values.awaitAll()
+            Log.i(TAG, "启动任务完成，共 ${nanosToMillis(System.nanoTime() - origin)} ms")
+        }.also { job = it }
+    }
+
+    private suspend fun execute(task: StartupTask, origin: Long): Boolean {
+        val dispatcher = if (task.runsOnMainThread) Dispatchers.Main.immediate else ioDispatcher
+        return withContext(dispatcher) {
+            val start = System.nanoTime()
+            val succeeded = try {
+                task.run()
+                true
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Log.e(TAG, "${task.name} 执行失败", e)
+                false
+            }
+            report.record(
+                StartupReport.TaskTiming(
+                    name = task.name,
+                    startMillis = nanosToMillis(start - origin),
+                    durationMillis = nanosToMillis(System.nanoTime() - start),
+                    thread = Thread.currentThread().name,
+                    succeeded = succeeded
+                )
+            )
+            succeeded
+        }
+    }
+
+    private fun nanosToMillis(nanos: Long): Long = TimeUnit.NANOSECONDS.toMillis(nanos)
+
+    private fun checkGraph(byType: Map<KClass<out StartupTask>, StartupTask>) {
+        val visiting = HashSet<KClass<out StartupTask>>()
+        val visited = HashSet<KClass<out StartupTask>>()
+
+        fun visit(type: KClass<out StartupTask>, path: List<String>) {
+            if (type in visited) return
+            val task = byType[type] ?: throw IllegalStateException("${path.last()} 依赖的 ${type.simpleName} 没有注册")
+            check(visiting.add(type)) { "启动任务循环依赖: ${(path + task.name).joinToString(" -> ")}" }
+            task.dependencies.forEach { visit(it, path + task.name) }
+            visiting.remove(type)
+            visited.add(type)
+        }
+
+        byType.keys.forEach { visit(it, emptyList()) }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ai.app.audio_ai.startup
+
+import android.app.Activity
+import android.os.Process
+import android.os.SystemClock
+import android.util.Log
+import android.view.ViewTreeObserver
+import java.util.concurrent.CopyOnWriteArrayList
+import javax.inject.Inject
+import javax.inject.Singleton
+
+private const val TAG = "StartupReport"
+
+/**
+ * 启动过程的耗时记录：各启动任务的开始时间、耗时、执行线程，以及进程启动到首帧的时间
+ */
+@Singleton
+class StartupReport @Inject constructor() {
+
+    /**
+     * @param startMillis 相对调度开始的时间
+     * @param skipped 依赖失败而未执行
+     */
+    data class TaskTiming(
+        val name: String,
+        val startMillis: Long,
+        val durationMillis: Long,
+        val thread: String,
+        val succeeded: Boolean,
+        val skipped: Boolean = false
+    )
+
+    private val timings = CopyOnWriteArrayList<TaskTiming>()
+
+    @Volatile
+    var firstFrameMillis: Long? = null
+        private set
+
+    fun record(timing: TaskTiming) {
+        timings += timing
+        Log.i(TAG, "${timing.name}: ${timing.durationMillis} ms on ${timing.thread}" + if (timing.succeeded) "" else " (failed)")
+    }
+
+    fun recordSkipped(name: String) {
+        timings += TaskTiming(name, 0, 0, "", succeeded = false, skipped = true)
+        Log.w(TAG, "$name: 依赖失败，已跳过")
+    }
+
+    fun timings(): List<TaskTiming> = timings.sortedBy { it.startMillis }
+
+    /**
+     * 记录进程启动到首帧绘制的时间，只记录第一次
+     */
+    fun trackFirstFrame(activity: Activity) {
+        if (firstFrameMillis != null) return
+        val decorView = activity.window.decorView
+        decorView.viewTreeObserver.addOnDrawListener(object : ViewTreeObserver.OnDrawListener {
+            private var drawn = false
+
+            override fun onDraw() {
+                if (drawn) return
+                drawn = true
+                val elapsed = SystemClock.uptimeMillis() - Process.getStartUptimeMillis()
+                firstFrameMillis = elapsed
+                Log.i(TAG, "首帧: $elapsed ms")
+                // 绘制过程中不能移除监听
+                decorView.post { decorView.viewTreeObserver.removeOnDrawListener(this) }
+            }
+        })
+    }
+
+    fun dump(): String = buildString {
+        firstFrameMillis?.let { appendLine("首帧 $it ms") }
+        timings().forEach { timing ->
+            val status = when {
+                timing.skipped -> "跳过"
+                timing.succeeded -> "${timing.durationMillis} ms"
+                else -> "失败 ${timing.durationMillis} ms"
+            }
+            appendLine("  %-24s +%-5d %s".format(timing.name, timing.startMillis, status))
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ai.app.audio_ai.startup
+
+import kotlin.reflect.KClass
+
+/**
+ * 启动任务，由 [StartupOrchestrator] 按依赖关系调度
+ * 没有依赖关系的任务并行执行；构造函数在主线程调用，重量级依赖请用 dagger.Lazy 注入，在 [run] 中再获取
+ */
+interface StartupTask {
+
+    val name: String get() = javaClass.simpleName
+
+    /**
+     * 必须先完成的任务，任一依赖失败时本任务跳过
+     */
+    val dependencies: List<KClass<out StartupTask>> get() = emptyList()
+
+    /**
+     * 需要在主线程执行时返回 true，默认在 IO 调度器上执行
+     */
+    val runsOnMainThread: Boolean get() = false
+
+    suspend fun run()
+}
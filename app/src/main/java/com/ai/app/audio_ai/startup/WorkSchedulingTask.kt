@@ -0,0 +1,18 @@
+package com.ai.app.audio_ai.startup
+
+import android.content.Context
+import com.ai.app.audio_ai.data.sync.CatalogSyncWorker
+import dagger.hilt.android.qualifiers.ApplicationContext
+import javax.inject.Inject
+
+/**
+ * 注册后台定时同步，WorkManager 入队需要读写它自己的数据库
+ */
+class WorkSchedulingTask @Inject constructor(
+    @ApplicationContext private val context: Context
+) : StartupTask {
+
+    override suspend fun run() {
+        CatalogSyncWorker.schedule(context)
+    }
+}
@@ -6,25 +6,43 @@ import androidx.activity.OnBackPressedCallback
 import androidx.appcompat.app.AlertDialog
 import androidx.appcompat.app.AppCompatActivity
 import androidx.fragment.app.Fragment
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import androidx.navigation.fragment.NavHostFragment
 import com.ai.app.audio_ai.R
 import com.ai.app.audio_ai.databinding.ActivityMainBinding
+import com.ai.app.audio_ai.player.AudioPlayerManager
+import com.ai.app.audio_ai.player.PlaybackStateHub
+import com.ai.app.audio_ai.startup.StartupReport
 import com.ai.app.audio_ai.ui.category.CategoryFragment
 import com.ai.app.audio_ai.ui.discover.DiscoverFragment
 import com.ai.app.audio_ai.ui.home.HomeFragment
 import com.ai.app.audio_ai.ui.profile.ProfileFragment
 import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.launch
+import javax.inject.Inject
 
 @AndroidEntryPoint
 class MainActivity : AppCompatActivity() {
 
+    @Inject
+    lateinit var startupReport: StartupReport
+
+    @Inject
+    lateinit var playerManager: AudioPlayerManager
+
+    @Inject
+    lateinit var stateHub: PlaybackStateHub
+
     private lateinit var binding: ActivityMainBinding
     private lateinit var navHostFragment: NavHostFragment
     
     // 缓存底部导航对应的Fragment实例
     private val homeFragment by lazy { HomeFragment() }
     private val discoverFragment by lazy { DiscoverFragment() }
-    private val categoryFragment by lazy { CategoryFragment() }
+    // 底部导航的分类页不指定分类，展示热门列表
+    private val categoryFragment by lazy { CategoryFragment.newInstance() }
     private val profileFragment by lazy { ProfileFragment() }
     
     // 当前显示的Fragment
@@ -37,6 +55,7 @@ class MainActivity : AppCompatActivity() {
         super.onCreate(savedInstanceState)
         binding = ActivityMainBinding.inflate(layoutInflater)
         setContentView(binding.root)
+        startupReport.trackFirstFrame(this)
 
         navHostFragment = supportFragmentManager.findFragmentById(R.id.nav_host_fragment) as NavHostFragment
         
@@ -58,6 +77,24 @@ class MainActivity : AppCompatActivity() {
         }
         
         setupBackPressedHandler()
+        setupPlayerControl()
+    }
+
+    private fun setupPlayerControl() {
+        // 上次的会话在启动时已经准备好，这里点播放直接开始
+        binding.playerControl.onPlayPauseClick = {
+            if (stateHub.state.value.playWhenReady) playerManager.pause() else playerManager.resume()
+        }
+        binding.playerControl.onCloseClick = {
+            playerManager.clearQueue()
+            playerManager.stop()
+        }
+
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                stateHub.state.collect(binding.playerControl::bind)
+            }
+        }
     }
     
     private fun setupBottomNavigation() {
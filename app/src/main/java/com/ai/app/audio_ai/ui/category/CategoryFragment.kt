@@ -4,25 +4,79 @@ import android.os.Bundle
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
+import androidx.core.os.bundleOf
 import androidx.fragment.app.Fragment
+import androidx.fragment.app.viewModels
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
+import androidx.navigation.fragment.findNavController
+import androidx.recyclerview.widget.LinearLayoutManager
 import com.ai.app.audio_ai.R
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.databinding.FragmentCategoryBinding
+import com.ai.app.audio_ai.ui.detail.DetailFragment
+import com.ai.app.audio_ai.ui.home.adapters.AudioPagingAdapter
+import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class CategoryFragment : Fragment() {
 
+    private var _binding: FragmentCategoryBinding? = null
+    private val binding get() = _binding!!
+
+    private val viewModel: CategoryViewModel by viewModels()
+
+    private val pagingAdapter by lazy {
+        AudioPagingAdapter(::openDetail)
+    }
+
     override fun onCreateView(
         inflater: LayoutInflater,
         container: ViewGroup?,
         savedInstanceState: Bundle?
-    ): View? {
-        return inflater.inflate(R.layout.fragment_category, container, false)
+    ): View {
+        _binding = FragmentCategoryBinding.inflate(inflater, container, false)
+        return binding.root
     }
 
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
         super.onViewCreated(view, savedInstanceState)
-        // TODO: 初始化分类内容
+
+        arguments?.getString(ARG_CATEGORY)?.let { binding.tvCategoryTitle.text = it }
+
+        binding.rvAudioContents.apply {
+            layoutManager = LinearLayoutManager(context)
+            adapter = pagingAdapter
+        }
+
+        viewLifecycleOwner.lifecycleScope.launch {
+            viewLifecycleOwner.repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.audioContents.collect { pagingData ->
+                    pagingAdapter.submitData(pagingData)
+                }
+            }
+        }
+    }
+
+    private fun openDetail(item: AudioContent) {
+        findNavController().navigate(
+            R.id.action_navigation_category_to_detailFragment,
+            bundleOf(DetailFragment.ARG_AUDIO_ID to item.id)
+        )
+    }
+
+    override fun onDestroyView() {
+        super.onDestroyView()
+        _binding = null
     }
 
     companion object {
-        fun newInstance() = CategoryFragment()
+        const val ARG_CATEGORY = "category"
+
+        fun newInstance(category: String? = null) = CategoryFragment().apply {
+            arguments = bundleOf(ARG_CATEGORY to category)
+        }
     }
 }
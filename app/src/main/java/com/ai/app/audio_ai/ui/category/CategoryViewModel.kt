@@ -0,0 +1,29 @@
+package com.ai.app.audio_ai.ui.category
+
+import androidx.lifecycle.SavedStateHandle
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import androidx.paging.PagingData
+import androidx.paging.cachedIn
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.paging.PagedFeed
+import com.ai.app.audio_ai.data.repository.AudioPagingRepository
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.flow.Flow
+import javax.inject.Inject
+
+@HiltViewModel
+class CategoryViewModel @Inject constructor(
+    savedStateHandle: SavedStateHandle,
+    pagingRepository: AudioPagingRepository
+) : ViewModel() {
+
+    // 未指定分类时展示热门列表
+    private val feed: PagedFeed = savedStateHandle.get<String>(CategoryFragment.ARG_CATEGORY)
+        ?.let { PagedFeed.Category(it) }
+        ?: PagedFeed.Hot
+
+    val audioContents: Flow<PagingData<AudioContent>> = pagingRepository
+        .pagedFeed(feed)
+        .cachedIn(viewModelScope)
+}
@@ -8,11 +8,17 @@ import android.view.ViewGroup
 import android.widget.Toast
 import androidx.fragment.app.Fragment
 import androidx.fragment.app.viewModels
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import androidx.navigation.fragment.findNavController
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.RecyclerView
 import com.ai.app.audio_ai.data.model.AudioContent
 import com.ai.app.audio_ai.databinding.FragmentDetailBinding
+import com.ai.app.audio_ai.player.AudioPlayerManager
+import com.ai.app.audio_ai.player.PlaybackState
+import com.ai.app.audio_ai.player.PlaybackStateHub
 import com.ai.app.audio_ai.ui.home.adapters.RecommendationAdapter
 import com.ai.app.audio_ai.R
 import androidx.core.os.bundleOf
@@ -20,6 +26,8 @@ import com.bumptech.glide.Glide
 import okhttp3.internal.concurrent.formatDuration
 
 import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.launch
+import javax.inject.Inject
 
 @AndroidEntryPoint
 class DetailFragment : Fragment() {
@@ -30,8 +38,14 @@ class DetailFragment : Fragment() {
     private val viewModel: DetailViewModel by viewModels()
     private lateinit var relatedAdapter: RecommendationAdapter
 
-    // 播放状态
-    private var isPlaying = false
+    @Inject
+    lateinit var playerManager: AudioPlayerManager
+
+    @Inject
+    lateinit var stateHub: PlaybackStateHub
+
+    // 拖动进度条期间不接受播放进度刷新
+    private var isSeeking = false
 
     override fun onCreateView(
         inflater: LayoutInflater,
@@ -46,7 +60,7 @@ class DetailFragment : Fragment() {
         super.onViewCreated(view, savedInstanceState)
 
         // 获取传递的音频内容ID
-        arguments?.getInt("audioId")?.let { audioId ->
+        arguments?.getString(ARG_AUDIO_ID)?.let { audioId ->
             setupViews()
             setupObservers()
             viewModel.loadAudioContentDetail(audioId)
@@ -65,7 +79,7 @@ class DetailFragment : Fragment() {
 
         // 设置重试按钮
         binding.btnRetry.setOnClickListener {
-            arguments?.getInt("audioId")?.let { audioId ->
+            arguments?.getString(ARG_AUDIO_ID)?.let { audioId ->
                 binding.errorContainer.visibility = View.GONE
                 binding.progressBar.visibility = View.VISIBLE
                 viewModel.loadAudioContentDetail(audioId)
@@ -81,17 +95,20 @@ class DetailFragment : Fragment() {
         binding.seekBar.setOnSeekBarChangeListener(object : android.widget.SeekBar.OnSeekBarChangeListener {
             override fun onProgressChanged(seekBar: android.widget.SeekBar?, progress: Int, fromUser: Boolean) {
                 if (fromUser) {
-                    // TODO: 实现音频播放进度控制
                     updateCurrentTime(progress)
                 }
             }
 
             override fun onStartTrackingTouch(seekBar: android.widget.SeekBar?) {
-                // 开始拖动时的处理
+                isSeeking = true
             }
 
             override fun onStopTrackingTouch(seekBar: android.widget.SeekBar?) {
-                // 停止拖动时的处理
+                isSeeking = false
+                // 只有当前播放的就是本页内容时才跳转
+                if (isCurrentContent(stateHub.state.value)) {
+                    playerManager.seekTo((seekBar?.progress ?: 0) * 1000L)
+                }
             }
         })
 
@@ -106,7 +123,7 @@ class DetailFragment : Fragment() {
                 // 处理点击事件
                 findNavController().navigate(
                     R.id.action_detailFragment_to_audioDetailFragment,
-                    bundleOf("audioId" to audioContent.id.toInt())
+                    bundleOf(ARG_AUDIO_ID to audioContent.id)
                 )
             }
         )
@@ -122,6 +139,14 @@ class DetailFragment : Fragment() {
         // 观察音频内容详情数据
         viewModel.audioContent.observe(viewLifecycleOwner) { content ->
             updateContent(content)
+            renderPlaybackState(stateHub.state.value)
+        }
+
+        // 观察播放状态，只展示本页内容的进度
+        viewLifecycleOwner.lifecycleScope.launch {
+            viewLifecycleOwner.repeatOnLifecycle(Lifecycle.State.STARTED) {
+                stateHub.state.collect(::renderPlaybackState)
+            }
         }
 
         // 观察加载状态
@@ -188,27 +213,36 @@ class DetailFragment : Fragment() {
         // 显示内容
         binding.contentContainer.visibility = View.VISIBLE
 
-        // 初始化播放器状态
-        initializePlayer(content)
-    }
-
-    private fun initializePlayer(content: AudioContent) {
-        // TODO: 实现音频播放器初始化
         binding.seekBar.max = content.duration.toInt()
-        binding.seekBar.progress = 0
-        updateCurrentTime(0)
-        isPlaying = false
-        updatePlayPauseButton()
     }
 
     private fun togglePlayPause() {
-        isPlaying = !isPlaying
-        // TODO: 实现音频播放/暂停功能
-        updatePlayPauseButton()
-        Toast.makeText(context, if (isPlaying) "开始播放" else "暂停播放", Toast.LENGTH_SHORT).show()
+        val content = viewModel.audioContent.value ?: return
+        val state = stateHub.state.value
+        when {
+            !isCurrentContent(state) -> playerManager.play(content)
+            state.playWhenReady -> playerManager.pause()
+            else -> playerManager.resume()
+        }
+    }
+
+    private fun isCurrentContent(state: PlaybackState): Boolean {
+        val content = viewModel.audioContent.value ?: return false
+        return state.audio?.id == content.id
     }
 
-    private fun updatePlayPauseButton() {
+    private fun renderPlaybackState(state: PlaybackState) {
+        if (_binding == null || viewModel.audioContent.value == null) return
+        val isCurrent = isCurrentContent(state)
+        updatePlayPauseButton(isCurrent && state.playWhenReady)
+        if (isSeeking) return
+        val positionSeconds = if (isCurrent) (state.positionMs / 1000).toInt() else 0
+        binding.seekBar.progress = positionSeconds
+        binding.seekBar.secondaryProgress = if (isCurrent) (state.bufferedPositionMs / 1000).toInt() else 0
+        updateCurrentTime(positionSeconds)
+    }
+
+    private fun updatePlayPauseButton(isPlaying: Boolean) {
         binding.ivPlayPause.setImageResource(
             if (isPlaying) android.R.drawable.ic_media_pause
             else android.R.drawable.ic_media_play
@@ -230,4 +264,8 @@ class DetailFragment : Fragment() {
         super.onDestroyView()
         _binding = null
     }
+
+    companion object {
+        const val ARG_AUDIO_ID = "audioId"
+    }
 }
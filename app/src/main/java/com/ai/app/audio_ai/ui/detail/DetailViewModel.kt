@@ -32,7 +32,7 @@ class DetailViewModel @Inject constructor(
      * 加载音频内容详情
      * @param id 音频内容ID
      */
-    fun loadAudioContentDetail(id: Int) {
+    fun loadAudioContentDetail(id: String) {
         _isLoading.value = true
         _errorMessage.value = null
 
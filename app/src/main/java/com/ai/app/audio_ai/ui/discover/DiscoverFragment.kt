@@ -4,10 +4,17 @@ import android.os.Bundle
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
+import androidx.core.widget.doAfterTextChanged
 import androidx.fragment.app.Fragment
 import androidx.fragment.app.viewModels
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
+import androidx.recyclerview.widget.LinearLayoutManager
 import com.ai.app.audio_ai.databinding.FragmentDiscoverBinding
+import com.ai.app.audio_ai.ui.home.adapters.RecommendationAdapter
 import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.launch
 
 @AndroidEntryPoint
 class DiscoverFragment : Fragment() {
@@ -17,6 +24,12 @@ class DiscoverFragment : Fragment() {
     
     private val viewModel: DiscoverViewModel by viewModels()
 
+    private val searchResultAdapter by lazy {
+        RecommendationAdapter(emptyList()) { item ->
+            // Handle item click
+        }
+    }
+
     override fun onCreateView(
         inflater: LayoutInflater,
         container: ViewGroup?,
@@ -26,6 +39,31 @@ class DiscoverFragment : Fragment() {
         return binding.root
     }
 
+    override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
+        super.onViewCreated(view, savedInstanceState)
+
+        binding.rvSearchResults.apply {
+            layoutManager = LinearLayoutManager(context)
+            adapter = searchResultAdapter
+        }
+
+        binding.etSearch.doAfterTextChanged { text ->
+            viewModel.onQueryChanged(text?.toString().orEmpty())
+        }
+
+        viewLifecycleOwner.lifecycleScope.launch {
+            viewLifecycleOwner.repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.uiState.collect { state ->
+                    searchResultAdapter.items = state.results
+                    searchResultAdapter.notifyDataSetChanged()
+                    binding.progressSearch.visibility = if (state.isSearching) View.VISIBLE else View.GONE
+                    binding.tvEmpty.visibility =
+                        if (state.query.isNotEmpty() && !state.isSearching && state.results.isEmpty()) View.VISIBLE else View.GONE
+                }
+            }
+        }
+    }
+
     override fun onDestroyView() {
         super.onDestroyView()
         _binding = null
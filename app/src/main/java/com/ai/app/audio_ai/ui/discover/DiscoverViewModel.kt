@@ -1,10 +1,77 @@
 package com.ai.app.audio_ai.ui.discover
 
 import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.search.AudioSearchRepository
+import com.ai.app.audio_ai.data.search.SearchMatcher
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.debounce
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
 import javax.inject.Inject
 
+/**
+ * 搜索页状态
+ * @param query 当前结果对应的搜索词
+ * @param results 搜索结果
+ * @param isSearching 服务端结果是否还在路上
+ */
+data class SearchUiState(
+    val query: String = "",
+    val results: List<AudioContent> = emptyList(),
+    val isSearching: Boolean = false
+)
+
+@OptIn(FlowPreview::class, ExperimentalCoroutinesApi::class)
 @HiltViewModel
-class DiscoverViewModel @Inject constructor() : ViewModel() {
-    // 这里可以添加发现页面的业务逻辑
+class DiscoverViewModel @Inject constructor(
+    private val searchRepository: AudioSearchRepository
+) : ViewModel() {
+
+    private val query = MutableStateFlow("")
+
+    /**
+     * 输入停顿后才搜索；相同的搜索词不重复搜索；新的搜索词会取消上一次仍在进行的请求，
+     * 因此旧请求的结果不会覆盖新结果
+     */
+    val uiState: StateFlow<SearchUiState> = query
+        .map { SearchMatcher.normalize(it) }
+        .debounce(SEARCH_DEBOUNCE_MILLIS)
+        .distinctUntilChanged()
+        .flatMapLatest { keyword ->
+            if (keyword.isEmpty()) {
+                flowOf(SearchUiState())
+            } else {
+                flow {
+                    // 第一次发出的是本地结果，之后是合并了服务端的结果
+                    var latest = emptyList<AudioContent>()
+                    var isLocal = true
+                    searchRepository.search(keyword).collect { results ->
+                        latest = results
+                        emit(SearchUiState(keyword, results, isSearching = isLocal))
+                        isLocal = false
+                    }
+                    emit(SearchUiState(keyword, latest, isSearching = false))
+                }
+            }
+        }
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), SearchUiState())
+
+    fun onQueryChanged(text: String) {
+        query.value = text
+    }
+
+    companion object {
+        private const val SEARCH_DEBOUNCE_MILLIS = 300L
+    }
 }
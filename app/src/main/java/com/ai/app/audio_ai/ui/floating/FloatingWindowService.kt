@@ -22,6 +22,8 @@ import android.widget.ProgressBar
 import android.widget.TextView
 import android.widget.Toast
 import com.ai.app.audio_ai.R
+import com.ai.app.audio_ai.service.CommandAction
+import com.ai.app.audio_ai.service.CommandResult
 import com.ai.app.audio_ai.service.SpeechRecognitionService
 import com.ai.app.audio_ai.service.VoiceCommandProcessor
 
@@ -36,7 +38,7 @@ class FloatingWindowService : Service() {
     private val binder = LocalBinder()
 
     interface CommandListener {
-        fun onCommandReceived(command: VoiceCommandProcessor.CommandResult)
+        fun onCommandReceived(command: CommandResult)
     }
 
     fun setCommandListener(listener: CommandListener) {
@@ -133,7 +135,7 @@ class FloatingWindowService : Service() {
             // 在UI线程中处理命令结果
             Handler(Looper.getMainLooper()).post {
                 when (result.action) {
-                    VoiceCommandProcessor.CommandAction.CLOSE_FLOATING -> {
+                    CommandAction.CLOSE_FLOATING -> {
                         stopSelf()
                     }
                     else -> {
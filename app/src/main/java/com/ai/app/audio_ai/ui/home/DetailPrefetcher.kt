@@ -0,0 +1,47 @@
+package com.ai.app.audio_ai.ui.home
+
+import com.ai.app.audio_ai.data.repository.AudioRepository
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.job
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+
+/**
+ * 按住条目时预取详情，跳转到详情页时可以直接命中 AudioDetailCache
+ * 同时进行的预取数受 [maxConcurrent] 限制，许可一直持有到实际加载结束；条目滑出屏幕后取消排队中或进行中的预取
+ * 只在主线程调用
+ */
+class DetailPrefetcher(
+    private val scope: CoroutineScope,
+    private val repository: AudioRepository,
+    maxConcurrent: Int = DEFAULT_MAX_CONCURRENT
+) {
+
+    private val permits = Semaphore(maxConcurrent)
+    private val jobs = HashMap<String, Job>()
+
+    fun prefetch(audioId: String) {
+        if (jobs[audioId]?.isActive == true) return
+        jobs[audioId] = scope.launch {
+            try {
+                // 结果写入详情缓存，这里不关心成功与否；取消时详情缓存会等加载真正停止后才返回
+                permits.withPermit { repository.getAudioContent(audioId) }
+            } finally {
+                if (jobs[audioId] === coroutineContext.job) jobs.remove(audioId)
+            }
+        }
+    }
+
+    /**
+     * 没有其他调用方在等同一条详情时，进行中的请求随之取消；详情页已在等待时由它继续完成
+     */
+    fun cancel(audioId: String) {
+        jobs.remove(audioId)?.cancel()
+    }
+
+    companion object {
+        const val DEFAULT_MAX_CONCURRENT = 2
+    }
+}
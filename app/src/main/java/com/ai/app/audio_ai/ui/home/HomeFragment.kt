@@ -4,15 +4,27 @@ import android.os.Bundle
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
+import androidx.core.os.bundleOf
 import androidx.fragment.app.Fragment
 import androidx.fragment.app.viewModels
 import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.lifecycleScope
 import androidx.lifecycle.repeatOnLifecycle
+import androidx.navigation.fragment.findNavController
 import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
 import kotlinx.coroutines.launch
+import com.ai.app.audio_ai.R
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.repository.FeedCollection
 import com.ai.app.audio_ai.databinding.FragmentHomeBinding
+import com.ai.app.audio_ai.ui.detail.DetailFragment
+import com.ai.app.audio_ai.ui.home.adapters.CoverPreloadModelProvider
 import com.ai.app.audio_ai.ui.home.adapters.RecommendationAdapter
+import com.bumptech.glide.Glide
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader
+import com.bumptech.glide.util.ViewPreloadSizeProvider
+import com.google.android.material.snackbar.Snackbar
 import dagger.hilt.android.AndroidEntryPoint
 
 @AndroidEntryPoint
@@ -24,14 +36,22 @@ class HomeFragment : Fragment() {
     private val viewModel: HomeViewModel by viewModels()
 
     private val hotRecommendationAdapter by lazy {
-        RecommendationAdapter(emptyList()) { item ->
-            // Handle item click
+        RecommendationAdapter(
+            items = emptyList(),
+            onItemPressed = viewModel::prefetchDetail,
+            onItemDetached = viewModel::cancelPrefetch
+        ) { item ->
+            openDetail(item)
         }
     }
     
     private val newReleaseAdapter by lazy {
-        RecommendationAdapter(emptyList()) { item ->
-            // Handle item click
+        RecommendationAdapter(
+            items = emptyList(),
+            onItemPressed = viewModel::prefetchDetail,
+            onItemDetached = viewModel::cancelPrefetch
+        ) { item ->
+            openDetail(item)
         }
     }
 
@@ -62,36 +82,79 @@ class HomeFragment : Fragment() {
             layoutManager = LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false)
             adapter = newReleaseAdapter
         }
+
+        attachCoverPreloader(binding.rvHotRecommendations, hotRecommendationAdapter)
+        attachCoverPreloader(binding.rvNewReleases, newReleaseAdapter)
+    }
+
+    /**
+     * 随滚动预加载前方 [COVER_PRELOAD_COUNT] 个封面，尺寸取自实际的封面视图
+     */
+    private fun attachCoverPreloader(recyclerView: RecyclerView, adapter: RecommendationAdapter) {
+        val requestManager = Glide.with(this)
+        val sizeProvider = ViewPreloadSizeProvider<AudioContent>()
+        adapter.preloadSizeProvider = sizeProvider
+        recyclerView.addOnScrollListener(
+            RecyclerViewPreloader(
+                requestManager,
+                CoverPreloadModelProvider(requestManager) { adapter.items },
+                sizeProvider,
+                COVER_PRELOAD_COUNT
+            )
+        )
     }
 
     private fun setupObservers() {
         lifecycleScope.launch {
             repeatOnLifecycle(Lifecycle.State.STARTED) {
                 launch {
-                    viewModel.hotRecommendations.collect { items ->
-                        hotRecommendationAdapter.items = items
+                    viewModel.hotRecommendations.collect { section ->
+                        hotRecommendationAdapter.items = section.items
                         hotRecommendationAdapter.notifyDataSetChanged()
+                        showSectionError(section, FeedCollection.HOT)
                     }
                 }
                 
                 launch {
-                    viewModel.newReleases.collect { items ->
-                        newReleaseAdapter.items = items
+                    viewModel.newReleases.collect { section ->
+                        newReleaseAdapter.items = section.items
                         newReleaseAdapter.notifyDataSetChanged()
+                        showSectionError(section, FeedCollection.NEW)
                     }
                 }
                 
                 launch {
-                    viewModel.banners.collect { banners ->
+                    viewModel.banners.collect { section ->
                         // Setup banner view
+                        showSectionError(section, FeedCollection.BANNERS)
                     }
                 }
             }
         }
     }
 
+    // 只在该模块没有缓存可展示时提示错误，有缓存时静默保留旧数据
+    private fun showSectionError(section: HomeSection<*>, collection: FeedCollection) {
+        val errorMessage = section.errorMessage ?: return
+        if (section.items.isNotEmpty()) return
+        Snackbar.make(binding.root, errorMessage, Snackbar.LENGTH_LONG)
+            .setAction("重试") { viewModel.retry(collection) }
+            .show()
+    }
+
+    private fun openDetail(item: AudioContent) {
+        findNavController().navigate(
+            R.id.action_navigation_home_to_detailFragment,
+            bundleOf(DetailFragment.ARG_AUDIO_ID to item.id)
+        )
+    }
+
     override fun onDestroyView() {
         super.onDestroyView()
         _binding = null
     }
+
+    companion object {
+        private const val COVER_PRELOAD_COUNT = 4
+    }
 }
@@ -0,0 +1,13 @@
+package com.ai.app.audio_ai.ui.home
+
+/**
+ * 首页单个模块的状态
+ * @param items 当前展示的数据，来自本地缓存
+ * @param isLoading 是否正在从网络刷新
+ * @param errorMessage 最近一次刷新失败的原因
+ */
+data class HomeSection<T>(
+    val items: List<T> = emptyList(),
+    val isLoading: Boolean = false,
+    val errorMessage: String? = null
+)
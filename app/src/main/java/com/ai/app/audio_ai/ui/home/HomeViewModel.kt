@@ -5,45 +5,108 @@ import androidx.lifecycle.viewModelScope
 import com.ai.app.audio_ai.data.model.AudioContent
 import com.ai.app.audio_ai.data.model.Banner
 import com.ai.app.audio_ai.data.repository.AudioRepository
+import com.ai.app.audio_ai.data.repository.FeedCollection
+import com.ai.app.audio_ai.data.repository.HomeFeedLoader
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import javax.inject.Inject
 
 @HiltViewModel
 class HomeViewModel @Inject constructor(
-    private val repository: AudioRepository
+    private val repository: AudioRepository,
+    private val homeFeedLoader: HomeFeedLoader
 ) : ViewModel() {
 
-    private val _hotRecommendations = MutableStateFlow<List<AudioContent>>(emptyList())
-    val hotRecommendations: StateFlow<List<AudioContent>> = _hotRecommendations.asStateFlow()
+    private val _hotRecommendations = MutableStateFlow(HomeSection<AudioContent>())
+    val hotRecommendations: StateFlow<HomeSection<AudioContent>> = _hotRecommendations.asStateFlow()
 
-    private val _newReleases = MutableStateFlow<List<AudioContent>>(emptyList())
-    val newReleases: StateFlow<List<AudioContent>> = _newReleases.asStateFlow()
+    private val _newReleases = MutableStateFlow(HomeSection<AudioContent>())
+    val newReleases: StateFlow<HomeSection<AudioContent>> = _newReleases.asStateFlow()
 
-    private val _banners = MutableStateFlow<List<Banner>>(emptyList())
-    val banners: StateFlow<List<Banner>> = _banners.asStateFlow()
+    private val _banners = MutableStateFlow(HomeSection<Banner>())
+    val banners: StateFlow<HomeSection<Banner>> = _banners.asStateFlow()
 
-    private val _isLoading = MutableStateFlow(false)
-    val isLoading: StateFlow<Boolean> = _isLoading.asStateFlow()
+    private val detailPrefetcher = DetailPrefetcher(viewModelScope, repository)
 
-    private val _errorMessage = MutableStateFlow<String?>(null)
-    val errorMessage: StateFlow<String?> = _errorMessage.asStateFlow()
+    private var isObserving = false
 
+    /**
+     * 订阅本地缓存，首帧直接使用缓存数据，同时并发刷新已过期的模块
+     */
     fun loadData() {
+        if (!isObserving) {
+            isObserving = true
+            repository.observeBanners()
+                .onEach { items -> _banners.update { it.copy(items = items) } }
+                .launchIn(viewModelScope)
+            repository.observeHotRecommendations()
+                .onEach { items -> _hotRecommendations.update { it.copy(items = items) } }
+                .launchIn(viewModelScope)
+            repository.observeNewReleases()
+                .onEach { items -> _newReleases.update { it.copy(items = items) } }
+                .launchIn(viewModelScope)
+        }
+        load(force = false)
+    }
+
+    /**
+     * 忽略缓存有效期，强制从网络刷新
+     */
+    fun refresh() {
+        load(force = true)
+    }
+
+    /**
+     * 重试单个模块
+     */
+    fun retry(collection: FeedCollection) {
         viewModelScope.launch {
-            try {
-                _isLoading.value = true
-                _banners.value = repository.getBanners()
-                _hotRecommendations.value = repository.getHotRecommendations()
-                _newReleases.value = repository.getNewReleases()
-            } catch (e: Exception) {
-                _errorMessage.value = e.message ?: "Unknown error occurred"
-            } finally {
-                _isLoading.value = false
-            }
+            setLoading(collection)
+            onSectionLoaded(collection, homeFeedLoader.retry(collection))
+        }
+    }
+
+    /**
+     * 按下推荐条目时预取详情
+     */
+    fun prefetchDetail(item: AudioContent) {
+        detailPrefetcher.prefetch(item.id)
+    }
+
+    /**
+     * 条目滑出屏幕，取消对应的预取
+     */
+    fun cancelPrefetch(item: AudioContent) {
+        detailPrefetcher.cancel(item.id)
+    }
+
+    private fun load(force: Boolean) {
+        viewModelScope.launch {
+            FeedCollection.values().forEach { setLoading(it) }
+            homeFeedLoader.load(force, ::onSectionLoaded)
+        }
+    }
+
+    private fun setLoading(collection: FeedCollection) {
+        when (collection) {
+            FeedCollection.BANNERS -> _banners.update { it.copy(isLoading = true, errorMessage = null) }
+            FeedCollection.HOT -> _hotRecommendations.update { it.copy(isLoading = true, errorMessage = null) }
+            FeedCollection.NEW -> _newReleases.update { it.copy(isLoading = true, errorMessage = null) }
+        }
+    }
+
+    private fun onSectionLoaded(collection: FeedCollection, result: Result<Unit>) {
+        val errorMessage = result.exceptionOrNull()?.let { it.message ?: "Unknown error occurred" }
+        when (collection) {
+            FeedCollection.BANNERS -> _banners.update { it.copy(isLoading = false, errorMessage = errorMessage) }
+            FeedCollection.HOT -> _hotRecommendations.update { it.copy(isLoading = false, errorMessage = errorMessage) }
+            FeedCollection.NEW -> _newReleases.update { it.copy(isLoading = false, errorMessage = errorMessage) }
         }
     }
 }
@@ -0,0 +1,21 @@
+package com.ai.app.audio_ai.ui.home.adapters
+
+import android.view.ViewGroup
+import androidx.paging.PagingDataAdapter
+import com.ai.app.audio_ai.data.model.AudioContent
+
+/**
+ * 分页列表适配器，数据由 Paging 按页推送
+ */
+class AudioPagingAdapter(
+    private val onItemClick: (AudioContent) -> Unit
+) : PagingDataAdapter<AudioContent, RecommendationViewHolder>(AudioContentDiffCallback) {
+
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): RecommendationViewHolder {
+        return RecommendationViewHolder.create(parent, onItemClick)
+    }
+
+    override fun onBindViewHolder(holder: RecommendationViewHolder, position: Int) {
+        getItem(position)?.let { holder.bind(it) }
+    }
+}
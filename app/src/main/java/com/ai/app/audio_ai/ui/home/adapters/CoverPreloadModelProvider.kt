@@ -0,0 +1,25 @@
+package com.ai.app.audio_ai.ui.home.adapters
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.utils.loadCover
+import com.bumptech.glide.ListPreloader
+import com.bumptech.glide.RequestBuilder
+import com.bumptech.glide.RequestManager
+
+/**
+ * 给 RecyclerViewPreloader 提供滚动方向上即将出现的封面请求
+ * 请求构造与 [RecommendationViewHolder.bind] 相同，预加载结果可以直接命中内存缓存
+ */
+class CoverPreloadModelProvider(
+    private val requestManager: RequestManager,
+    private val items: () -> List<AudioContent>
+) : ListPreloader.PreloadModelProvider<AudioContent> {
+
+    override fun getPreloadItems(position: Int): List<AudioContent> {
+        val item = items().getOrNull(position) ?: return emptyList()
+        return if (item.coverUrl.isEmpty()) emptyList() else listOf(item)
+    }
+
+    override fun getPreloadRequestBuilder(item: AudioContent): RequestBuilder<*> =
+        requestManager.loadCover(item.coverUrl)
+}
@@ -1,46 +1,34 @@
 package com.ai.app.audio_ai.ui.home.adapters
 
-import android.view.LayoutInflater
 import android.view.ViewGroup
 import androidx.recyclerview.widget.RecyclerView
 import com.ai.app.audio_ai.data.model.AudioContent
-import com.ai.app.audio_ai.databinding.ItemRecommendationBinding
-import com.bumptech.glide.Glide
+import com.bumptech.glide.util.ViewPreloadSizeProvider
 
 class RecommendationAdapter(
     var items: List<AudioContent>,
+    private val onItemPressed: ((AudioContent) -> Unit)? = null,
+    private val onItemDetached: ((AudioContent) -> Unit)? = null,
     private val onItemClick: (AudioContent) -> Unit
-) : RecyclerView.Adapter<RecommendationAdapter.ViewHolder>() {
+) : RecyclerView.Adapter<RecommendationViewHolder>() {
 
-    inner class ViewHolder(private val binding: ItemRecommendationBinding) :
-        RecyclerView.ViewHolder(binding.root) {
+    /**
+     * 设置后用第一个创建的封面视图测量预加载尺寸，保证预加载和实际绑定的尺寸一致
+     */
+    var preloadSizeProvider: ViewPreloadSizeProvider<AudioContent>? = null
 
-        fun bind(item: AudioContent) {
-            binding.tvTitle.text = item.title
-            binding.tvAuthor.text = item.author
-            binding.tvDuration.text = item.formattedDuration
-
-            Glide.with(binding.root.context)
-                .load(item.coverUrl)
-                .into(binding.ivCover)
-
-            binding.root.setOnClickListener {
-                onItemClick(item)
-            }
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): RecommendationViewHolder {
+        return RecommendationViewHolder.create(parent, onItemClick, onItemPressed).also { holder ->
+            preloadSizeProvider?.setView(holder.coverView)
         }
     }
 
-    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ViewHolder {
-        val binding = ItemRecommendationBinding.inflate(
-            LayoutInflater.from(parent.context),
-            parent,
-            false
-        )
-        return ViewHolder(binding)
+    override fun onBindViewHolder(holder: RecommendationViewHolder, position: Int) {
+        holder.bind(items[position])
     }
 
-    override fun onBindViewHolder(holder: ViewHolder, position: Int) {
-        holder.bind(items[position])
+    override fun onViewDetachedFromWindow(holder: RecommendationViewHolder) {
+        holder.boundItem?.let { onItemDetached?.invoke(it) }
     }
 
     override fun getItemCount(): Int = items.size
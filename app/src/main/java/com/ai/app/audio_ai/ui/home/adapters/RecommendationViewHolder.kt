@@ -0,0 +1,82 @@
+package com.ai.app.audio_ai.ui.home.adapters
+
+import android.annotation.SuppressLint
+import android.view.LayoutInflater
+import android.view.MotionEvent
+import android.view.ViewConfiguration
+import android.view.ViewGroup
+import android.widget.ImageView
+import androidx.recyclerview.widget.DiffUtil
+import androidx.recyclerview.widget.RecyclerView
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.databinding.ItemRecommendationBinding
+import com.ai.app.audio_ai.utils.loadCover
+import com.bumptech.glide.Glide
+
+/**
+ * 推荐条目视图，普通列表和分页列表共用
+ */
+class RecommendationViewHolder(
+    private val binding: ItemRecommendationBinding,
+    private val onItemClick: (AudioContent) -> Unit,
+    private val onItemPressed: ((AudioContent) -> Unit)? = null
+) : RecyclerView.ViewHolder(binding.root) {
+
+    val coverView: ImageView get() = binding.ivCover
+
+    var boundItem: AudioContent? = null
+        private set
+
+    private var pendingPress: Runnable? = null
+
+    @SuppressLint("ClickableViewAccessibility")
+    fun bind(item: AudioContent) {
+        boundItem = item
+        binding.tvTitle.text = item.title
+        binding.tvAuthor.text = item.author
+        binding.tvDuration.text = item.formattedDuration
+
+        Glide.with(binding.root.context)
+            .loadCover(item.coverUrl)
+            .into(binding.ivCover)
+
+        binding.root.setOnClickListener {
+            onItemClick(item)
+        }
+        // 按住超过点击判定时间才预取详情：滑动列表时 RecyclerView 会拦截触摸并发来 CANCEL，不触发预取
+        // 返回 false 不影响点击事件
+        val pressed = Runnable { onItemPressed?.invoke(item) }
+        binding.root.removeCallbacks(pendingPress)
+        pendingPress = pressed
+        binding.root.setOnTouchListener { view, event ->
+            when (event.actionMasked) {
+                MotionEvent.ACTION_DOWN -> view.postDelayed(pressed, ViewConfiguration.getTapTimeout().toLong())
+                MotionEvent.ACTION_UP, MotionEvent.ACTION_CANCEL -> view.removeCallbacks(pressed)
+            }
+            false
+        }
+    }
+
+    companion object {
+        fun create(
+            parent: ViewGroup,
+            onItemClick: (AudioContent) -> Unit,
+            onItemPressed: ((AudioContent) -> Unit)? = null
+        ): RecommendationViewHolder {
+            val binding = ItemRecommendationBinding.inflate(
+                LayoutInflater.from(parent.context),
+                parent,
+                false
+            )
+            return RecommendationViewHolder(binding, onItemClick, onItemPressed)
+        }
+    }
+}
+
+object AudioContentDiffCallback : DiffUtil.ItemCallback<AudioContent>() {
+    override fun areItemsTheSame(oldItem: AudioContent, newItem: AudioContent): Boolean =
+        oldItem.id == newItem.id
+
+    override fun areContentsTheSame(oldItem: AudioContent, newItem: AudioContent): Boolean =
+        oldItem == newItem
+}
@@ -7,6 +7,7 @@ import android.widget.FrameLayout
 import androidx.core.view.isVisible
 import com.ai.app.audio_ai.data.model.AudioContent
 import com.ai.app.audio_ai.databinding.ViewPlayerControlBinding
+import com.ai.app.audio_ai.player.PlaybackState
 import com.bumptech.glide.Glide
 
 class PlayerControlView @JvmOverloads constructor(
@@ -24,11 +25,32 @@ class PlayerControlView @JvmOverloads constructor(
     var onPlayPauseClick: (() -> Unit)? = null
     var onCloseClick: (() -> Unit)? = null
 
+    private var boundAudio: AudioContent? = null
+
     init {
         binding.btnPlayPause.setOnClickListener { onPlayPauseClick?.invoke() }
         binding.btnClose.setOnClickListener { onCloseClick?.invoke() }
     }
 
+    /**
+     * 按播放状态刷新整个控件，没有当前曲目时隐藏。进度随每一拍刷新，曲目不变时不重新加载封面
+     */
+    fun bind(state: PlaybackState) {
+        val audio = state.audio
+        if (audio == null) {
+            boundAudio = null
+            hide()
+            return
+        }
+        if (audio != boundAudio) {
+            setAudio(audio)
+            boundAudio = audio
+        }
+        setProgress(state.positionMs.toInt(), state.durationMs.toInt())
+        setPlaying(state.playWhenReady)
+        show()
+    }
+
     fun setAudio(audio: AudioContent) {
         binding.tvTitle.text = audio.title
         binding.tvAuthor.text = audio.author
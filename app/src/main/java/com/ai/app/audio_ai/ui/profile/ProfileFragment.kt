@@ -4,11 +4,25 @@ import android.os.Bundle
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
+import android.widget.Button
+import android.widget.TextView
 import androidx.fragment.app.Fragment
+import com.ai.app.audio_ai.BuildConfig
 import com.ai.app.audio_ai.R
+import com.ai.app.audio_ai.data.network.NetworkMetrics
+import com.ai.app.audio_ai.startup.StartupReport
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
 
+@AndroidEntryPoint
 class ProfileFragment : Fragment() {
 
+    @Inject
+    lateinit var networkMetrics: NetworkMetrics
+
+    @Inject
+    lateinit var startupReport: StartupReport
+
     override fun onCreateView(
         inflater: LayoutInflater,
         container: ViewGroup?,
@@ -20,6 +34,23 @@ class ProfileFragment : Fragment() {
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
         super.onViewCreated(view, savedInstanceState)
         // TODO: 初始化个人中心内容
+        if (BuildConfig.DEBUG) {
+            setupNetworkDebug(view)
+        }
+    }
+
+    private fun setupNetworkDebug(view: View) {
+        val tvNetworkMetrics = view.findViewById<TextView>(R.id.tvNetworkMetrics)
+        val showMetrics = {
+            tvNetworkMetrics.text = startupReport.dump() + "\n" + networkMetrics.dump().ifEmpty { "暂无数据" }
+        }
+        view.findViewById<View>(R.id.layoutNetworkDebug).visibility = View.VISIBLE
+        view.findViewById<Button>(R.id.btnRefreshNetworkMetrics).setOnClickListener { showMetrics() }
+        view.findViewById<Button>(R.id.btnResetNetworkMetrics).setOnClickListener {
+            networkMetrics.reset()
+            showMetrics()
+        }
+        showMetrics()
     }
 
     companion object {
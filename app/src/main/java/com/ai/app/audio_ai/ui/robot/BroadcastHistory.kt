@@ -0,0 +1,22 @@
+package com.ai.app.audio_ai.ui.robot
+
+/**
+ * 最近播报记录，最新的在最前，同一内容只保留一条
+ */
+class BroadcastHistory(private val maxSize: Int) {
+
+    private val entries = ArrayList<String>(maxSize + 1)
+
+    val items: List<String> get() = entries
+
+    val size: Int get() = entries.size
+
+    // 已存在的内容移到开头，超出容量时丢弃最旧的一条
+    fun add(text: String) {
+        entries.remove(text)
+        entries.add(0, text)
+        if (entries.size > maxSize) {
+            entries.removeAt(entries.size - 1)
+        }
+    }
+}
@@ -16,15 +16,25 @@ import android.widget.ArrayAdapter
 import android.widget.SeekBar
 import android.widget.Toast
 import androidx.fragment.app.Fragment
+import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.LinearLayoutManager
 import com.ai.app.audio_ai.R
 import com.ai.app.audio_ai.databinding.FragmentRobotBroadcastBinding
+import com.ai.app.audio_ai.player.FrameTicker
+import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
 import java.util.*
+import javax.inject.Inject
 
 private const val TAG = "RobotBroadcastFragment"
 
+@AndroidEntryPoint
 class RobotBroadcastFragment : Fragment() {
 
+    @Inject
+    lateinit var frameTicker: FrameTicker
+
     private var _binding: FragmentRobotBroadcastBinding? = null
     private val binding get() = _binding!!
 
@@ -45,8 +55,8 @@ class RobotBroadcastFragment : Fragment() {
     private var currentBroadcastContent = "" // 当前正在播报的内容
 
     // 最近的播报历史
-    private val broadcastHistory = mutableListOf<String>()
     private val MAX_HISTORY_SIZE = 10
+    private val broadcastHistory = BroadcastHistory(MAX_HISTORY_SIZE)
 
     // 历史记录适配器
     private lateinit var historyAdapter: BroadcastHistoryAdapter
@@ -54,11 +64,14 @@ class RobotBroadcastFragment : Fragment() {
     // 音量控制
     private var volume = 0.8f
 
-    // 进度条更新
+    // TTS 回调不在主线程，切回主线程处理
     private val handler = Handler(Looper.getMainLooper())
-    private var progressUpdateRunnable: Runnable? = null
+
+    // 进度条跟随共享的界面刷新节拍更新
+    private var progressUpdateJob: Job? = null
     private var startTime: Long = 0
     private var totalDuration: Long = 0
+    private var pausedAt: Long = 0
 
     // TTS初始化状态
     private var isTTSInitialized = false
@@ -229,7 +242,7 @@ class RobotBroadcastFragment : Fragment() {
     }
 
     private fun setupHistoryRecyclerView() {
-        historyAdapter = BroadcastHistoryAdapter(broadcastHistory) { content ->
+        historyAdapter = BroadcastHistoryAdapter(broadcastHistory.items) { content ->
             binding.broadcastContentEditText.setText(content)
         }
         binding.historyRecyclerView.apply {
@@ -303,6 +316,9 @@ class RobotBroadcastFragment : Fragment() {
         if (isPlaying && !isPaused) {
             ttsManager.pause()
             isPaused = true
+            pausedAt = System.currentTimeMillis()
+            // 暂停期间不需要逐帧刷新进度
+            stopProgressUpdates()
             updateButtonStates(true)
             stopMouthAnimation()
             Log.d(TAG, "暂停播报")
@@ -313,6 +329,9 @@ class RobotBroadcastFragment : Fragment() {
         if (isPlaying && isPaused) {
             ttsManager.resume()
             isPaused = false
+            // 暂停的时长不计入播报进度
+            startTime += System.currentTimeMillis() - pausedAt
+            launchProgressTicker()
             updateButtonStates(true)
             startMouthAnimation()
             Log.d(TAG, "继续播报")
@@ -396,44 +415,33 @@ class RobotBroadcastFragment : Fragment() {
         val textLength = currentBroadcastContent.length
         totalDuration = (textLength * 200).toLong().coerceAtLeast(1000) // 至少1秒
         startTime = System.currentTimeMillis()
-        
-        progressUpdateRunnable = object : Runnable {
-            override fun run() {
-                if (isPlaying && !isPaused) {
+        launchProgressTicker()
+    }
+
+    private fun launchProgressTicker() {
+        progressUpdateJob?.cancel()
+        progressUpdateJob = viewLifecycleOwner.lifecycleScope.launch {
+            frameTicker.ticks.collect {
+                if (isPlaying) {
                     val elapsed = System.currentTimeMillis() - startTime
                     val progress = ((elapsed.toFloat() / totalDuration) * 100).toInt().coerceIn(0, 100)
                     binding.playbackProgressBar.progress = progress
                     binding.progressPercentText.text = "${progress}%"
-                    
-                    if (progress < 100) {
-                        handler.postDelayed(this, 100)
-                    }
+
+                    if (progress >= 100) stopProgressUpdates()
                 }
             }
         }
-        handler.post(progressUpdateRunnable!!)
     }
     
     private fun stopProgressUpdates() {
-        progressUpdateRunnable?.let {
-            handler.removeCallbacks(it)
-            progressUpdateRunnable = null
-        }
+        progressUpdateJob?.cancel()
+        progressUpdateJob = null
     }
     
     private fun addToHistory(text: String) {
-        // 避免重复添加相同的内容
-        if (broadcastHistory.contains(text)) {
-            broadcastHistory.remove(text)
-        }
-        
-        // 添加到历史记录开头
-        broadcastHistory.add(0, text)
-        
-        // 限制历史记录大小
-        if (broadcastHistory.size > MAX_HISTORY_SIZE) {
-            broadcastHistory.removeAt(broadcastHistory.size - 1)
-        }
+        // 去重并添加到历史记录开头
+        broadcastHistory.add(text)
         
         // 通知适配器更新
         binding.historyRecyclerView.adapter?.notifyDataSetChanged()
@@ -0,0 +1,37 @@
+package com.ai.app.audio_ai.utils
+
+import android.content.Context
+import com.ai.app.audio_ai.di.ImageHttpClient
+import com.bumptech.glide.Glide
+import com.bumptech.glide.Registry
+import com.bumptech.glide.annotation.GlideModule
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader
+import com.bumptech.glide.load.model.GlideUrl
+import com.bumptech.glide.module.AppGlideModule
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import okhttp3.OkHttpClient
+import java.io.InputStream
+
+/**
+ * 图片通过图片通道的 OkHttpClient 加载，与接口共享连接池，但不会占用播放和接口请求的并发数
+ */
+@GlideModule
+class AudioGlideModule : AppGlideModule() {
+
+    @EntryPoint
+    @InstallIn(SingletonComponent::class)
+    interface GlideEntryPoint {
+        @ImageHttpClient
+        fun imageHttpClient(): OkHttpClient
+    }
+
+    override fun registerComponents(context: Context, glide: Glide, registry: Registry) {
+        val client = EntryPointAccessors.fromApplication(context, GlideEntryPoint::class.java).imageHttpClient()
+        registry.replace(GlideUrl::class.java, InputStream::class.java, OkHttpUrlLoader.Factory(client))
+    }
+
+    override fun isManifestParsingEnabled(): Boolean = false
+}
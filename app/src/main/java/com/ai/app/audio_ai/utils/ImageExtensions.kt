@@ -1,7 +1,10 @@
 package com.ai.app.audio_ai.utils
 
+import android.graphics.drawable.Drawable
 import android.widget.ImageView
 import com.bumptech.glide.Glide
+import com.bumptech.glide.RequestBuilder
+import com.bumptech.glide.RequestManager
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions
 
 fun ImageView.loadImage(url: String?) {
@@ -10,3 +13,10 @@ fun ImageView.loadImage(url: String?) {
         .transition(DrawableTransitionOptions.withCrossFade())
         .into(this)
 }
+
+/**
+ * 封面请求，列表绑定和预加载必须使用同一个构造方式，缓存 key 才能命中
+ * 显式指定 centerCrop，避免 into(ImageView) 根据 scaleType 再追加变换
+ */
+fun RequestManager.loadCover(url: String?): RequestBuilder<Drawable> =
+    load(url).centerCrop()
@@ -0,0 +1,96 @@
+package com.ai.app.audio_ai.data.cache
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class AudioDetailCacheTest {
+
+    private val dispatcher = StandardTestDispatcher()
+    private val testScope = TestScope(dispatcher)
+    private val cache = AudioDetailCache(
+        maxEntries = 10,
+        ttlMillis = 60_000,
+        scope = CoroutineScope(SupervisorJob() + dispatcher),
+        clock = testScope.testScheduler::currentTime
+    )
+
+    @Test
+    fun cancellingLastWaiterCancelsLoad() = testScope.runTest {
+        var loadCancelled = false
+        val waiter = launch {
+            cache.getOrLoad("1") {
+                try {
+                    awaitCancellation()
+                } finally {
+                    loadCancelled = true
+                }
+            }
+        }
+        runCurrent()
+
+        waiter.cancel()
+        runCurrent()
+
+        assertTrue(loadCancelled)
+        assertTrue(waiter.isCompleted)
+        assertNull(cache.peek("1"))
+    }
+
+    @Test
+    fun remainingWaiterKeepsSharedLoad() = testScope.runTest {
+        val release = CompletableDeferred<Unit>()
+        var loads = 0
+        val loader: suspend () -> AudioContent = {
+            loads++
+            release.await()
+            audio("1")
+        }
+        val prefetch = launch { cache.getOrLoad("1", loader) }
+        val detail = async { cache.getOrLoad("1", loader) }
+        runCurrent()
+
+        prefetch.cancel()
+        runCurrent()
+        release.complete(Unit)
+
+        assertEquals("1", detail.await().getOrThrow().id)
+        assertEquals(1, loads)
+        assertEquals(1L, cache.stats().joins)
+    }
+
+    @Test
+    fun newWaiterAfterCancellationStartsFreshLoad() = testScope.runTest {
+        val first = launch { cache.getOrLoad("1") { awaitCancellation() } }
+        runCurrent()
+        first.cancel()
+        runCurrent()
+
+        val result = cache.getOrLoad("1") { audio("1") }
+
+        assertEquals("1", result.getOrThrow().id)
+        assertEquals(2L, cache.stats().misses)
+    }
+
+    private fun audio(id: String) = AudioContent(
+        id = id,
+        title = "title$id",
+        author = "author",
+        coverUrl = "",
+        audioUrl = "",
+        duration = 60,
+        category = "音乐"
+    )
+}
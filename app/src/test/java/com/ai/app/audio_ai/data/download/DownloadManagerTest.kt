@@ -0,0 +1,256 @@
+package com.ai.app.audio_ai.data.download
+
+import com.ai.app.audio_ai.data.local.DownloadChunkEntity
+import com.ai.app.audio_ai.data.local.DownloadDao
+import com.ai.app.audio_ai.data.local.DownloadEntity
+import com.ai.app.audio_ai.data.local.DownloadStatus
+import com.ai.app.audio_ai.data.model.AudioContent
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import okhttp3.mockwebserver.SocketPolicy
+import okio.Buffer
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.io.RandomAccessFile
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.random.Random
+
+class DownloadManagerTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private val body = Random(42).nextBytes(BODY_SIZE)
+    private val server = MockWebServer()
+    private val ranges = CopyOnWriteArrayList<String>()
+    private val dao = FakeDownloadDao()
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    private lateinit var config: DownloadConfig
+    private lateinit var manager: DownloadManager
+
+    @Before
+    fun setUp() {
+        server.dispatcher = RangeDispatcher()
+        server.start()
+        config = DownloadConfig(
+            directory = folder.newFolder("downloads"),
+            maxConcurrentChunks = 2,
+            maxChunksPerFile = 4,
+            minChunkBytes = BODY_SIZE / 4L,
+            progressFlushBytes = 16L * 1024
+        )
+        manager = DownloadManager(dao, OkHttpClient(), config, scope, Dispatchers.IO)
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+        server.shutdown()
+    }
+
+    @Test
+    fun enqueue_downloadsChunksInParallelAndResolvesLocalFile() = runBlocking {
+        val audio = audio()
+
+        manager.enqueue(audio)
+        val download = awaitStatus(DownloadStatus.COMPLETED)
+
+        assertArrayEquals(body, File(download.filePath).readBytes())
+        assertEquals(BODY_SIZE.toLong(), download.downloadedBytes)
+        // 探测请求之外每个分片一个请求
+        assertEquals(4, ranges.count { it != "bytes=0-0" })
+        assertEquals("file://" + File(download.filePath).absolutePath, manager.resolve(audio).audioUrl)
+    }
+
+    @Test
+    fun restore_resumesFromPersistedChunkProgress() = runBlocking {
+        val file = File(config.directory, "1.mp3")
+        val chunks = DownloadManager.planChunks("1", BODY_SIZE.toLong(), true, config)
+            .mapIndexed { index, chunk -> chunk.copy(downloaded = if (index == 3) chunk.length else chunk.length / 2) }
+        // 模拟进程被杀前已落盘的部分
+        RandomAccessFile(file, "rw").use { raf ->
+            raf.setLength(BODY_SIZE.toLong())
+            chunks.forEach { chunk ->
+                raf.seek(chunk.start)
+                raf.write(body, chunk.start.toInt(), chunk.downloaded.toInt())
+            }
+        }
+        dao.savePlan(
+            DownloadEntity(
+                audioId = "1",
+                audioUrl = server.url(PATH).toString(),
+                title = "audio",
+                filePath = file.path,
+                totalBytes = BODY_SIZE.toLong(),
+                supportsRanges = true,
+                validator = ETAG,
+                status = DownloadStatus.RUNNING
+            ),
+            chunks
+        )
+
+        manager.restore()
+        awaitStatus(DownloadStatus.COMPLETED)
+
+        assertArrayEquals(body, file.readBytes())
+        val expected = chunks.filterNot { it.isComplete }.map { "bytes=${it.start + it.downloaded}-${it.end}" }
+        assertEquals(expected.sorted(), ranges.sorted())
+    }
+
+    @Test
+    fun withoutRangeSupport_retryAfterCutResponseRewritesFromStart() = runBlocking {
+        val requests = AtomicInteger()
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse {
+                val response = MockResponse().setBody(Buffer().write(body))
+                // 第 1 个请求是探测，第 2 个请求（第一次下载）传到一半断开
+                return if (requests.incrementAndGet() == 2) {
+                    response.setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY)
+                } else {
+                    response
+                }
+            }
+        }
+
+        manager.enqueue(audio())
+        val download = awaitStatus(DownloadStatus.COMPLETED)
+
+        assertEquals(false, download.supportsRanges)
+        assertEquals(3, requests.get())
+        assertArrayEquals(body, File(download.filePath).readBytes())
+        assertEquals(BODY_SIZE.toLong(), download.downloadedBytes)
+    }
+
+    @Test
+    fun planChunks_smallFileStaysSingleChunk() {
+        val chunks = DownloadManager.planChunks("1", config.minChunkBytes - 1, true, config)
+
+        assertEquals(1, chunks.size)
+        assertEquals(config.minChunkBytes - 2, chunks.single().end)
+    }
+
+    @Test
+    fun planChunks_unknownSizeIsOpenEnded() {
+        val chunks = DownloadManager.planChunks("1", -1, false, config)
+
+        assertTrue(chunks.single().isOpenEnded)
+    }
+
+    private suspend fun awaitStatus(status: String): DownloadEntity = withTimeout(TIMEOUT_MILLIS) {
+        dao.observeAll().map { it.singleOrNull() }.first { it?.status == status }!!
+    }
+
+    private fun audio() = AudioContent(
+        id = "1",
+        title = "audio",
+        author = "",
+        coverUrl = "",
+        audioUrl = server.url(PATH).toString(),
+        duration = 0,
+        category = ""
+    )
+
+    // 支持单区间 Range 和 If-Range 的静态文件
+    private inner class RangeDispatcher : Dispatcher() {
+        override fun dispatch(request: RecordedRequest): MockResponse {
+            val range = request.getHeader("Range")
+            val ifRange = request.getHeader("If-Range")
+            if (range == null || (ifRange != null && ifRange != ETAG)) {
+                return MockResponse().setHeader("ETag", ETAG).setBody(Buffer().write(body))
+            }
+            ranges += range
+            val (from, to) = range.removePrefix("bytes=").split('-')
+            val start = from.toInt()
+            val end = to.toIntOrNull() ?: (body.size - 1)
+            return MockResponse()
+                .setResponseCode(206)
+                .setHeader("ETag", ETAG)
+                .setHeader("Content-Range", "bytes $start-$end/${body.size}")
+                .setBody(Buffer().write(body, start, end - start + 1))
+        }
+    }
+
+    private class FakeDownloadDao : DownloadDao {
+        private val downloads = MutableStateFlow<Map<String, DownloadEntity>>(emptyMap())
+        private val chunks = mutableMapOf<String, List<DownloadChunkEntity>>()
+
+        override fun observeAll(): Flow<List<DownloadEntity>> = downloads.map { it.values.toList() }
+
+        override suspend fun get(audioId: String) = downloads.value[audioId]
+
+        override suspend fun getByStatus(statuses: List<String>) =
+            downloads.value.values.filter { it.status in statuses }
+
+        override suspend fun upsert(download: DownloadEntity) = synchronized(this) {
+            chunks.remove(download.audioId)
+            downloads.value = downloads.value + (download.audioId to download)
+        }
+
+        override suspend fun update(download: DownloadEntity) = synchronized(this) {
+            if (download.audioId in downloads.value) {
+                downloads.value = downloads.value + (download.audioId to download)
+            }
+        }
+
+        override suspend fun updateStatus(audioId: String, status: String, error: String?, updatedAt: Long) {
+            synchronized(this) {
+                val download = downloads.value[audioId] ?: return
+                downloads.value = downloads.value + (audioId to download.copy(status = status, error = error))
+            }
+        }
+
+        override suspend fun delete(audioId: String) = synchronized(this) {
+            chunks.remove(audioId)
+            downloads.value = downloads.value - audioId
+        }
+
+        override suspend fun getChunks(audioId: String) = synchronized(this) { chunks[audioId].orEmpty() }
+
+        override suspend fun insertChunks(chunks: List<DownloadChunkEntity>) = synchronized(this) {
+            chunks.groupBy { it.audioId }.forEach { (audioId, inserted) ->
+                this.chunks[audioId] = (this.chunks[audioId].orEmpty() + inserted).sortedBy { it.chunkIndex }
+            }
+        }
+
+        override suspend fun updateChunks(chunks: List<DownloadChunkEntity>) = synchronized(this) {
+            chunks.groupBy { it.audioId }.forEach { (audioId, updated) ->
+                val byIndex = updated.associateBy { it.chunkIndex }
+                this.chunks[audioId] = this.chunks[audioId].orEmpty().map { byIndex[it.chunkIndex] ?: it }
+            }
+        }
+
+        override suspend fun deleteChunks(audioId: String) = synchronized(this) {
+            chunks.remove(audioId)
+            Unit
+        }
+    }
+
+    companion object {
+        private const val PATH = "/audio/1.mp3"
+        private const val ETAG = "\"v1\""
+        private const val BODY_SIZE = 256 * 1024
+        private const val TIMEOUT_MILLIS = 10_000L
+    }
+}
@@ -0,0 +1,82 @@
+package com.ai.app.audio_ai.data.json
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.model.AudioContentResponse
+import com.google.gson.Gson
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.lang.management.ManagementFactory
+
+/**
+ * 对比反射解析与流式 TypeAdapter 解析大列表的分配量
+ * 耗时受机器负载影响，只随结果输出，不做断言；分配量按线程统计，结果稳定
+ */
+class CatalogJsonBenchmarkTest {
+
+    private val itemCount = 20_000
+    private val json = buildResponseJson(itemCount)
+
+    @Test
+    fun streamingAdapters_matchReflectiveResult() {
+        val reflective = Gson().fromJson(json, AudioContentResponse::class.java)
+        val streaming = CatalogJson.createGson().fromJson(json, AudioContentResponse::class.java)
+
+        assertEquals(itemCount, streaming.data.size)
+        assertEquals(reflective.data, streaming.data)
+    }
+
+    @Test
+    fun streamingAdapters_allocateLessThanReflective() {
+        val reflectiveGson = Gson()
+        val streamingGson = CatalogJson.createGson()
+
+        val reflective = measure { reflectiveGson.fromJson(json, AudioContentResponse::class.java).data.size }
+        val streaming = measure { streamingGson.fromJson(json, AudioContentResponse::class.java).data.size }
+
+        assertTrue(
+            "streaming ${streaming.second} B in ${streaming.first / 1_000} us, " +
+                "reflective ${reflective.second} B in ${reflective.first / 1_000} us",
+            streaming.second < reflective.second
+        )
+    }
+
+    /**
+     * 预热后取多次运行的平均值
+     * @return 平均耗时（纳秒）和平均分配字节数
+     */
+    private fun measure(block: () -> Int): Pair<Long, Long> {
+        repeat(WARMUP_ITERATIONS) { block() }
+        val threadMxBean = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        val threadId = Thread.currentThread().id
+        val startBytes = threadMxBean.getThreadAllocatedBytes(threadId)
+        val startNanos = System.nanoTime()
+        repeat(MEASURE_ITERATIONS) { block() }
+        val elapsed = System.nanoTime() - startNanos
+        val allocated = threadMxBean.getThreadAllocatedBytes(threadId) - startBytes
+        return elapsed / MEASURE_ITERATIONS to allocated / MEASURE_ITERATIONS
+    }
+
+    private fun buildResponseJson(count: Int): String {
+        val items = (0 until count).map { index ->
+            AudioContent(
+                id = "audio$index",
+                title = "音频标题$index",
+                author = "作者${index % 100}",
+                coverUrl = "https://example.com/cover/$index.jpg",
+                audioUrl = "https://example.com/audio/$index.mp3",
+                duration = 60L + index % 3600,
+                category = listOf("音乐", "有声书", "播客")[index % 3],
+                description = if (index % 5 == 0) null else "这是第${index}条音频的简介",
+                playCount = index * 7,
+                likeCount = index * 3
+            )
+        }
+        return CatalogJson.createGson().toJson(AudioContentResponse(items))
+    }
+
+    companion object {
+        private const val WARMUP_ITERATIONS = 5
+        private const val MEASURE_ITERATIONS = 10
+    }
+}
@@ -0,0 +1,129 @@
+package com.ai.app.audio_ai.data.network
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
+import okhttp3.Dns
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import okhttp3.tls.HandshakeCertificates
+import okhttp3.tls.HeldCertificate
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.net.InetAddress
+
+/**
+ * 对比冷启动和预热后首个请求的耗时
+ * 本地 HTTPS + HTTP/2 服务端，DNS 用固定延迟模拟；中位数写在断言信息里，只断言预热后更快
+ */
+class ConnectionWarmerBenchmarkTest {
+
+    private val server = MockWebServer()
+    private val certificate = HeldCertificate.Builder()
+        .addSubjectAlternativeName("localhost")
+        .build()
+    private val clientCertificates = HandshakeCertificates.Builder()
+        .addTrustedCertificate(certificate.certificate)
+        .build()
+
+    @Before
+    fun setUp() {
+        val serverCertificates = HandshakeCertificates.Builder()
+            .heldCertificate(certificate)
+            .build()
+        server.useHttps(serverCertificates.sslSocketFactory(), false)
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse =
+                if (request.method == "HEAD") MockResponse() else MockResponse().setBody("[]")
+        }
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun warmUp_resolvesAndConnectsOverHttp2() = runBlocking {
+        val dns = CachingDns(SlowDns())
+        val client = newClient(dns)
+
+        val warmed = ConnectionWarmer(dns, client, Dispatchers.IO).warmUp(listOf(url("/banners").toString()))
+
+        assertEquals(1, warmed)
+        assertTrue(dns.isCached("localhost"))
+        assertEquals(1, client.connectionPool.idleConnectionCount())
+        val protocol = client.newCall(request()).execute().use { it.protocol }
+        assertEquals(Protocol.HTTP_2, protocol)
+    }
+
+    @Test
+    fun warmUp_isNotRecordedInMetrics() = runBlocking {
+        val metrics = NetworkMetrics()
+        val dns = CachingDns(SlowDns())
+        val client = newClient(dns).newBuilder()
+            .eventListenerFactory(TimingEventListener.Factory(metrics))
+            .build()
+
+        ConnectionWarmer(dns, client, Dispatchers.IO).warmUp(listOf(url("/banners").toString()))
+
+        assertTrue(metrics.snapshot().isEmpty())
+    }
+
+    @Test
+    fun benchmark_firstRequestColdVsWarm() = runBlocking {
+        val cold = (1..ITERATIONS).map {
+            val client = newClient(CachingDns(SlowDns()))
+            timeFirstRequest(client)
+        }
+        val warm = (1..ITERATIONS).map {
+            val dns = CachingDns(SlowDns())
+            val client = newClient(dns)
+            ConnectionWarmer(dns, client, Dispatchers.IO).warmUp(listOf(url("/").toString()))
+            timeFirstRequest(client)
+        }
+
+        val coldMedian = cold.sorted()[ITERATIONS / 2]
+        val warmMedian = warm.sorted()[ITERATIONS / 2]
+        assertTrue("cold ${coldMedian / 1_000} µs, warm ${warmMedian / 1_000} µs", warmMedian < coldMedian)
+    }
+
+    private fun timeFirstRequest(client: OkHttpClient): Long {
+        val start = System.nanoTime()
+        client.newCall(request()).execute().use { it.body!!.string() }
+        return System.nanoTime() - start
+    }
+
+    private fun newClient(dns: Dns): OkHttpClient =
+        OkHttpClient.Builder()
+            .dns(dns)
+            .sslSocketFactory(clientCertificates.sslSocketFactory(), clientCertificates.trustManager)
+            .build()
+
+    private fun url(path: String) = server.url(path).newBuilder().host("localhost").build()
+
+    private fun request() = Request.Builder().url(url("/banners")).build()
+
+    /**
+     * 模拟移动网络下的 DNS 解析耗时
+     */
+    private class SlowDns : Dns {
+        override fun lookup(hostname: String): List<InetAddress> {
+            Thread.sleep(DNS_DELAY_MILLIS)
+            return Dns.SYSTEM.lookup(hostname)
+        }
+    }
+
+    companion object {
+        private const val ITERATIONS = 7
+        private const val DNS_DELAY_MILLIS = 30L
+    }
+}
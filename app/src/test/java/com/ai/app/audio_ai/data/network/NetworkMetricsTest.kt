@@ -0,0 +1,94 @@
+package com.ai.app.audio_ai.data.network
+
+import com.ai.app.audio_ai.data.json.CatalogJson
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.network.NetworkMetrics.Phase
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import retrofit2.Call
+import retrofit2.Retrofit
+import retrofit2.converter.gson.GsonConverterFactory
+import retrofit2.http.GET
+import retrofit2.http.Path
+import java.util.concurrent.TimeUnit
+
+class NetworkMetricsTest {
+
+    private interface TestApi {
+        @GET("audio/{id}")
+        fun getAudioContentById(@Path("id") id: String): Call<AudioContent>
+    }
+
+    private val server = MockWebServer()
+    private val metrics = NetworkMetrics()
+    private lateinit var api: TestApi
+
+    @Before
+    fun setUp() {
+        server.start()
+        val client = OkHttpClient.Builder()
+            .eventListenerFactory(TimingEventListener.Factory(metrics))
+            .build()
+        api = Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .client(client)
+            .addConverterFactory(TimingConverterFactory(metrics))
+            .addConverterFactory(GsonConverterFactory.create(CatalogJson.createGson()))
+            .build()
+            .create(TestApi::class.java)
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun recordsPhasesGroupedByEndpointTemplate() {
+        repeat(2) {
+            server.enqueue(MockResponse().setBody(AUDIO_JSON).setHeadersDelay(120, TimeUnit.MILLISECONDS))
+        }
+
+        api.getAudioContentById("1").execute()
+        api.getAudioContentById("2").execute()
+
+        val ttfb = metrics.histogram(ENDPOINT, Phase.TTFB)!!
+        assertEquals(2, ttfb.count())
+        assertTrue(ttfb.percentile(50.0) >= 100)
+        assertEquals(2, metrics.histogram(ENDPOINT, Phase.BODY_READ)!!.count())
+        assertEquals(2, metrics.histogram(ENDPOINT, Phase.DECODE)!!.count())
+        assertEquals(2, metrics.histogram(ENDPOINT, Phase.TOTAL)!!.count())
+        // 第二个请求复用连接，只建连一次
+        assertEquals(1, metrics.histogram(ENDPOINT, Phase.CONNECT)!!.count())
+        assertEquals(0, metrics.histogram(ENDPOINT, Phase.TLS)!!.count())
+        assertNull(metrics.histogram("audio/1", Phase.TOTAL))
+        assertTrue(metrics.dump().contains(ENDPOINT))
+    }
+
+    @Test
+    fun percentilesReportBucketUpperBounds() {
+        val histogram = LatencyHistogram(longArrayOf(10, 100, 1_000))
+        repeat(90) { histogram.record(millis(5)) }
+        repeat(9) { histogram.record(millis(50)) }
+        histogram.record(millis(5_000))
+
+        assertEquals(10, histogram.percentile(50.0))
+        assertEquals(10, histogram.percentile(90.0))
+        assertEquals(100, histogram.percentile(99.0))
+        assertEquals(5_000, histogram.percentile(100.0))
+    }
+
+    private fun millis(value: Long) = TimeUnit.MILLISECONDS.toNanos(value)
+
+    companion object {
+        private const val ENDPOINT = "audio/{id}"
+        private const val AUDIO_JSON = """{"id":"1","title":"t","author":"a","coverUrl":"","audioUrl":"","duration":60,"category":"音乐"}"""
+    }
+}
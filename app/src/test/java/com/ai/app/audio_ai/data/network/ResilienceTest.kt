@@ -0,0 +1,156 @@
+package com.ai.app.audio_ai.data.network
+
+import com.ai.app.audio_ai.data.network.NetworkMetrics.Phase
+import okhttp3.Cache
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResilienceTest {
+
+    @get:Rule
+    val tempFolder = TemporaryFolder()
+
+    private val server = MockWebServer()
+    private val metrics = NetworkMetrics()
+
+    @Before
+    fun setUp() {
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun retriesServerErrorsWithBackoff() {
+        val client = client(ResilienceConfig(maxRetries = 2, retryBaseDelayMillis = 1, hedgeEnabled = false))
+        server.enqueue(MockResponse().setResponseCode(503))
+        server.enqueue(MockResponse().setResponseCode(503))
+        server.enqueue(MockResponse().setBody("ok"))
+
+        val body = client.newCall(get("/audio/1")).execute().use { it.body!!.string() }
+
+        assertEquals("ok", body)
+        assertEquals(3, server.requestCount)
+    }
+
+    @Test
+    fun doesNotRetryNonIdempotentRequests() {
+        val client = client(ResilienceConfig(maxRetries = 2, retryBaseDelayMillis = 1, hedgeEnabled = false))
+        server.enqueue(MockResponse().setResponseCode(503))
+
+        val request = Request.Builder()
+            .url(server.url("/audio"))
+            .post("{}".toRequestBody("application/json".toMediaType()))
+            .build()
+        val code = client.newCall(request).execute().use { it.code }
+
+        assertEquals(503, code)
+        assertEquals(1, server.requestCount)
+    }
+
+    @Test
+    fun hedgesRequestSlowerThanRecordedPercentile() {
+        val client = client(ResilienceConfig(maxRetries = 0, hedgeMinSamples = 10, hedgeMinDelayMillis = 10))
+        repeat(10) { metrics.record("recommendations/hot", Phase.TOTAL, TimeUnit.MILLISECONDS.toNanos(20)) }
+        server.enqueue(MockResponse().setBody("slow").setHeadersDelay(3, TimeUnit.SECONDS))
+        server.enqueue(MockResponse().setBody("fast"))
+
+        val start = System.nanoTime()
+        val body = client.newCall(get("/recommendations/hot")).execute().use { it.body!!.string() }
+        val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+        assertEquals("fast", body)
+        assertEquals(2, server.requestCount)
+        assertTrue("elapsed $elapsedMillis ms", elapsedMillis < 1_000)
+    }
+
+    @Test
+    fun openCircuitFailsFastAndServesStaleCache() {
+        var now = 0L
+        // 重试使用默认配置，熔断时的缓存回退不能触发重试
+        val config = ResilienceConfig(
+            hedgeEnabled = false,
+            breakerWindowSize = 10,
+            breakerMinimumCalls = 4,
+            breakerFailureRateThreshold = 0.5,
+            breakerOpenMillis = 10_000
+        )
+        val attempts = AtomicInteger()
+        val client = OkHttpClient.Builder()
+            .cache(Cache(tempFolder.newFolder(), 1024 * 1024))
+            .build()
+            .withResilience(config, metrics, clock = { now }) {
+                addInterceptor { chain ->
+                    attempts.incrementAndGet()
+                    chain.proceed(chain.request())
+                }
+            }
+        val attemptsPerCall = config.maxRetries + 1
+        server.enqueue(MockResponse().setBody("cached").addHeader("Cache-Control", "max-age=0"))
+        repeat(3 * attemptsPerCall) { server.enqueue(MockResponse().setResponseCode(500)) }
+
+        repeat(4) { client.newCall(get("/banners")).execute().close() }
+        assertEquals(1 + 3 * attemptsPerCall, server.requestCount)
+
+        attempts.set(0)
+        val fallback = client.newCall(get("/banners")).execute().use { it.body!!.string() }
+        assertEquals("cached", fallback)
+        val uncached = runCatching { client.newCall(get("/recommendations/new")).execute() }
+        assertTrue(uncached.exceptionOrNull() is CircuitOpenException)
+        // 熔断期间每次调用只查一次缓存，不访问网络
+        assertEquals(2, attempts.get())
+        assertEquals(1 + 3 * attemptsPerCall, server.requestCount)
+
+        // 熔断时间过后放行探测请求，成功则恢复
+        now += config.breakerOpenMillis
+        server.enqueue(MockResponse().setBody("fresh"))
+        server.enqueue(MockResponse().setBody("recovered"))
+        val probe = client.newCall(get("/banners")).execute().use { it.body!!.string() }
+        assertEquals("fresh", probe)
+        val next = client.newCall(get("/recommendations/new")).execute().use { it.body!!.string() }
+        assertEquals("recovered", next)
+    }
+
+    @Test
+    fun backoffStaysWithinExponentialCap() {
+        val interceptor = RetryInterceptor(ResilienceConfig(retryBaseDelayMillis = 100, retryMaxDelayMillis = 1_000))
+
+        repeat(100) {
+            assertTrue(interceptor.backoffMillis(0) in 0..100)
+            assertTrue(interceptor.backoffMillis(2) in 0..400)
+            assertTrue(interceptor.backoffMillis(10) in 0..1_000)
+        }
+    }
+
+    @Test
+    fun outerDispatcherFollowsLaneLimits() {
+        val client = OkHttpClient().withResilience(ResilienceConfig(), metrics, NetworkLane.UI)
+
+        assertEquals(NetworkLane.UI.maxRequests, client.dispatcher.maxRequests)
+        assertEquals(NetworkLane.UI.maxRequestsPerHost, client.dispatcher.maxRequestsPerHost)
+    }
+
+    private fun client(config: ResilienceConfig): OkHttpClient =
+        OkHttpClient.Builder()
+            .eventListenerFactory(TimingEventListener.Factory(metrics))
+            .build()
+            .withResilience(config, metrics)
+
+    private fun get(path: String): Request = Request.Builder().url(server.url(path)).build()
+}
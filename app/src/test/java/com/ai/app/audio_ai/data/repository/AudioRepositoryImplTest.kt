@@ -0,0 +1,278 @@
+package com.ai.app.audio_ai.data.repository
+
+import androidx.paging.PagingSource
+import com.ai.app.audio_ai.data.cache.AudioDetailCache
+import com.ai.app.audio_ai.data.local.AudioContentDao
+import com.ai.app.audio_ai.data.local.AudioContentEntity
+import com.ai.app.audio_ai.data.local.AudioSearchEntity
+import com.ai.app.audio_ai.data.local.BannerDao
+import com.ai.app.audio_ai.data.local.BannerEntity
+import com.ai.app.audio_ai.data.local.CacheMetadataDao
+import com.ai.app.audio_ai.data.local.CacheMetadataEntity
+import com.ai.app.audio_ai.data.local.ContentRowId
+import com.ai.app.audio_ai.data.local.FeedEntryEntity
+import com.ai.app.audio_ai.data.local.MediaUrls
+import com.ai.app.audio_ai.data.local.toEntity
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.model.Banner
+import com.ai.app.audio_ai.data.model.HomeFeed
+import com.ai.app.audio_ai.data.remote.AudioApiService
+import com.ai.app.audio_ai.data.sync.CatalogSyncer
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import okhttp3.Headers
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.junit.Test
+import retrofit2.HttpException
+import retrofit2.Response
+import java.io.IOException
+
+class AudioRepositoryImplTest {
+
+    private val dispatcher = StandardTestDispatcher()
+    private val testScope = TestScope(dispatcher)
+
+    private val api = FakeAudioApiService()
+    private val audioContentDao = FakeAudioContentDao()
+    private val bannerDao = FakeBannerDao()
+    private val cacheMetadataDao = FakeCacheMetadataDao()
+
+    private val repository = AudioRepositoryImpl(
+        audioApiService = api,
+        audioContentDao = audioContentDao,
+        bannerDao = bannerDao,
+        cacheMetadataDao = cacheMetadataDao,
+        catalogSyncer = CatalogSyncer(api, audioContentDao, bannerDao, cacheMetadataDao, dispatcher),
+        detailCache = AudioDetailCache(10, 60_000, testScope, testScope.testScheduler::currentTime),
+        ioDispatcher = dispatcher,
+        defaultDispatcher = dispatcher
+    )
+
+    @Test
+    fun refresh_writesFeedAndMarksFresh() = testScope.runTest {
+        api.hot = listOf(audio("1"), audio("2"))
+
+        assertTrue(repository.isStale(FeedCollection.HOT))
+        assertTrue(repository.refresh(FeedCollection.HOT).isSuccess)
+
+        assertEquals(listOf("1", "2"), repository.observeHotRecommendations().first().map { it.id })
+        assertFalse(repository.isStale(FeedCollection.HOT))
+    }
+
+    @Test
+    fun refresh_failureKeepsCachedFeed() = testScope.runTest {
+        api.hot = listOf(audio("1"))
+        repository.refresh(FeedCollection.HOT)
+        api.failure = IOException("offline")
+
+        val result = repository.refresh(FeedCollection.HOT, force = true)
+
+        assertTrue(result.isFailure)
+        assertEquals(listOf("1"), repository.observeHotRecommendations().first().map { it.id })
+    }
+
+    @Test
+    fun refresh_sendsValidatorsAndSkipsWritesWhenNotModified() = testScope.runTest {
+        api.hot = listOf(audio("1"), audio("2"))
+        repository.refresh(FeedCollection.HOT)
+        audioContentDao.writes = 0
+
+        assertTrue(repository.refresh(FeedCollection.HOT, force = true).isSuccess)
+
+        assertEquals(ETAG, api.lastEtag)
+        assertEquals(0, audioContentDao.writes)
+        assertEquals(listOf("1", "2"), repository.observeHotRecommendations().first().map { it.id })
+    }
+
+    @Test
+    fun refresh_writesOnlyChangedRows() = testScope.runTest {
+        api.hot = listOf(audio("1"), audio("2"))
+        repository.refresh(FeedCollection.HOT)
+        api.hot = listOf(audio("1"), audio("2").copy(title = "renamed"))
+        api.etag = "\"v2\""
+        audioContentDao.writes = 0
+
+        repository.refresh(FeedCollection.HOT, force = true)
+
+        assertEquals(1, audioContentDao.writes)
+        assertEquals("renamed", repository.observeHotRecommendations().first()[1].title)
+    }
+
+    @Test
+    fun refresh_keepsPagedRowsWhenFirstPageUnchanged() = testScope.runTest {
+        api.hot = listOf(audio("1"), audio("2"))
+        repository.refresh(FeedCollection.HOT)
+        audioContentDao.appendFeed(FeedCollection.HOT.key, 2, listOf(audio("3").toEntity()))
+        api.etag = "\"v2\""
+
+        repository.refresh(FeedCollection.HOT, force = true)
+
+        assertEquals(listOf("1", "2", "3"), repository.observeHotRecommendations().first().map { it.id })
+    }
+
+    @Test
+    fun refreshHome_remembersMissingBatchEndpoint() = testScope.runTest {
+        api.failure = HttpException(Response.error<Any>(404, "".toResponseBody()))
+        assertTrue(repository.refreshHome().exceptionOrNull() is HomeBatchUnsupportedException)
+        api.failure = null
+
+        // 记录保存在 cache_metadata 中，有效期内不再请求聚合接口
+        assertTrue(repository.refreshHome().exceptionOrNull() is HomeBatchUnsupportedException)
+    }
+
+    @Test
+    fun refreshHome_otherFailuresAreNotRemembered() = testScope.runTest {
+        api.failure = IOException("offline")
+        assertTrue(repository.refreshHome().exceptionOrNull() is IOException)
+        api.failure = null
+
+        assertTrue(repository.refreshHome().isSuccess)
+    }
+
+    @Test
+    fun getAudioContent_fallsBackToCachedRowWhenOffline() = testScope.runTest {
+        audioContentDao.upsertAll(listOf(audio("7").toEntity()))
+        api.failure = IOException("offline")
+
+        val result = repository.getAudioContent("7")
+
+        assertEquals("7", result.getOrThrow().id)
+    }
+
+    private fun audio(id: String) = AudioContent(
+        id = id,
+        title = "title$id",
+        author = "author",
+        coverUrl = "",
+        audioUrl = "",
+        duration = 60,
+        category = "音乐"
+    )
+
+    private class FakeAudioApiService : AudioApiService {
+        var hot = emptyList<AudioContent>()
+        var etag = ETAG
+        var lastEtag: String? = null
+        var failure: Exception? = null
+
+        private fun check() {
+            failure?.let { throw it }
+        }
+
+        // 模拟服务端的 ETag 校验
+        private fun <T> conditional(body: T, ifNoneMatch: String?): Response<T> {
+            check()
+            lastEtag = ifNoneMatch
+            if (ifNoneMatch == etag) {
+                val raw = okhttp3.Response.Builder()
+                    .request(Request.Builder().url("http://localhost/").build())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(304)
+                    .message("Not Modified")
+                    .build()
+                return Response.error("".toResponseBody(), raw)
+            }
+            return Response.success(body, Headers.headersOf("ETag", etag))
+        }
+
+        override suspend fun getBanners(etag: String?, lastModified: String?): Response<List<Banner>> =
+            conditional(emptyList(), etag)
+        override suspend fun getHomeFeed(): HomeFeed = HomeFeed(emptyList(), hot, emptyList()).also { check() }
+        override suspend fun getHotRecommendations(etag: String?, lastModified: String?): Response<List<AudioContent>> =
+            conditional(hot, etag)
+        override suspend fun getNewReleases(etag: String?, lastModified: String?): Response<List<AudioContent>> =
+            conditional(emptyList(), etag)
+        override suspend fun getAudioContentById(id: String): AudioContent? = hot.find { it.id == id }.also { check() }
+        override suspend fun searchAudioContent(query: String): List<AudioContent> = emptyList<AudioContent>().also { check() }
+    }
+
+    private class FakeAudioContentDao : AudioContentDao {
+        private val contents = MutableStateFlow(mapOf<String, AudioContentEntity>())
+        private val entries = MutableStateFlow(listOf<FeedEntryEntity>())
+        var writes = 0
+
+        override fun observeFeed(feed: String): Flow<List<AudioContentEntity>> = entries.map { list ->
+            list.filter { it.feed == feed }.sortedBy { it.position }.mapNotNull { contents.value[it.audioId] }
+        }
+
+        override fun pagingSource(feed: String): PagingSource<Int, AudioContentEntity> =
+            throw UnsupportedOperationException()
+
+        override suspend fun getMediaUrls(feed: String, limit: Int): List<MediaUrls> =
+            getFeedIds(feed).take(limit).mapNotNull { contents.value[it] }.map { MediaUrls(it.coverUrl, it.audioUrl) }
+
+        override suspend fun countFeed(feed: String): Int = entries.value.count { it.feed == feed }
+
+        override suspend fun getById(id: String): AudioContentEntity? = contents.value[id]
+
+        override suspend fun getByIds(ids: List<String>): List<AudioContentEntity> = ids.mapNotNull { contents.value[it] }
+
+        override suspend fun getFeedIds(feed: String): List<String> =
+            entries.value.filter { it.feed == feed }.sortedBy { it.position }.map { it.audioId }
+
+        override suspend fun insertContents(items: List<AudioContentEntity>) {
+            writes += items.size
+            contents.value = contents.value + items.associateBy { it.id }
+        }
+
+        override suspend fun insertSearchEntries(entries: List<AudioSearchEntity>) = Unit
+
+        override suspend fun getRowIds(ids: List<String>): List<ContentRowId> = emptyList()
+
+        override suspend fun deleteSearchEntries(ids: List<String>) = Unit
+
+        override suspend fun upsertAll(items: List<AudioContentEntity>) {
+            insertContents(items)
+        }
+
+        override suspend fun insertFeedEntries(entries: List<FeedEntryEntity>) {
+            this.entries.value = this.entries.value + entries
+        }
+
+        override suspend fun clearFeed(feed: String) {
+            entries.value = entries.value.filter { it.feed != feed }
+        }
+
+        override suspend fun clearRemoteKey(feed: String) = Unit
+    }
+
+    private class FakeBannerDao : BannerDao {
+        private val banners = MutableStateFlow(listOf<BannerEntity>())
+
+        override fun observeAll(): Flow<List<BannerEntity>> = banners
+
+        override suspend fun getAll(): List<BannerEntity> = banners.value
+
+        override suspend fun insertAll(banners: List<BannerEntity>) {
+            this.banners.value = this.banners.value + banners
+        }
+
+        override suspend fun clear() {
+            banners.value = emptyList()
+        }
+    }
+
+    companion object {
+        private const val ETAG = "\"v1\""
+    }
+
+    private class FakeCacheMetadataDao : CacheMetadataDao {
+        private val metadata = HashMap<String, CacheMetadataEntity>()
+
+        override suspend fun get(key: String): CacheMetadataEntity? = metadata[key]
+
+        override suspend fun upsert(metadata: CacheMetadataEntity) {
+            this.metadata[metadata.key] = metadata
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ai.app.audio_ai.data.repository
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.model.Banner
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.test.runTest
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import retrofit2.HttpException
+import retrofit2.Response
+import java.io.IOException
+
+class HomeFeedLoaderTest {
+
+    private val repository = FakeAudioRepository()
+    private val loader = HomeFeedLoader(repository)
+    private val results = mutableMapOf<FeedCollection, Result<Unit>>()
+
+    @Test
+    fun load_refreshesSectionsConcurrentlyWhenBatchFails() = runTest {
+        repository.homeResult = Result.failure(IOException("timeout"))
+        // 每个模块都要等其他模块开始后才返回，串行执行时会一直挂起
+        val started = FeedCollection.values().associateWith { CompletableDeferred<Unit>() }
+        repository.onRefresh = { collection ->
+            started.getValue(collection).complete(Unit)
+            started.values.forEach { it.await() }
+            Result.success(Unit)
+        }
+
+        loader.load(force = false) { collection, result -> results[collection] = result }
+
+        assertEquals(1, repository.homeCalls)
+        assertEquals(FeedCollection.values().toSet(), repository.refreshed.toSet())
+        assertTrue(results.values.all { it.isSuccess })
+    }
+
+    @Test
+    fun load_oneSectionFailingDoesNotAffectOthers() = runTest {
+        repository.homeResult = Result.failure(HttpException(Response.error<Any>(500, "".toResponseBody())))
+        repository.onRefresh = { collection ->
+            if (collection == FeedCollection.HOT) Result.failure(IOException("offline")) else Result.success(Unit)
+        }
+
+        loader.load(force = false) { collection, result -> results[collection] = result }
+
+        assertTrue(results.getValue(FeedCollection.HOT).isFailure)
+        assertTrue(results.getValue(FeedCollection.BANNERS).isSuccess)
+        assertTrue(results.getValue(FeedCollection.NEW).isSuccess)
+    }
+
+    @Test
+    fun load_batchSuccessSkipsPerSectionRequests() = runTest {
+        loader.load(force = false) { collection, result -> results[collection] = result }
+
+        assertEquals(1, repository.homeCalls)
+        assertTrue(repository.refreshed.isEmpty())
+        assertEquals(3, results.values.count { it.isSuccess })
+    }
+
+    @Test
+    fun load_unsupportedBatchIsNotRetriedInProcess() = runTest {
+        repository.homeResult = Result.failure(HomeBatchUnsupportedException())
+
+        loader.load(force = true) { _, _ -> }
+        loader.load(force = true) { _, _ -> }
+
+        assertEquals(1, repository.homeCalls)
+        assertEquals(6, repository.refreshed.size)
+    }
+
+    @Test
+    fun load_onlyStaleSectionsAreRefreshed() = runTest {
+        repository.stale = setOf(FeedCollection.HOT)
+
+        loader.load(force = false) { collection, result -> results[collection] = result }
+
+        assertEquals(0, repository.homeCalls)
+        assertEquals(listOf(FeedCollection.HOT), repository.refreshed)
+        assertEquals(3, results.values.count { it.isSuccess })
+    }
+
+    @Test
+    fun retry_forcesRefreshOfSingleSection() = runTest {
+        repository.onRefresh = { Result.failure(IOException("offline")) }
+
+        val result = loader.retry(FeedCollection.NEW)
+
+        assertTrue(result.isFailure)
+        assertEquals(listOf(FeedCollection.NEW), repository.refreshed)
+        assertEquals(listOf(true), repository.forced)
+    }
+
+    private class FakeAudioRepository : AudioRepository {
+        var stale: Set<FeedCollection> = FeedCollection.values().toSet()
+        var homeResult: Result<Unit> = Result.success(Unit)
+        var homeCalls = 0
+        var onRefresh: suspend (FeedCollection) -> Result<Unit> = { Result.success(Unit) }
+        val refreshed = mutableListOf<FeedCollection>()
+        val forced = mutableListOf<Boolean>()
+
+        override suspend fun getAudioContent(audioId: String): Result<AudioContent> =
+            Result.failure(UnsupportedOperationException())
+
+        override fun observeBanners(): Flow<List<Banner>> = emptyFlow()
+        override fun observeHotRecommendations(): Flow<List<AudioContent>> = emptyFlow()
+        override fun observeNewReleases(): Flow<List<AudioContent>> = emptyFlow()
+
+        override suspend fun refresh(collection: FeedCollection, force: Boolean): Result<Unit> {
+            refreshed += collection
+            forced += force
+            return onRefresh(collection)
+        }
+
+        override suspend fun refreshHome(): Result<Unit> {
+            homeCalls++
+            return homeResult
+        }
+
+        override suspend fun isStale(collection: FeedCollection): Boolean = collection in stale
+    }
+}
@@ -0,0 +1,94 @@
+package com.ai.app.audio_ai.data.search
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+class Bm25Test {
+
+    // 两列：标题、简介
+    private val weights = doubleArrayOf(3.0, 1.0)
+
+    @Test
+    fun moreOccurrencesRankHigher() {
+        val once = matchInfo(rows = 100, lengths = intArrayOf(4, 20), hits = listOf(intArrayOf(1, 0)), docsWithHits = 10)
+        val twice = matchInfo(rows = 100, lengths = intArrayOf(4, 20), hits = listOf(intArrayOf(2, 0)), docsWithHits = 10)
+
+        assertTrue(Bm25.score(twice, weights) > Bm25.score(once, weights))
+    }
+
+    @Test
+    fun shorterColumnRanksHigher() {
+        val short = matchInfo(rows = 100, lengths = intArrayOf(2, 20), hits = listOf(intArrayOf(1, 0)), docsWithHits = 10)
+        val long = matchInfo(rows = 100, lengths = intArrayOf(12, 20), hits = listOf(intArrayOf(1, 0)), docsWithHits = 10)
+
+        assertTrue(Bm25.score(short, weights) > Bm25.score(long, weights))
+    }
+
+    @Test
+    fun titleHitOutranksDescriptionHit() {
+        val title = matchInfo(rows = 100, lengths = intArrayOf(4, 4), hits = listOf(intArrayOf(1, 0)), docsWithHits = 10)
+        val description = matchInfo(rows = 100, lengths = intArrayOf(4, 4), hits = listOf(intArrayOf(0, 1)), docsWithHits = 10)
+
+        assertTrue(Bm25.score(title, weights) > Bm25.score(description, weights))
+    }
+
+    @Test
+    fun rareTermOutranksCommonTerm() {
+        val rare = matchInfo(rows = 100, lengths = intArrayOf(4, 20), hits = listOf(intArrayOf(1, 0)), docsWithHits = 2)
+        val common = matchInfo(rows = 100, lengths = intArrayOf(4, 20), hits = listOf(intArrayOf(1, 0)), docsWithHits = 40)
+
+        assertTrue(Bm25.score(rare, weights) > Bm25.score(common, weights))
+    }
+
+    @Test
+    fun termInMostRowsStillScoresPositive() {
+        val everywhere = matchInfo(rows = 10, lengths = intArrayOf(4, 20), hits = listOf(intArrayOf(1, 0)), docsWithHits = 10)
+
+        assertTrue(Bm25.score(everywhere, weights) > 0.0)
+    }
+
+    @Test
+    fun zeroWeightColumnIsIgnored() {
+        val hit = matchInfo(rows = 100, lengths = intArrayOf(4, 20), hits = listOf(intArrayOf(0, 3)), docsWithHits = 5)
+
+        assertEquals(0.0, Bm25.score(hit, doubleArrayOf(3.0, 0.0)), 0.0)
+    }
+
+    @Test
+    fun scoresOfPhrasesAreSummed() {
+        val first = matchInfo(rows = 100, lengths = intArrayOf(4, 20), hits = listOf(intArrayOf(1, 0)), docsWithHits = 10)
+        val both = matchInfo(
+            rows = 100,
+            lengths = intArrayOf(4, 20),
+            hits = listOf(intArrayOf(1, 0), intArrayOf(1, 0)),
+            docsWithHits = 10
+        )
+
+        assertEquals(2 * Bm25.score(first, weights), Bm25.score(both, weights), 1e-9)
+    }
+
+    /**
+     * 按 matchinfo 'pcnalx' 的布局生成结果，各列平均长度固定为 [AVG_LENGTH]
+     * @param hits 每个短语在各列的命中次数
+     * @param docsWithHits 含该短语的行数，所有短语和列相同
+     */
+    private fun matchInfo(rows: Int, lengths: IntArray, hits: List<IntArray>, docsWithHits: Int): ByteArray {
+        val columns = lengths.size
+        val ints = mutableListOf(hits.size, columns, rows)
+        repeat(columns) { ints.add(AVG_LENGTH) }
+        lengths.forEach { ints.add(it) }
+        hits.forEach { phrase ->
+            phrase.forEach { count -> ints.addAll(listOf(count, count * docsWithHits, docsWithHits)) }
+        }
+        val buffer = ByteBuffer.allocate(ints.size * Int.SIZE_BYTES).order(ByteOrder.nativeOrder())
+        ints.forEach { buffer.putInt(it) }
+        return buffer.array()
+    }
+
+    companion object {
+        private const val AVG_LENGTH = 6
+    }
+}
@@ -0,0 +1,43 @@
+package com.ai.app.audio_ai.data.search
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class PinyinConverterTest {
+
+    @Test
+    fun isHan_onlyAcceptsChineseCharacters() {
+        assertTrue(PinyinConverter.isHan('周'.code))
+        assertFalse(PinyinConverter.isHan('a'.code))
+        assertFalse(PinyinConverter.isHan('。'.code))
+        assertFalse(PinyinConverter.isHan('の'.code))
+    }
+
+    @Test
+    fun toPinyin_returnsLowercaseWithoutTone() {
+        assertEquals("zhou", PinyinConverter.toPinyin('周'))
+        assertEquals("nv", PinyinConverter.toPinyin('女'))
+        assertNull(PinyinConverter.toPinyin('a'))
+    }
+
+    @Test
+    fun toSyllableRuns_splitsOnNonHanCharacters() {
+        assertEquals(
+            listOf(listOf("zhou", "jie", "lun"), listOf("dao", "xiang")),
+            PinyinConverter.toSyllableRuns("周杰伦 - 稻香")
+        )
+        assertEquals(listOf(listOf("ge")), PinyinConverter.toSyllableRuns("abc歌2"))
+        assertEquals(emptyList<List<String>>(), PinyinConverter.toSyllableRuns("Daily News"))
+    }
+
+    @Test
+    fun pinyinTokens_includeJoinedSyllablesAndInitials() {
+        val tokens = pinyinTokens("稻香", "周杰伦")
+
+        assertEquals(listOf("dao", "xiang", "daoxiang", "zhou", "jie", "lun", "zhoujielun"), tokens.full)
+        assertEquals(listOf("dx", "zjl"), tokens.initials)
+    }
+}
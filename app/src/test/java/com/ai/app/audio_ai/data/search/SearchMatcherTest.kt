@@ -0,0 +1,60 @@
+package com.ai.app.audio_ai.data.search
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class SearchMatcherTest {
+
+    private val song = AudioContent(
+        id = "1",
+        title = "稻香",
+        author = "周杰伦",
+        coverUrl = "",
+        audioUrl = "",
+        duration = 223,
+        category = "音乐",
+        description = "Playlist of summer hits"
+    )
+
+    @Test
+    fun hanTermsMatchConsecutiveCharacters() {
+        assertTrue(SearchMatcher.matches(song, "杰伦"))
+        assertTrue(SearchMatcher.matches(song, "周杰伦 稻香"))
+        assertFalse(SearchMatcher.matches(song, "周伦"))
+        // 短语不能跨列
+        assertFalse(SearchMatcher.matches(song, "香周"))
+    }
+
+    @Test
+    fun latinTermsMatchTokenPrefixesOnly() {
+        assertTrue(SearchMatcher.matches(song, "play"))
+        assertTrue(SearchMatcher.matches(song, "SUM"))
+        // 和 FTS 一样，词中间的片段不算命中
+        assertFalse(SearchMatcher.matches(song, "list"))
+        assertFalse(SearchMatcher.matches(song, "ummer"))
+    }
+
+    @Test
+    fun pinyinAndInitialsMatchByPrefix() {
+        assertTrue(SearchMatcher.matches(song, "zhou"))
+        assertTrue(SearchMatcher.matches(song, "zhoujie"))
+        assertTrue(SearchMatcher.matches(song, "jie"))
+        assertTrue(SearchMatcher.matches(song, "zjl"))
+        assertTrue(SearchMatcher.matches(song, "dx"))
+        assertFalse(SearchMatcher.matches(song, "jl"))
+    }
+
+    @Test
+    fun everyTermMustMatch() {
+        assertTrue(SearchMatcher.matches(song, "zjl 音乐"))
+        assertFalse(SearchMatcher.matches(song, "zjl 有声书"))
+    }
+
+    @Test
+    fun punctuationOnlyQueryMatchesNothing() {
+        assertFalse(SearchMatcher.matches(song, "  "))
+        assertFalse(SearchMatcher.matches(song, "*()"))
+    }
+}
@@ -0,0 +1,47 @@
+package com.ai.app.audio_ai.data.search
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class SearchQueryBuilderTest {
+
+    @Test
+    fun latinTermsBecomePrefixQueries() {
+        assertEquals("zjl*", SearchQueryBuilder.build("ZJL"))
+        assertEquals("zhou* jie*", SearchQueryBuilder.build("  zhou   jie "))
+    }
+
+    @Test
+    fun hanTermsBecomeCharacterPhrases() {
+        assertEquals("\"杰 伦\"", SearchQueryBuilder.build("杰伦"))
+        assertEquals("\"周\" \"稻 香\"", SearchQueryBuilder.build("周 稻香"))
+    }
+
+    @Test
+    fun mixedTermKeepsTokenOrder() {
+        assertEquals("\"周 杰 伦 2024\"", SearchQueryBuilder.build("周杰伦2024"))
+    }
+
+    @Test
+    fun ftsSpecialCharactersAreStripped() {
+        assertEquals("abc* def*", SearchQueryBuilder.build("\"abc\" def*"))
+        assertEquals("a* b*", SearchQueryBuilder.build("a-b"))
+        assertEquals("title* x*", SearchQueryBuilder.build("title:x"))
+        assertEquals("near* ab*", SearchQueryBuilder.build("(near) ^ab"))
+        assertEquals("\"杰 伦\"", SearchQueryBuilder.build("\"杰伦\""))
+    }
+
+    @Test
+    fun otherPunctuationSplitsTokensWithinPhrase() {
+        assertEquals("\"a b*\"", SearchQueryBuilder.build("a.b"))
+    }
+
+    @Test
+    fun emptyOrPunctuationOnlyInputHasNoQuery() {
+        assertNull(SearchQueryBuilder.build(""))
+        assertNull(SearchQueryBuilder.build("   "))
+        assertNull(SearchQueryBuilder.build("\"*^():-"))
+        assertNull(SearchQueryBuilder.build("..."))
+    }
+}
@@ -0,0 +1,63 @@
+package com.ai.app.audio_ai.data.search
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class SearchResultCacheTest {
+
+    private var now = 0L
+    private val cache = SearchResultCache(maxEntries = 4, ttlMillis = 1_000, clock = { now })
+
+    private val results = listOf(
+        audio("1", "稻香", "周杰伦"),
+        audio("2", "晴天", "周杰伦"),
+        audio("3", "夜曲", "周深")
+    )
+
+    @Test
+    fun longerQueryIsFilteredFromCompletePrefixResult() {
+        cache.put("周", results, complete = true)
+
+        assertEquals(listOf("1", "2"), cache.get("周杰")?.map { it.id })
+        assertEquals(SearchResultCache.Stats(hits = 0, prefixHits = 1, misses = 0), cache.stats())
+    }
+
+    @Test
+    fun filteredResultIsStoredForLongerInput() {
+        cache.put("周", results, complete = true)
+        cache.get("周杰")
+
+        assertEquals(listOf("1"), cache.get("周杰 稻")?.map { it.id })
+        assertEquals(2L, cache.stats().prefixHits)
+    }
+
+    @Test
+    fun truncatedResultIsNotReusedForPrefix() {
+        cache.put("周", results, complete = false)
+
+        assertNull(cache.get("周杰"))
+        assertEquals(listOf("1", "2", "3"), cache.get("周")?.map { it.id })
+        assertEquals(SearchResultCache.Stats(hits = 1, prefixHits = 0, misses = 1), cache.stats())
+    }
+
+    @Test
+    fun expiredEntryIsNotReused() {
+        cache.put("周", results, complete = true)
+        now += 1_001
+
+        assertNull(cache.get("周"))
+        assertNull(cache.get("周杰"))
+    }
+
+    private fun audio(id: String, title: String, author: String) = AudioContent(
+        id = id,
+        title = title,
+        author = author,
+        coverUrl = "",
+        audioUrl = "",
+        duration = 200,
+        category = "音乐"
+    )
+}
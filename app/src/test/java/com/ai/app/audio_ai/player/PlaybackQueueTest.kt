@@ -0,0 +1,93 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class PlaybackQueueTest {
+
+    private val a = audio("a")
+    private val b = audio("b")
+    private val c = audio("c")
+    private val d = audio("d")
+
+    @Test
+    fun addNext_insertsAfterCurrent() {
+        val queue = PlaybackQueue().apply { set(listOf(a, b, c), 1) }
+
+        queue.addNext(d)
+
+        assertEquals(listOf(a, b, d, c), queue.snapshot())
+        assertEquals(b, queue.current)
+        assertEquals(d, queue.next)
+    }
+
+    @Test
+    fun removeBeforeCurrent_keepsCurrentItem() {
+        val queue = PlaybackQueue().apply { set(listOf(a, b, c), 2) }
+
+        assertFalse(queue.removeAt(0))
+
+        assertEquals(c, queue.current)
+        assertEquals(1, queue.currentIndex)
+    }
+
+    @Test
+    fun removeCurrent_promotesFollowingItem() {
+        val queue = PlaybackQueue().apply { set(listOf(a, b, c), 1) }
+
+        assertTrue(queue.removeAt(1))
+
+        assertEquals(c, queue.current)
+        assertNull(queue.next)
+    }
+
+    @Test
+    fun move_tracksCurrentItem() {
+        val queue = PlaybackQueue().apply { set(listOf(a, b, c, d), 1) }
+
+        queue.move(3, 0)
+        assertEquals(b, queue.current)
+        assertEquals(c, queue.next)
+
+        queue.move(2, 1)
+        assertEquals(listOf(d, b, a, c), queue.snapshot())
+        assertEquals(1, queue.currentIndex)
+
+        queue.move(0, 3)
+        assertEquals(listOf(b, a, c, d), queue.snapshot())
+        assertEquals(0, queue.currentIndex)
+    }
+
+    @Test
+    fun moveToNext_stopsAtEnd() {
+        val queue = PlaybackQueue().apply { set(listOf(a, b)) }
+
+        assertTrue(queue.moveToNext())
+        assertFalse(queue.moveToNext())
+        assertEquals(b, queue.current)
+    }
+
+    @Test
+    fun addToEmptyQueue_becomesCurrent() {
+        val queue = PlaybackQueue()
+
+        queue.add(a)
+
+        assertEquals(a, queue.current)
+        assertEquals(0, queue.currentIndex)
+    }
+
+    private fun audio(id: String) = AudioContent(
+        id = id,
+        title = id,
+        author = "",
+        coverUrl = "",
+        audioUrl = "https://example.com/$id.mp3",
+        duration = 60,
+        category = ""
+    )
+}
@@ -0,0 +1,119 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.local.PlaybackQueueItemEntity
+import com.ai.app.audio_ai.data.local.PlaybackSessionDao
+import com.ai.app.audio_ai.data.local.PlaybackSessionEntity
+import com.ai.app.audio_ai.data.model.AudioContent
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class PlaybackSessionStoreTest {
+
+    private val dispatcher = StandardTestDispatcher()
+    private val testScope = TestScope(dispatcher)
+    private val dao = FakePlaybackSessionDao()
+
+    private fun TestScope.store() = PlaybackSessionStore(dao, backgroundScope, dispatcher)
+
+    @Test
+    fun positionUpdates_areBatchedIntoOneWrite() = testScope.runTest {
+        val store = store()
+        store.updateQueue(listOf(audio("1"), audio("2")), 0, 0)
+        repeat(5) { second -> store.updatePosition(0, second * 1_000L) }
+
+        advanceTimeBy(PlaybackSessionStore.WRITE_BEHIND_MILLIS + 1)
+
+        assertEquals(1, dao.sessionWrites)
+        assertEquals(1, dao.queueWrites)
+        assertEquals(4_000L, dao.session?.positionMs)
+    }
+
+    @Test
+    fun positionOnlyChange_doesNotRewriteQueue() = testScope.runTest {
+        val store = store()
+        store.updateQueue(listOf(audio("1"), audio("2")), 0, 0)
+        advanceTimeBy(PlaybackSessionStore.WRITE_BEHIND_MILLIS + 1)
+
+        store.updatePosition(1, 500)
+        advanceTimeBy(PlaybackSessionStore.WRITE_BEHIND_MILLIS + 1)
+
+        assertEquals(2, dao.sessionWrites)
+        assertEquals(1, dao.queueWrites)
+        assertEquals(1, dao.session?.currentIndex)
+    }
+
+    @Test
+    fun load_restoresSavedQueueAndPosition() = testScope.runTest {
+        store().apply {
+            updateQueue(listOf(audio("1"), audio("2")), 1, 12_000)
+            flush()
+        }
+        runCurrent()
+
+        val restored = store().load()
+
+        assertEquals(listOf("1", "2"), restored?.items?.map { it.id })
+        assertEquals("2", restored?.current?.id)
+        assertEquals(12_000L, restored?.positionMs)
+    }
+
+    @Test
+    fun clearingQueue_removesSavedSession() = testScope.runTest {
+        val store = store()
+        store.updateQueue(listOf(audio("1")), 0, 0)
+        store.flush()
+        runCurrent()
+
+        store.updateQueue(emptyList(), -1, 0)
+        advanceTimeBy(PlaybackSessionStore.WRITE_BEHIND_MILLIS + 1)
+
+        assertNull(store.session.value)
+        assertNull(dao.session)
+        assertEquals(0, dao.queue.size)
+    }
+
+    private fun audio(id: String) = AudioContent(
+        id = id,
+        title = "title$id",
+        author = "author",
+        coverUrl = "https://cdn.example.com/$id.jpg",
+        audioUrl = "https://cdn.example.com/$id.mp3",
+        duration = 60,
+        category = "music"
+    )
+
+    private class FakePlaybackSessionDao : PlaybackSessionDao {
+        var session: PlaybackSessionEntity? = null
+        var queue: List<PlaybackQueueItemEntity> = emptyList()
+        var sessionWrites = 0
+        var queueWrites = 0
+
+        override suspend fun getSession() = session
+
+        override suspend fun getQueue() = queue.sortedBy { it.position }
+
+        override suspend fun upsertSession(session: PlaybackSessionEntity) {
+            sessionWrites++
+            this.session = session
+        }
+
+        override suspend fun insertQueue(items: List<PlaybackQueueItemEntity>) {
+            queueWrites++
+            queue = queue + items
+        }
+
+        override suspend fun deleteQueue() {
+            queue = emptyList()
+        }
+
+        override suspend fun deleteSession() {
+            session = null
+        }
+    }
+}
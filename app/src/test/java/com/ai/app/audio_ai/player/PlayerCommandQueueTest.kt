@@ -0,0 +1,298 @@
+package com.ai.app.audio_ai.player
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.player.engine.PlayerEngineType
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.CyclicBarrier
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class PlayerCommandQueueTest {
+
+    private val connector = FakeConnector()
+    private val commands = PlayerCommandQueue(connector)
+    private val service = FakeController()
+
+    @Test
+    fun commandsBeforeConnect_areAppliedInOrderWithSingleBind() {
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        commands.submit(PlayerCommand.Enqueue(audio("2")))
+        commands.submit(PlayerCommand.SeekTo(3_000))
+        commands.submit(PlayerCommand.Pause)
+
+        assertEquals(PlayerCommandQueue.State.BINDING, commands.state)
+        assertEquals(emptyList<String>(), service.calls)
+
+        commands.onConnected(service)
+
+        assertEquals(1, connector.binds.get())
+        assertEquals(listOf("playQueue:1@0", "enqueue:2", "seekTo:3000", "pause"), service.calls)
+    }
+
+    @Test
+    fun rapidTaps_bindOnceAndKeepOnlyLastTransportCommand() {
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        repeat(50) {
+            commands.submit(PlayerCommand.Pause)
+            commands.submit(PlayerCommand.Resume)
+            commands.submit(PlayerCommand.SeekTo(it * 100L))
+        }
+
+        commands.onConnected(service)
+
+        assertEquals(1, connector.binds.get())
+        // 暂停/继续只保留最后一个；连续跳转只保留最后一个
+        assertEquals(listOf("playQueue:1@0", "resume", "seekTo:4900"), service.calls)
+    }
+
+    @Test
+    fun newQueue_replacesCommandsForPreviousQueue() {
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        commands.submit(PlayerCommand.SetEngine(PlayerEngineType.MEDIA3))
+        commands.submit(PlayerCommand.Enqueue(audio("2")))
+        commands.submit(PlayerCommand.SkipToNext)
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("3")), 0))
+
+        commands.onConnected(service)
+
+        assertEquals(listOf("setEngine:MEDIA3", "playQueue:3@0"), service.calls)
+    }
+
+    @Test
+    fun transportCommandsWithoutService_doNotBind() {
+        commands.submit(PlayerCommand.Pause)
+        commands.submit(PlayerCommand.SkipToNext)
+        commands.submit(PlayerCommand.Stop)
+
+        assertEquals(0, connector.binds.get())
+        assertEquals(PlayerCommandQueue.State.UNBOUND, commands.state)
+    }
+
+    @Test
+    fun stopWhileBinding_cancelsBindAndIgnoresLateConnection() {
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        commands.submit(PlayerCommand.Stop)
+
+        assertEquals(1, connector.unbinds.get())
+        assertEquals(PlayerCommandQueue.State.UNBOUND, commands.state)
+
+        commands.onConnected(service)
+
+        assertEquals(emptyList<String>(), service.calls)
+        assertNull(commands.connected)
+    }
+
+    @Test
+    fun stopWhenBound_appliesThenUnbinds_andNextPlayRebinds() {
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        commands.onConnected(service)
+
+        commands.submit(PlayerCommand.Stop)
+
+        assertEquals(listOf("playQueue:1@0", "stop"), service.calls)
+        assertEquals(1, connector.unbinds.get())
+        assertEquals(PlayerCommandQueue.State.UNBOUND, commands.state)
+
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("2")), 0))
+
+        assertEquals(2, connector.binds.get())
+        assertEquals(PlayerCommandQueue.State.BINDING, commands.state)
+    }
+
+    @Test
+    fun disconnect_buffersUntilReconnectWithoutNewBind() {
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        commands.onConnected(service)
+        commands.onDisconnected()
+
+        commands.submit(PlayerCommand.Pause)
+        commands.submit(PlayerCommand.Enqueue(audio("2")))
+
+        val restarted = FakeController()
+        commands.onConnected(restarted)
+
+        assertEquals(1, connector.binds.get())
+        assertEquals(listOf("pause", "enqueue:2"), restarted.calls)
+        assertSame(restarted, commands.connected)
+    }
+
+    @Test
+    fun bindingDied_withPendingCommands_rebinds() {
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        commands.onBindingDied()
+
+        assertEquals(1, connector.unbinds.get())
+        assertEquals(2, connector.binds.get())
+
+        commands.onConnected(service)
+
+        assertEquals(listOf("playQueue:1@0"), service.calls)
+    }
+
+    @Test
+    fun failedBind_dropsPendingCommands() {
+        connector.succeed = false
+
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+
+        assertEquals(PlayerCommandQueue.State.UNBOUND, commands.state)
+    }
+
+    @Test
+    fun commandSubmittedWhileApplying_runsAfterCurrentCommand() {
+        service.onPlayQueue = { commands.submit(PlayerCommand.SeekTo(1_000)) }
+        commands.submit(PlayerCommand.PlayQueue(listOf(audio("1")), 0))
+        commands.submit(PlayerCommand.Enqueue(audio("2")))
+
+        commands.onConnected(service)
+
+        assertEquals(listOf("playQueue:1@0", "enqueue:2", "seekTo:1000"), service.calls)
+    }
+
+    @Test
+    fun concurrentSubmitters_loseNothingAndKeepPerThreadOrder() {
+        val threads = 8
+        val perThread = 200
+        val executor = Executors.newFixedThreadPool(threads + 1)
+        val start = CyclicBarrier(threads + 1)
+        val done = CountDownLatch(threads + 1)
+        try {
+            repeat(threads) { thread ->
+                executor.execute {
+                    start.await()
+                    repeat(perThread) { i -> commands.submit(PlayerCommand.Enqueue(audio("$thread-$i"))) }
+                    done.countDown()
+                }
+            }
+            // 连接在提交过程中到达
+            executor.execute {
+                start.await()
+                connector.bindRequested.await()
+                commands.onConnected(service)
+                done.countDown()
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS))
+        } finally {
+            executor.shutdownNow()
+        }
+
+        val enqueued = service.calls.map { it.removePrefix("enqueue:") }
+        assertEquals(1, connector.binds.get())
+        assertEquals(threads * perThread, enqueued.size)
+        repeat(threads) { thread ->
+            val order = enqueued.filter { it.startsWith("$thread-") }.map { it.substringAfter('-').toInt() }
+            assertEquals((0 until perThread).toList(), order)
+        }
+    }
+
+    private fun audio(id: String) = AudioContent(
+        id = id,
+        title = "title$id",
+        author = "author",
+        coverUrl = "",
+        audioUrl = "https://cdn.example.com/$id.mp3",
+        duration = 60,
+        category = "music"
+    )
+
+    private class FakeConnector : PlayerCommandQueue.Connector {
+        val binds = AtomicInteger()
+        val unbinds = AtomicInteger()
+        val bindRequested = CountDownLatch(1)
+        @Volatile
+        var succeed = true
+
+        override fun bind(): Boolean {
+            binds.incrementAndGet()
+            bindRequested.countDown()
+            return succeed
+        }
+
+        override fun unbind() {
+            unbinds.incrementAndGet()
+        }
+    }
+
+    private class FakeController : PlayerController {
+        val calls: MutableList<String> = Collections.synchronizedList(mutableListOf())
+        var onPlayQueue: (() -> Unit)? = null
+
+        override fun playQueue(items: List<AudioContent>, startIndex: Int) {
+            calls += "playQueue:${items.joinToString(",") { it.id }}@$startIndex"
+            onPlayQueue?.invoke()
+        }
+
+        override fun restoreSession(session: PlaybackSession) {
+            calls += "restore"
+        }
+
+        override fun enqueue(audio: AudioContent) {
+            calls += "enqueue:${audio.id}"
+        }
+
+        override fun enqueueNext(audio: AudioContent) {
+            calls += "enqueueNext:${audio.id}"
+        }
+
+        override fun removeFromQueue(index: Int) {
+            calls += "remove:$index"
+        }
+
+        override fun moveInQueue(from: Int, to: Int) {
+            calls += "move:$from->$to"
+        }
+
+        override fun clearQueue() {
+            calls += "clear"
+        }
+
+        override fun skipToNext() {
+            calls += "next"
+        }
+
+        override fun skipToPrevious() {
+            calls += "previous"
+        }
+
+        override fun skipTo(index: Int) {
+            calls += "skipTo:$index"
+        }
+
+        override fun setEngine(type: PlayerEngineType) {
+            calls += "setEngine:$type"
+        }
+
+        override fun pauseAudio() {
+            calls += "pause"
+        }
+
+        override fun resumeAudio() {
+            calls += "resume"
+        }
+
+        override fun seekTo(positionMs: Long) {
+            calls += "seekTo:$positionMs"
+        }
+
+        override fun stopAudio() {
+            calls += "stop"
+        }
+
+        override fun isPlaying() = false
+
+        override fun getQueue() = emptyList<AudioContent>()
+
+        override fun getCurrentIndex() = PlaybackQueue.NO_INDEX
+
+        override fun getEngineType() = PlayerEngineType.DEFAULT
+
+        override fun getCurrentAudio(): AudioContent? = null
+    }
+}
@@ -0,0 +1,141 @@
+package com.ai.app.audio_ai.startup
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Collections
+import kotlin.reflect.KClass
+
+class StartupOrchestratorTest {
+
+    private val dispatcher = StandardTestDispatcher()
+    private val testScope = TestScope(dispatcher)
+    private val report = StartupReport()
+    private val log = Collections.synchronizedList(mutableListOf<String>())
+
+    @Test
+    fun tasksRunAfterTheirDependencies() = testScope.runTest {
+        val orchestrator = orchestrator(
+            Database(log),
+            Network(log, deps = listOf(Database::class)),
+            Warmup(log, deps = listOf(Network::class, Database::class))
+        )
+
+        orchestrator.start().join()
+
+        assertEquals(listOf("Database", "Network", "Warmup"), log)
+        assertTrue(report.timings().all { it.succeeded })
+    }
+
+    @Test
+    fun independentTasksRunConcurrently() = testScope.runTest {
+        // 两个任务互相等待对方开始，串行执行时会一直挂起
+        val databaseStarted = CompletableDeferred<Unit>()
+        val networkStarted = CompletableDeferred<Unit>()
+        val orchestrator = orchestrator(
+            Database(log) {
+                databaseStarted.complete(Unit)
+                networkStarted.await()
+            },
+            Network(log) {
+                networkStarted.complete(Unit)
+                databaseStarted.await()
+            }
+        )
+
+        orchestrator.start().join()
+
+        assertEquals(setOf("Database", "Network"), log.toSet())
+    }
+
+    @Test
+    fun failedDependencySkipsDependents() = testScope.runTest {
+        val orchestrator = orchestrator(
+            Database(log) { throw IllegalStateException("disk full") },
+            Network(log),
+            Warmup(log, deps = listOf(Database::class))
+        )
+
+        orchestrator.start().join()
+
+        assertEquals(listOf("Database", "Network"), log.sorted())
+        val timings = report.timings().associateBy { it.name }
+        assertEquals(false, timings.getValue("Database").succeeded)
+        assertEquals(true, timings.getValue("Warmup").skipped)
+        assertEquals(true, timings.getValue("Network").succeeded)
+    }
+
+    @Test
+    fun startTwiceReturnsSameJob() = testScope.runTest {
+        val orchestrator = orchestrator(Database(log))
+
+        val job = orchestrator.start()
+
+        assertSame(job, orchestrator.start())
+        job.join()
+        assertEquals(listOf("Database"), log)
+    }
+
+    @Test
+    fun cycleIsRejectedBeforeAnyTaskRuns() = testScope.runTest {
+        val orchestrator = orchestrator(
+            Database(log, deps = listOf(Warmup::class)),
+            Network(log, deps = listOf(Database::class)),
+            Warmup(log, deps = listOf(Network::class))
+        )
+
+        val error = runCatching { orchestrator.start() }.exceptionOrNull()
+
+        assertTrue(error is IllegalStateException)
+        assertTrue(error!!.message!!, error.message!!.contains("循环依赖"))
+        assertTrue(log.isEmpty())
+    }
+
+    @Test
+    fun unregisteredDependencyIsRejected() = testScope.runTest {
+        val orchestrator = orchestrator(Network(log, deps = listOf(Database::class)))
+
+        val error = runCatching { orchestrator.start() }.exceptionOrNull()
+
+        assertTrue(error is IllegalStateException)
+        assertTrue(error!!.message!!, error.message!!.contains("Database"))
+    }
+
+    private fun TestScope.orchestrator(vararg tasks: StartupTask) =
+        StartupOrchestrator(tasks.toSet(), report, backgroundScope, dispatcher)
+
+    private abstract class RecordingTask(
+        private val log: MutableList<String>,
+        override val dependencies: List<KClass<out StartupTask>>,
+        private val body: suspend () -> Unit
+    ) : StartupTask {
+
+        override suspend fun run() {
+            log += name
+            body()
+        }
+    }
+
+    private class Database(
+        log: MutableList<String>,
+        deps: List<KClass<out StartupTask>> = emptyList(),
+        body: suspend () -> Unit = {}
+    ) : RecordingTask(log, deps, body)
+
+    private class Network(
+        log: MutableList<String>,
+        deps: List<KClass<out StartupTask>> = emptyList(),
+        body: suspend () -> Unit = {}
+    ) : RecordingTask(log, deps, body)
+
+    private class Warmup(
+        log: MutableList<String>,
+        deps: List<KClass<out StartupTask>> = emptyList(),
+        body: suspend () -> Unit = {}
+    ) : RecordingTask(log, deps, body)
+}
@@ -0,0 +1,36 @@
+package com.ai.app.audio_ai.benchmark
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * 采集 :app 的 Baseline Profile。
+ *
+ * 需要 API 33 以上或已 root 的设备：
+ * ./gradlew :benchmark:connectedBenchmarkAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.ai.app.audio_ai.benchmark.BaselineProfileGenerator
+ * 然后把输出目录中的 *-baseline-prof.txt 覆盖到 app/src/main/baseline-prof.txt。
+ */
+@RunWith(AndroidJUnit4::class)
+class BaselineProfileGenerator {
+
+    @get:Rule
+    val baselineProfileRule = BaselineProfileRule()
+
+    @get:Rule
+    val backend = MockBackendRule()
+
+    @Test
+    fun generate() = baselineProfileRule.collect(packageName = TARGET_PACKAGE) {
+        pressHome()
+        startActivityAndWait()
+        enterHome()
+        flingHotRecommendations()
+        openFirstDetail()
+        openRobotBroadcast()
+        startBroadcast()
+    }
+}
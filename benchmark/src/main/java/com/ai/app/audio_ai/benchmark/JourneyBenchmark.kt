@@ -0,0 +1,71 @@
+package com.ai.app.audio_ai.benchmark
+
+import androidx.benchmark.macro.BaselineProfileMode
+import androidx.benchmark.macro.CompilationMode
+import androidx.benchmark.macro.FrameTimingMetric
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * 首页滑动、进入详情页、机器人播报三条路径的帧耗时。
+ *
+ * setupBlock 中完成导航等准备步骤，measureBlock 只包含要测量的交互。
+ */
+@RunWith(AndroidJUnit4::class)
+class JourneyBenchmark {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+
+    @get:Rule
+    val backend = MockBackendRule()
+
+    @Test
+    fun flingHotRecommendations() = measureFrames(
+        setup = {
+            startActivityAndWait()
+            enterHome()
+        }
+    ) {
+        flingHotRecommendations()
+    }
+
+    @Test
+    fun openDetail() = measureFrames(
+        setup = {
+            startActivityAndWait()
+            enterHome()
+        }
+    ) {
+        openFirstDetail()
+    }
+
+    @Test
+    fun startRobotBroadcast() = measureFrames(
+        setup = { openRobotBroadcast() }
+    ) {
+        startBroadcast()
+    }
+
+    private fun measureFrames(
+        setup: MacrobenchmarkScope.() -> Unit,
+        measure: MacrobenchmarkScope.() -> Unit
+    ) = benchmarkRule.measureRepeated(
+        packageName = TARGET_PACKAGE,
+        metrics = listOf(FrameTimingMetric()),
+        compilationMode = CompilationMode.Partial(BaselineProfileMode.Require),
+        iterations = ITERATIONS,
+        startupMode = StartupMode.COLD,
+        setupBlock = setup,
+        measureBlock = measure
+    )
+
+    private companion object {
+        const val ITERATIONS = 5
+    }
+}
@@ -0,0 +1,83 @@
+package com.ai.app.audio_ai.benchmark
+
+import android.content.Intent
+import android.net.Uri
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.test.uiautomator.By
+import androidx.test.uiautomator.Direction
+import androidx.test.uiautomator.UiObject2
+import androidx.test.uiautomator.Until
+
+/**
+ * 各基准测试共用的用户路径，BaselineProfileGenerator 也按同样的顺序走一遍，
+ * 保证采集到的 profile 覆盖被测量的代码。
+ */
+internal const val TARGET_PACKAGE = "com.ai.app.audio_ai"
+
+private const val UI_TIMEOUT_MS = 10_000L
+private const val FLING_COUNT = 3
+private const val ROBOT_DEEP_LINK = "audioai://robot"
+private const val BROADCAST_TEXT = "欢迎收听今天的节目，下面为您播报最新的有声内容推荐。"
+
+/** 从欢迎页跳过登录进入首页，直到热门推荐列表出现第一张卡片。 */
+internal fun MacrobenchmarkScope.enterHome() {
+    waitFor("btnSkip").click()
+    waitFor("rvHotRecommendations")
+    device.wait(Until.hasObject(By.res(TARGET_PACKAGE, "tv_title")), UI_TIMEOUT_MS)
+}
+
+/** 在热门推荐列表上来回滑动，覆盖封面加载、预取和 ViewHolder 绑定。 */
+internal fun MacrobenchmarkScope.flingHotRecommendations() {
+    val list = waitFor("rvHotRecommendations")
+    // 避开屏幕边缘，防止被识别为系统返回手势
+    list.setGestureMargin(device.displayWidth / 5)
+    repeat(FLING_COUNT) {
+        list.fling(Direction.RIGHT)
+        device.waitForIdle()
+    }
+    repeat(FLING_COUNT) {
+        list.fling(Direction.LEFT)
+        device.waitForIdle()
+    }
+}
+
+/** 点开热门推荐第一项，等待详情页标题和播放控制栏渲染完成。 */
+internal fun MacrobenchmarkScope.openFirstDetail() {
+    val list = waitFor("rvHotRecommendations")
+    list.findObject(By.res(TARGET_PACKAGE, "iv_cover")).click()
+    waitFor("player_controller")
+    device.wait(Until.hasObject(By.res(TARGET_PACKAGE, "tv_description")), UI_TIMEOUT_MS)
+}
+
+/** 通过深链接进入机器人播报页。 */
+internal fun MacrobenchmarkScope.openRobotBroadcast() {
+    val intent = Intent(Intent.ACTION_VIEW, Uri.parse(ROBOT_DEEP_LINK))
+        .setPackage(TARGET_PACKAGE)
+        .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK or Intent.FLAG_ACTIVITY_CLEAR_TASK)
+    startActivityAndWait(intent)
+    waitFor("startBroadcastButton")
+}
+
+/**
+ * 输入播报内容并开始 TTS，直到停止按钮可用（即引擎已进入播报状态）。
+ *
+ * 语音引擎是异步初始化的，未就绪时点击只会弹出提示，所以在超时前重复尝试。
+ */
+internal fun MacrobenchmarkScope.startBroadcast() {
+    waitFor("broadcastContentEditText").text = BROADCAST_TEXT
+    val started = By.res(TARGET_PACKAGE, "stopButton").enabled(true)
+    val deadline = System.currentTimeMillis() + UI_TIMEOUT_MS
+    while (!device.hasObject(started)) {
+        check(System.currentTimeMillis() < deadline) { "TTS did not start within ${UI_TIMEOUT_MS}ms" }
+        device.findObject(By.res(TARGET_PACKAGE, "startBroadcastButton").enabled(true))?.click()
+        device.wait(Until.hasObject(started), 500)
+    }
+    waitFor("stopButton").click()
+}
+
+private fun MacrobenchmarkScope.waitFor(resourceId: String): UiObject2 {
+    val selector = By.res(TARGET_PACKAGE, resourceId)
+    return checkNotNull(device.wait(Until.findObject(selector), UI_TIMEOUT_MS)) {
+        "View $resourceId not found within ${UI_TIMEOUT_MS}ms"
+    }
+}
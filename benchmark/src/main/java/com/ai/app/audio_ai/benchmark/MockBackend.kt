@@ -0,0 +1,119 @@
+package com.ai.app.audio_ai.benchmark
+
+import android.graphics.Bitmap
+import android.graphics.Color
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import okio.Buffer
+import org.junit.rules.ExternalResource
+import java.io.ByteArrayOutputStream
+import java.net.InetAddress
+
+/**
+ * 在设备上模拟应用后端。
+ *
+ * benchmark 构建类型的 BASE_URL 指向 127.0.0.1:[PORT]，测量时所有首页、详情和封面请求
+ * 都由这里返回固定数据，结果不受线上接口和网络波动影响。
+ */
+class MockBackend {
+
+    private val server = MockWebServer()
+
+    private val hot = (1..HOT_COUNT).map { audio(it, "hot") }
+    private val newReleases = (HOT_COUNT + 1..HOT_COUNT + NEW_COUNT).map { audio(it, "new") }
+    private val banners = (1..BANNER_COUNT).map { banner(it) }
+
+    private val cover: ByteArray by lazy { renderCover() }
+
+    fun start() {
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse = route(request)
+        }
+        server.start(InetAddress.getByName(HOST), PORT)
+    }
+
+    fun shutdown() {
+        server.shutdown()
+    }
+
+    private fun route(request: RecordedRequest): MockResponse {
+        val path = request.requestUrl?.encodedPath ?: return notFound()
+        return when {
+            path == "/home" -> json(
+                """{"banners":${array(banners)},"hotRecommendations":${array(hot)},"newReleases":${array(newReleases)}}"""
+            )
+            path == "/banners" -> json(array(banners))
+            path == "/recommendations/hot" -> json(array(hot))
+            path == "/recommendations/new" -> json(array(newReleases))
+            path.startsWith("/audio/") -> {
+                val id = path.removePrefix("/audio/").toIntOrNull() ?: return notFound()
+                json(audio(id, if (id <= HOT_COUNT) "hot" else "new"))
+            }
+            path.startsWith("/covers/") -> MockResponse()
+                .setHeader("Content-Type", "image/png")
+                .setHeader("Cache-Control", "max-age=3600")
+                .setBody(Buffer().write(cover))
+            else -> notFound()
+        }
+    }
+
+    private fun json(body: String) = MockResponse()
+        .setHeader("Content-Type", "application/json; charset=utf-8")
+        .setBody(body)
+
+    private fun notFound() = MockResponse().setResponseCode(404)
+
+    private fun array(items: List<String>) = items.joinToString(",", "[", "]")
+
+    private fun audio(id: Int, category: String) = """
+        {"id":"$id","title":"有声节目 $id","author":"主播 ${id % 7}",
+        "coverUrl":"$BASE_URL/covers/$id.png","audioUrl":"$BASE_URL/audio/$id.mp3",
+        "duration":${600 + id * 37},"category":"$category",
+        "description":"第 $id 期节目的简介，用于填充详情页的描述区域。",
+        "playCount":${id * 1013},"likeCount":${id * 97}}
+    """.trimIndent()
+
+    private fun banner(id: Int) = """
+        {"id":"b$id","imageUrl":"$BASE_URL/covers/banner_$id.png","title":"专题 $id",
+        "description":"专题 $id 推荐","targetUrl":null}
+    """.trimIndent()
+
+    // 封面统一用一张纯色图，只保留解码和绘制的开销
+    private fun renderCover(): ByteArray {
+        val bitmap = Bitmap.createBitmap(COVER_SIZE, COVER_SIZE, Bitmap.Config.ARGB_8888)
+        bitmap.eraseColor(Color.rgb(0x3F, 0x51, 0xB5))
+        return ByteArrayOutputStream().use { out ->
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, out)
+            bitmap.recycle()
+            out.toByteArray()
+        }
+    }
+
+    companion object {
+        const val HOST = "127.0.0.1"
+        const val PORT = 8090
+
+        private const val HOT_COUNT = 30
+        private const val NEW_COUNT = 30
+        private const val BANNER_COUNT = 5
+        private const val COVER_SIZE = 256
+
+        private const val BASE_URL = "http://$HOST:$PORT"
+    }
+}
+
+/** 在每个测试前后启停 [MockBackend]。 */
+class MockBackendRule : ExternalResource() {
+
+    private val backend = MockBackend()
+
+    override fun before() {
+        backend.start()
+    }
+
+    override fun after() {
+        backend.shutdown()
+    }
+}
@@ -0,0 +1,50 @@
+package com.ai.app.audio_ai.benchmark
+
+import androidx.benchmark.macro.BaselineProfileMode
+import androidx.benchmark.macro.CompilationMode
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.StartupTimingMetric
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * 冷启动到首页推荐列表可见的耗时。
+ *
+ * 分别在无预编译和应用 Baseline Profile 两种模式下测量，用来确认 profile 的收益。
+ * 运行：./gradlew :benchmark:connectedBenchmarkAndroidTest
+ */
+@RunWith(AndroidJUnit4::class)
+class StartupBenchmark {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+
+    @get:Rule
+    val backend = MockBackendRule()
+
+    @Test
+    fun coldStartToHomeNoCompilation() = coldStartToHome(CompilationMode.None())
+
+    @Test
+    fun coldStartToHomeBaselineProfile() =
+        coldStartToHome(CompilationMode.Partial(BaselineProfileMode.Require))
+
+    private fun coldStartToHome(compilationMode: CompilationMode) = benchmarkRule.measureRepeated(
+        packageName = TARGET_PACKAGE,
+        metrics = listOf(StartupTimingMetric()),
+        compilationMode = compilationMode,
+        iterations = ITERATIONS,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWait()
+        enterHome()
+    }
+
+    private companion object {
+        const val ITERATIONS = 10
+    }
+}
@@ -0,0 +1,49 @@
+package com.ai.app.audio_ai.microbenchmark
+
+import com.ai.app.audio_ai.ui.robot.BroadcastHistory
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * 播报历史的去重写入，约一半写入命中已有内容
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class BroadcastHistoryBenchmark {
+
+    /** 界面当前的容量，以及放大后观察去重开销随容量的增长 */
+    @Param("10", "100")
+    @JvmField
+    var maxSize = 0
+
+    private lateinit var texts: Array<String>
+    private lateinit var history: BroadcastHistory
+    private var index = 0
+
+    @Setup
+    fun setUp() {
+        texts = Corpora.broadcastTexts(CORPUS_SIZE).toTypedArray()
+        history = BroadcastHistory(maxSize)
+        // 先填满，测量稳态下的写入
+        texts.forEach(history::add)
+    }
+
+    @Benchmark
+    fun add(): Int {
+        history.add(texts[index])
+        index = (index + 1) and (CORPUS_SIZE - 1)
+        return history.size
+    }
+
+    private companion object {
+        const val CORPUS_SIZE = 4096
+    }
+}
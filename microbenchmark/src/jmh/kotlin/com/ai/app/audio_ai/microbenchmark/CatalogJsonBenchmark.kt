@@ -0,0 +1,54 @@
+package com.ai.app.audio_ai.microbenchmark
+
+import com.ai.app.audio_ai.data.json.CatalogJson
+import com.ai.app.audio_ai.data.model.AudioContentResponse
+import com.ai.app.audio_ai.data.model.HomeFeed
+import com.google.gson.Gson
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.io.StringReader
+import java.util.concurrent.TimeUnit
+
+/**
+ * 目录接口响应的解码，同时保留反射解析作为对照组
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class CatalogJsonBenchmark {
+
+    /** 分页接口单页条数和一次全量同步的条数 */
+    @Param("20", "2000")
+    @JvmField
+    var itemCount = 0
+
+    private lateinit var catalogJson: String
+    private lateinit var homeFeedJson: String
+
+    private val streamingGson = CatalogJson.createGson()
+    private val reflectiveGson = Gson()
+
+    @Setup
+    fun setUp() {
+        catalogJson = Corpora.catalogJson(itemCount)
+        homeFeedJson = Corpora.homeFeedJson(itemCount)
+    }
+
+    @Benchmark
+    fun catalogStreaming(): AudioContentResponse =
+        streamingGson.fromJson(StringReader(catalogJson), AudioContentResponse::class.java)
+
+    @Benchmark
+    fun catalogReflective(): AudioContentResponse =
+        reflectiveGson.fromJson(StringReader(catalogJson), AudioContentResponse::class.java)
+
+    @Benchmark
+    fun homeFeedStreaming(): HomeFeed =
+        streamingGson.fromJson(StringReader(homeFeedJson), HomeFeed::class.java)
+}
@@ -0,0 +1,114 @@
+package com.ai.app.audio_ai.microbenchmark
+
+import com.ai.app.audio_ai.data.json.CatalogJson
+import com.ai.app.audio_ai.data.model.AudioContent
+import com.ai.app.audio_ai.data.model.AudioContentResponse
+import com.ai.app.audio_ai.data.model.Banner
+import com.ai.app.audio_ai.data.model.HomeFeed
+import kotlin.random.Random
+
+/**
+ * 基准测试用的固定语料，种子固定，每次运行生成的数据完全相同
+ */
+internal object Corpora {
+
+    private const val SEED = 20240601
+
+    private val phrases = listOf(
+        "今天的天气晴转多云", "最高气温二十八度", "下午可能有阵雨", "出门记得带伞",
+        "早高峰三环主路拥堵", "本周新上架了十部有声书", "欢迎收听晚间新闻",
+        "接下来为您播放轻音乐", "股市今日小幅上涨", "明天是周末", "请注意防暑降温",
+        "推荐收听历史类播客", "AI 助手已经准备就绪", "会议将在十分钟后开始"
+    )
+
+    private val chatter = listOf(
+        "你好", "今天几号", "讲个笑话", "嗯", "这个怎么用", "帮我找一下周杰伦的歌",
+        "OK", "谢谢", "明天会下雨吗", "打开设置"
+    )
+
+    /**
+     * 模拟语音识别输出的命令分布：播报类最多，其次是停止和各类调节，
+     * 夹杂一部分无法识别的闲聊以及首尾空白、英文大小写
+     */
+    fun utterances(count: Int): List<String> {
+        val random = Random(SEED)
+        return List(count) {
+            val roll = random.nextInt(100)
+            val utterance = when {
+                roll < 35 -> listOf("请播报", "播报", "帮我朗读", "朗读一下")[random.nextInt(4)] +
+                    sentence(random, 1 + random.nextInt(4))
+                roll < 50 -> listOf("停止播报", "暂停", "先停止一下", "暂停一下吧")[random.nextInt(4)]
+                roll < 65 -> if (random.nextInt(5) == 0) "音量大一点" else "把音量调到${random.nextInt(101)}"
+                roll < 75 -> "语速调到${random.nextInt(50, 201)}"
+                roll < 80 -> "音调设为${random.nextInt(50, 201)}"
+                roll < 85 -> listOf("关闭窗口", "退出", "关闭悬浮窗")[random.nextInt(3)]
+                else -> chatter[random.nextInt(chatter.size)]
+            }
+            if (random.nextInt(10) == 0) "  $utterance " else utterance
+        }
+    }
+
+    fun durations(count: Int): List<AudioContent> {
+        val random = Random(SEED)
+        return List(count) { index -> audioContent(index, random) }
+    }
+
+    /** 与接口返回格式一致的音频列表 JSON */
+    fun catalogJson(count: Int): String {
+        val random = Random(SEED)
+        val items = List(count) { index -> audioContent(index, random) }
+        return CatalogJson.createGson().toJson(AudioContentResponse(items))
+    }
+
+    /** 首页聚合接口 JSON */
+    fun homeFeedJson(count: Int): String {
+        val random = Random(SEED)
+        val banners = List(5) { index ->
+            Banner(
+                id = "banner$index",
+                imageUrl = "https://cdn.example.com/banner/$index.jpg",
+                title = "专题推荐$index",
+                description = sentence(random, 1),
+                targetUrl = if (index % 2 == 0) "https://example.com/topic/$index" else null
+            )
+        }
+        val hot = List(count) { index -> audioContent(index, random) }
+        val newReleases = List(count) { index -> audioContent(count + index, random) }
+        return CatalogJson.createGson().toJson(HomeFeed(banners, hot, newReleases))
+    }
+
+    /**
+     * 播报历史写入序列：约一半是最近说过的内容（会触发去重），其余是新内容
+     */
+    fun broadcastTexts(count: Int): List<String> {
+        val random = Random(SEED)
+        val recent = ArrayDeque<String>()
+        return List(count) {
+            val text = if (recent.isNotEmpty() && random.nextBoolean()) {
+                recent.elementAt(random.nextInt(recent.size))
+            } else {
+                sentence(random, 1 + random.nextInt(3))
+            }
+            recent.addFirst(text)
+            if (recent.size > 20) recent.removeLast()
+            text
+        }
+    }
+
+    private fun audioContent(index: Int, random: Random) = AudioContent(
+        id = "audio$index",
+        title = "有声节目${index}：${phrases[random.nextInt(phrases.size)]}",
+        author = "主播${random.nextInt(200)}",
+        coverUrl = "https://cdn.example.com/cover/$index.jpg",
+        audioUrl = "https://cdn.example.com/audio/$index.mp3",
+        // 从几秒的片段到数小时的有声书
+        duration = if (random.nextInt(10) == 0) random.nextLong(3_600, 36_000) else random.nextLong(5, 3_600),
+        category = listOf("音乐", "有声书", "播客", "新闻", "相声")[random.nextInt(5)],
+        description = if (index % 5 == 0) null else sentence(random, 2 + random.nextInt(4)),
+        playCount = random.nextInt(1_000_000),
+        likeCount = random.nextInt(50_000)
+    )
+
+    private fun sentence(random: Random, parts: Int): String =
+        (0 until parts).joinToString("，") { phrases[random.nextInt(phrases.size)] }
+}
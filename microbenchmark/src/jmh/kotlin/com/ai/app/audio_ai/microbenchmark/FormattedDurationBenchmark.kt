@@ -0,0 +1,39 @@
+package com.ai.app.audio_ai.microbenchmark
+
+import com.ai.app.audio_ai.data.model.AudioContent
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * 列表绑定时每个条目都会格式化一次时长
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class FormattedDurationBenchmark {
+
+    private lateinit var items: Array<AudioContent>
+    private var index = 0
+
+    @Setup
+    fun setUp() {
+        items = Corpora.durations(CORPUS_SIZE).toTypedArray()
+    }
+
+    @Benchmark
+    fun formattedDuration(): String {
+        val item = items[index]
+        index = (index + 1) and (CORPUS_SIZE - 1)
+        return item.formattedDuration
+    }
+
+    private companion object {
+        const val CORPUS_SIZE = 4096
+    }
+}
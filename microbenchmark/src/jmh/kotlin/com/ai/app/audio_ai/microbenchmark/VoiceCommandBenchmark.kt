@@ -0,0 +1,41 @@
+package com.ai.app.audio_ai.microbenchmark
+
+import com.ai.app.audio_ai.service.CommandResult
+import com.ai.app.audio_ai.service.VoiceCommandParser
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * 每次调用解析语料中的下一条识别结果，覆盖所有命令分支
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class VoiceCommandBenchmark {
+
+    private lateinit var utterances: Array<String>
+    private var index = 0
+
+    @Setup
+    fun setUp() {
+        utterances = Corpora.utterances(CORPUS_SIZE).toTypedArray()
+    }
+
+    @Benchmark
+    fun parse(): CommandResult {
+        val utterance = utterances[index]
+        index = (index + 1) and (CORPUS_SIZE - 1)
+        return VoiceCommandParser.parse(utterance)
+    }
+
+    private companion object {
+        // 2 的幂，取下标时用位与代替取模
+        const val CORPUS_SIZE = 4096
+    }
+}